@@ -0,0 +1,369 @@
+package api;
+
+import metrics.LatencyHistogram;
+import support.Env;
+import support.Log;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays the collection's requests round-robin and measures latency, throughput and errors.
+ *
+ * Two load models:
+ *   closed  BENCH_CONCURRENCY workers (default 16), each sending its next request when the last one returns
+ *   open    BENCH_RATE requests/s (default 0 = closed model); latency is measured from the scheduled
+ *           send time, so a stalled server shows up as latency instead of as fewer requests
+ * Each scenario runs BENCH_WARMUP_SECONDS (default 2, not recorded) then BENCH_DURATION_SECONDS (default 10).
+ *
+ * Scenarios: HTTP/1.1 and HTTP/2, each with connection reuse and with a new connection per request.
+ * Keep-alive scenarios share one client. HTTP/1.1 "new-connection" sends Connection: close so the server
+ * closes each connection after its response, which needs -Djdk.httpclient.allowRestrictedHeaders=connection
+ * at JVM start (set for Surefire in the pom) and is left out without it. HTTP/2 forbids that header, so its
+ * "new-connection" builds a client per request instead, which also pays for the client's own setup.
+ *
+ * Before measuring, one request checks the negotiated protocol: over plain http:// an HTTP/2 request falls
+ * back to HTTP/1.1 unless the server speaks h2c (the bundled stub doesn't). A scenario whose server answers
+ * with another version is reported as skipped instead of measured under the wrong label; responses that
+ * still differ during the run are counted under "negotiated" and flag the scenario "protocolMismatch".
+ */
+public final class ApiBenchmark {
+
+    public static final class Scenario {
+        private final HttpClient.Version version;
+        private final boolean reuseConnections;
+
+        public Scenario(HttpClient.Version version, boolean reuseConnections) {
+            this.version = version;
+            this.reuseConnections = reuseConnections;
+        }
+
+        public String getLabel() {
+            return version + (reuseConnections ? " keep-alive" : " new-connection");
+        }
+    }
+
+    // A resolved request of the collection
+    public static final class Target {
+        private final String name;
+        private final URI uri;
+        private final Map<String, String> headers;
+
+        Target(String name, URI uri, Map<String, String> headers) {
+            this.name = name;
+            this.uri = uri;
+            this.headers = headers;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private final int concurrency;
+    private final int ratePerSecond;
+    private final long warmupMs;
+    private final long durationMs;
+    private final Duration timeout;
+
+    public ApiBenchmark(int concurrency, int ratePerSecond, long warmupMs, long durationMs, Duration timeout) {
+        this.concurrency = Math.max(1, concurrency);
+        this.ratePerSecond = Math.max(0, ratePerSecond);
+        this.warmupMs = Math.max(0, warmupMs);
+        this.durationMs = Math.max(1, durationMs);
+        this.timeout = timeout;
+    }
+
+    public static ApiBenchmark fromEnv() {
+        return new ApiBenchmark(
+                Env.intValue("BENCH_CONCURRENCY", 16),
+                Env.intValue("BENCH_RATE", 0),
+                Env.intValue("BENCH_WARMUP_SECONDS", 2) * 1000L,
+                Env.intValue("BENCH_DURATION_SECONDS", 10) * 1000L,
+                Duration.ofMillis(Env.intValue("API_TIMEOUT_MS", 15000)));
+    }
+
+    public static List<Scenario> scenarios() {
+        List<Scenario> scenarios = new ArrayList<>();
+        scenarios.add(new Scenario(HttpClient.Version.HTTP_1_1, true));
+        if (connectionCloseAllowed()) {
+            scenarios.add(new Scenario(HttpClient.Version.HTTP_1_1, false));
+        } else {
+            Log.info("⚠️ Benchmark skips new-connection: start the JVM with -Djdk.httpclient.allowRestrictedHeaders=connection");
+        }
+        scenarios.add(new Scenario(HttpClient.Version.HTTP_2, true));
+        scenarios.add(new Scenario(HttpClient.Version.HTTP_2, false));
+        return scenarios;
+    }
+
+    // The JDK reads the restricted header list once, when its HTTP client classes load
+    private static boolean connectionCloseAllowed() {
+        try {
+            HttpRequest.newBuilder(URI.create("http://localhost/")).header("Connection", "close");
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // Every request of the collection with its variables resolved; unresolvable ones are left out
+    public static List<Target> targets(PostmanCollection collection, PostmanVariables variables) {
+        List<Target> targets = new ArrayList<>();
+        for (PostmanRequest request : collection.getRequests()) {
+            if (!"GET".equals(request.getMethod()) || !variables.unresolved(request.templates()).isEmpty()) {
+                Log.info("⚠️ Benchmark skips " + request.getName());
+                continue;
+            }
+            Map<String, String> headers = new LinkedHashMap<>();
+            request.getHeaders().forEach((k, v) -> {
+                if (!CollectionRunner.RESTRICTED_HEADERS.contains(k.toLowerCase())) headers.put(k, variables.resolve(v));
+            });
+            targets.add(new Target(request.getName(), URI.create(variables.resolve(request.getUrl())), headers));
+        }
+        return targets;
+    }
+
+    public Map<String, Object> run(List<Target> targets, Scenario scenario) {
+        if (targets.isEmpty()) throw new IllegalArgumentException("Nothing to benchmark");
+        Run run = new Run(targets, scenario);
+        try {
+            String negotiated = run.probe();
+            if (negotiated != null && !negotiated.equals(scenario.version.name())) {
+                Map<String, Object> skipped = new LinkedHashMap<>();
+                skipped.put("scenario", scenario.getLabel());
+                skipped.put("requestedVersion", scenario.version.name());
+                skipped.put("connectionReuse", scenario.reuseConnections);
+                skipped.put("negotiated", Map.of(negotiated, 1L));
+                skipped.put("skipped", "server answered " + negotiated + " to a " + scenario.version.name() + " request");
+                Log.info("⚠️ Benchmark skips " + scenario.getLabel() + ": " + skipped.get("skipped"));
+                return skipped;
+            }
+            if (ratePerSecond > 0) run.openModel();
+            else run.closedModel();
+        } finally {
+            run.executor.shutdownNow();
+        }
+        Map<String, Object> result = run.summary();
+        Log.info(String.format("⏱️ %-26s %8.0f req/s  p50 %6.1f  p95 %6.1f  p99 %6.1f ms  errors %.2f%%",
+                scenario.getLabel(), (double) result.get("throughputRps"), run.total.percentileMs(0.50),
+                run.total.percentileMs(0.95), run.total.percentileMs(0.99), (double) result.get("errorRate") * 100));
+        return result;
+    }
+
+    /* ============================
+       One scenario
+       ============================ */
+
+    private final class Run {
+        private final List<Target> targets;
+        private final Scenario scenario;
+        private final ExecutorService executor;
+        private final HttpClient client;
+
+        private final LatencyHistogram total = new LatencyHistogram();
+        private final Map<String, LatencyHistogram> byTarget = new LinkedHashMap<>();
+        private final Map<String, LongAdder> negotiated = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> errorTypes = new ConcurrentHashMap<>();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final AtomicLong next = new AtomicLong();
+
+        private volatile boolean recording;
+        private long measuredFrom;
+        private long measuredTo;
+
+        Run(List<Target> targets, Scenario scenario) {
+            this.targets = targets;
+            this.scenario = scenario;
+            for (Target t : targets) byTarget.put(t.name, new LatencyHistogram());
+            AtomicInteger threadNo = new AtomicInteger();
+            this.executor = Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "api-bench-" + threadNo.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+            this.client = HttpClient.newBuilder()
+                    .version(scenario.version)
+                    .connectTimeout(timeout)
+                    .executor(executor)
+                    .build();
+        }
+
+        // The version the server answers with, or null when the probe request failed
+        String probe() {
+            try {
+                return send(request(targets.get(0))).version().name();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        // HTTP/2 without reuse: a client of its own per request, since the protocol has no Connection: close
+        private HttpClient client() {
+            if (scenario.reuseConnections || scenario.version != HttpClient.Version.HTTP_2) return client;
+            return HttpClient.newBuilder().version(scenario.version).connectTimeout(timeout).executor(executor).build();
+        }
+
+        private HttpResponse<byte[]> send(HttpRequest request) throws Exception {
+            return client().send(request, HttpResponse.BodyHandlers.ofByteArray());
+        }
+
+        private HttpRequest request(Target target) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(target.uri).timeout(timeout).GET();
+            target.headers.forEach(builder::header);
+            // The server closes the connection after the response, so the client can't pool it
+            if (!scenario.reuseConnections && scenario.version == HttpClient.Version.HTTP_1_1) builder.header("Connection", "close");
+            return builder.build();
+        }
+
+        // Blocking workers; the next request goes out when the previous one is back
+        void closedModel() {
+            long start = System.nanoTime();
+            long recordFrom = start + TimeUnit.MILLISECONDS.toNanos(warmupMs);
+            long end = recordFrom + TimeUnit.MILLISECONDS.toNanos(durationMs);
+
+            List<Thread> workers = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                Thread worker = new Thread(() -> {
+                    while (System.nanoTime() < end) {
+                        Target target = targets.get((int) (next.getAndIncrement() % targets.size()));
+                        boolean counted = recording;
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = send(request(target));
+                            complete(counted, target, t0, response, null);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } catch (Exception e) {
+                            complete(counted, target, t0, null, e);
+                        }
+                    }
+                }, "api-bench-worker-" + i);
+                worker.setDaemon(true);
+                workers.add(worker);
+                worker.start();
+            }
+            waitAndToggleRecording(recordFrom, end);
+            for (Thread w : workers) {
+                try {
+                    w.join(timeout.toMillis() + 1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        // Fixed arrival rate, independent of how fast responses come back
+        void openModel() {
+            long interval = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+            long start = System.nanoTime();
+            long recordFrom = start + TimeUnit.MILLISECONDS.toNanos(warmupMs);
+            long end = recordFrom + TimeUnit.MILLISECONDS.toNanos(durationMs);
+            Semaphore inFlight = new Semaphore(Env.intValue("BENCH_MAX_IN_FLIGHT", 1000));
+
+            Thread recorder = new Thread(() -> waitAndToggleRecording(recordFrom, end), "api-bench-clock");
+            recorder.setDaemon(true);
+            recorder.start();
+
+            for (long k = 0; ; k++) {
+                long scheduled = start + k * interval;
+                if (scheduled >= end) break;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+
+                Target target = targets.get((int) (k % targets.size()));
+                boolean counted = scheduled >= recordFrom;
+                if (!inFlight.tryAcquire()) {
+                    if (counted) dropped.increment();
+                    continue;
+                }
+                client().sendAsync(request(target), HttpResponse.BodyHandlers.ofByteArray())
+                        .whenComplete((response, error) -> {
+                            inFlight.release();
+                            complete(counted, target, scheduled, response, error);
+                        });
+            }
+            try {
+                recorder.join();
+                // Let the tail of in-flight requests land in the histogram
+                inFlight.tryAcquire(Env.intValue("BENCH_MAX_IN_FLIGHT", 1000), timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void waitAndToggleRecording(long recordFrom, long end) {
+            LockSupport.parkNanos(recordFrom - System.nanoTime());
+            measuredFrom = System.nanoTime();
+            recording = true;
+            while (System.nanoTime() < end) LockSupport.parkNanos(end - System.nanoTime());
+            recording = false;
+            measuredTo = System.nanoTime();
+        }
+
+        // Counted = sent inside the measured window, even if the response lands after it
+        private void complete(boolean counted, Target target, long startNanos, HttpResponse<byte[]> response, Throwable error) {
+            if (!counted) return;
+            long nanos = System.nanoTime() - startNanos;
+            total.recordNanos(nanos);
+            byTarget.get(target.name).recordNanos(nanos);
+            if (response != null) negotiated.computeIfAbsent(response.version().name(), k -> new LongAdder()).increment();
+            if (error != null || response.statusCode() >= 400) {
+                errors.increment();
+                String type = error != null ? error.getClass().getSimpleName() : "HTTP " + response.statusCode();
+                errorTypes.computeIfAbsent(type, k -> new LongAdder()).increment();
+            }
+        }
+
+        Map<String, Object> summary() {
+            double seconds = Math.max(1, measuredTo - measuredFrom) / 1e9;
+            long count = total.getCount();
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("scenario", scenario.getLabel());
+            m.put("requestedVersion", scenario.version.name());
+            m.put("connectionReuse", scenario.reuseConnections);
+            m.put("model", ratePerSecond > 0 ? "open" : "closed");
+            m.put("concurrency", ratePerSecond > 0 ? null : concurrency);
+            m.put("targetRps", ratePerSecond > 0 ? ratePerSecond : null);
+            m.put("durationSeconds", Math.round(seconds * 10) / 10.0);
+            m.put("throughputRps", Math.round(count / seconds * 10) / 10.0);
+            m.put("errorRate", count == 0 ? 0.0 : errors.doubleValue() / count);
+            m.put("dropped", dropped.sum());
+            m.put("latency", total.asMap());
+            m.put("negotiated", sums(negotiated));
+            m.put("protocolMismatch", negotiated.keySet().stream().anyMatch(v -> !v.equals(scenario.version.name())));
+            m.put("errors", sums(errorTypes));
+            Map<String, Object> perTarget = new LinkedHashMap<>();
+            byTarget.forEach((name, h) -> perTarget.put(name, h.asMap()));
+            m.put("endpoints", perTarget);
+            return m;
+        }
+
+        private Map<String, Long> sums(Map<String, LongAdder> adders) {
+            Map<String, Long> sums = new LinkedHashMap<>();
+            adders.forEach((k, v) -> sums.put(k, v.sum()));
+            return sums;
+        }
+    }
+}
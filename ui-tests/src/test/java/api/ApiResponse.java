@@ -0,0 +1,61 @@
+package api;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+/**
+ * What the checks of a request see: status, latency and the body, parsed once on first use.
+ * "JSON" means a 2xx response with a JSON content type that actually parses.
+ */
+public final class ApiResponse {
+
+    private static final Json JSON = new Json();
+    private static final Object NOT_JSON = new Object();
+
+    private final int status;
+    private final String contentType;
+    private final long latencyMs;
+    private final String body;
+    private Object json;
+
+    ApiResponse(int status, String contentType, long latencyMs, String body) {
+        this.status = status;
+        this.contentType = contentType == null ? "" : contentType.toLowerCase();
+        this.latencyMs = latencyMs;
+        this.body = body;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getLatencyMs() {
+        return latencyMs;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public boolean isJson() {
+        return getJson() != null;
+    }
+
+    // List / Map / scalar, or null when the response is not (parseable) 2xx JSON
+    public synchronized Object getJson() {
+        if (json == null) {
+            json = NOT_JSON;
+            if (status / 100 == 2 && contentType.contains("json") && body != null && !body.isBlank()) {
+                try {
+                    json = JSON.toType(body, Object.class);
+                } catch (JsonException ignored) {
+                }
+            }
+        }
+        return json == NOT_JSON ? null : json;
+    }
+}
@@ -0,0 +1,73 @@
+package api;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One executed request: the response (null when it was never received) and its assertion results.
+ */
+public final class ApiResult {
+
+    private final PostmanRequest request;
+    private final String method;
+    private final String url;
+    private final long startedAt;
+    private final ApiResponse response;
+    private final String error;
+    private final List<AssertionResult> assertions;
+
+    ApiResult(PostmanRequest request, String url, long startedAt, ApiResponse response, String error,
+              List<AssertionResult> assertions) {
+        this.request = request;
+        this.method = request.getMethod();
+        this.url = url;
+        this.startedAt = startedAt;
+        this.response = response;
+        this.error = error;
+        this.assertions = Collections.unmodifiableList(assertions);
+    }
+
+    public String getName() {
+        return request.getName();
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public ApiResponse getResponse() {
+        return response;
+    }
+
+    // Transport error or unresolved variables; null when a response arrived
+    public String getError() {
+        return error;
+    }
+
+    public List<AssertionResult> getAssertions() {
+        return assertions;
+    }
+
+    public long getLatencyMs() {
+        return response == null ? 0 : response.getLatencyMs();
+    }
+
+    public boolean isFailed() {
+        return error != null || assertions.stream().anyMatch(AssertionResult::isFailed);
+    }
+
+    @Override
+    public String toString() {
+        String outcome = error != null ? "ERROR " + error
+                : response.getStatus() + " in " + response.getLatencyMs() + " ms";
+        return getName() + " -> " + outcome;
+    }
+}
@@ -0,0 +1,53 @@
+package api;
+
+/**
+ * Outcome of one pm.test(...) block (or of a runner-level check such as the latency budget).
+ */
+public final class AssertionResult {
+
+    public enum Outcome { PASSED, FAILED, SKIPPED }
+
+    private final String name;
+    private final Outcome outcome;
+    private final String message;
+
+    AssertionResult(String name, Outcome outcome, String message) {
+        this.name = name;
+        this.outcome = outcome;
+        this.message = message;
+    }
+
+    static AssertionResult passed(String name) {
+        return new AssertionResult(name, Outcome.PASSED, null);
+    }
+
+    static AssertionResult failed(String name, String message) {
+        return new AssertionResult(name, Outcome.FAILED, message);
+    }
+
+    static AssertionResult skipped(String name, String reason) {
+        return new AssertionResult(name, Outcome.SKIPPED, reason);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    // Failure or skip reason; null when passed
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isFailed() {
+        return outcome == Outcome.FAILED;
+    }
+
+    @Override
+    public String toString() {
+        return outcome + " " + name + (message == null ? "" : ": " + message);
+    }
+}
@@ -0,0 +1,46 @@
+package api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * All results of one collection run, in collection order.
+ */
+public final class CollectionRun {
+
+    private final String collectionName;
+    private final List<ApiResult> results;
+    private final long wallMs;
+
+    CollectionRun(String collectionName, List<ApiResult> results, long wallMs) {
+        this.collectionName = collectionName;
+        this.results = Collections.unmodifiableList(results);
+        this.wallMs = wallMs;
+    }
+
+    public String getCollectionName() {
+        return collectionName;
+    }
+
+    public List<ApiResult> getResults() {
+        return results;
+    }
+
+    // Start of the first request until the last one finished
+    public long getWallMs() {
+        return wallMs;
+    }
+
+    // One line per errored request or failed assertion
+    public List<String> failures() {
+        List<String> failures = new ArrayList<>();
+        for (ApiResult r : results) {
+            if (r.getError() != null) failures.add(r.getName() + ": " + r.getError());
+            for (AssertionResult a : r.getAssertions()) {
+                if (a.isFailed()) failures.add(r.getName() + ": " + a.getName() + " - " + a.getMessage());
+            }
+        }
+        return failures;
+    }
+}
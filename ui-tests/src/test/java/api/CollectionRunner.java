@@ -0,0 +1,147 @@
+package api;
+
+import support.Env;
+import support.Log;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a Postman collection with java.net.http instead of newman.
+ *
+ * Requests run concurrently (API_CONCURRENCY, default 8) except where one needs a variable an
+ * earlier request sets (pm.environment.set): it then starts after that request, exactly as the
+ * sequential newman run would have seen it. With API_MAX_LATENCY_MS set, every request also gets a
+ * latency check against it on top of its own pm.test blocks; unset (0), only the collection's own
+ * responseTime checks apply, as in newman.
+ *
+ *   API_TIMEOUT_MS   connect + response timeout per request (default 15000)
+ */
+public final class CollectionRunner {
+
+    // HttpClient refuses to set these itself
+    static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final int concurrency;
+    private final Duration timeout;
+    private final long maxLatencyMs;
+
+    public CollectionRunner(int concurrency, Duration timeout, long maxLatencyMs) {
+        this.concurrency = Math.max(1, concurrency);
+        this.timeout = timeout;
+        this.maxLatencyMs = maxLatencyMs;
+    }
+
+    public static CollectionRunner fromEnv() {
+        return new CollectionRunner(
+                Env.intValue("API_CONCURRENCY", 8),
+                Duration.ofMillis(Env.intValue("API_TIMEOUT_MS", 15000)),
+                Env.intValue("API_MAX_LATENCY_MS", 0));
+    }
+
+    public CollectionRun run(PostmanCollection collection, PostmanVariables variables) {
+        AtomicInteger threadNo = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread t = new Thread(r, "api-runner-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+
+        long start = System.currentTimeMillis();
+        try {
+            // Collection order decides who a variable comes from: the last earlier request setting it
+            Map<String, CompletableFuture<ApiResult>> lastProducer = new HashMap<>();
+            List<CompletableFuture<ApiResult>> futures = new ArrayList<>();
+            for (PostmanRequest request : collection.getRequests()) {
+                Set<CompletableFuture<ApiResult>> dependencies = new LinkedHashSet<>();
+                for (String name : PostmanVariables.referenced(request.templates())) {
+                    CompletableFuture<ApiResult> producer = lastProducer.get(name);
+                    if (producer != null) dependencies.add(producer);
+                }
+
+                CompletableFuture<ApiResult> future = dependencies.isEmpty()
+                        ? CompletableFuture.supplyAsync(() -> execute(client, request, variables), pool)
+                        : CompletableFuture.allOf(dependencies.toArray(new CompletableFuture<?>[0]))
+                                .thenApplyAsync(ignored -> execute(client, request, variables), pool);
+                futures.add(future);
+                for (String name : request.getScript().producedVariables()) lastProducer.put(name, future);
+            }
+
+            List<ApiResult> results = new ArrayList<>();
+            for (CompletableFuture<ApiResult> f : futures) results.add(f.join());
+            return new CollectionRun(collection.getName(), results, System.currentTimeMillis() - start);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private ApiResult execute(HttpClient client, PostmanRequest request, PostmanVariables variables) {
+        long startedAt = System.currentTimeMillis();
+        String url = variables.resolve(request.getUrl());
+        Set<String> unresolved = variables.unresolved(request.templates());
+        if (!unresolved.isEmpty()) {
+            ApiResult result = new ApiResult(request, url, startedAt, null, "unresolved variables " + unresolved, List.of());
+            Log.info("🌐 " + result);
+            return result;
+        }
+
+        ApiResult result;
+        try {
+            String body = variables.resolve(request.getBody());
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(timeout)
+                    .method(request.getMethod(), body == null
+                            ? HttpRequest.BodyPublishers.noBody()
+                            : HttpRequest.BodyPublishers.ofString(body));
+            request.getHeaders().forEach((k, v) -> {
+                if (!RESTRICTED_HEADERS.contains(k.toLowerCase())) builder.header(k, variables.resolve(v));
+            });
+
+            // Like Postman's responseTime: request sent until the whole body is in
+            long t0 = System.nanoTime();
+            HttpResponse<String> http = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            long latencyMs = (System.nanoTime() - t0) / 1_000_000;
+
+            ApiResponse response = new ApiResponse(http.statusCode(),
+                    http.headers().firstValue("Content-Type").orElse(""), latencyMs, http.body());
+            request.getScript().extract(response, variables);
+
+            List<AssertionResult> assertions = new ArrayList<>(request.getScript().evaluate(response, variables));
+            if (maxLatencyMs > 0) {
+                String latencyCheck = "Response time below " + maxLatencyMs + " ms";
+                assertions.add(latencyMs < maxLatencyMs
+                        ? AssertionResult.passed(latencyCheck)
+                        : AssertionResult.failed(latencyCheck, "took " + latencyMs + " ms"));
+            }
+            result = new ApiResult(request, url, startedAt, response, null, assertions);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result = new ApiResult(request, url, startedAt, null, "interrupted", List.of());
+        } catch (Exception e) {
+            result = new ApiResult(request, url, startedAt, null, e.getClass().getSimpleName() + ": " + e.getMessage(), List.of());
+        }
+
+        Log.info("🌐 " + result);
+        for (AssertionResult a : result.getAssertions()) {
+            if (a.getOutcome() != AssertionResult.Outcome.PASSED) Log.info("   " + a);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,349 @@
+package api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import support.Log;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local server shaped like https://gorest.co.in/public/v2 for offline, reproducible API runs.
+ *
+ * Nothing is stored: every record is a pure function of its id and the seed, so a dataset of millions
+ * of posts costs no memory and two runs with the same seed see the same data.
+ *   user  id 1..users
+ *   post  id 1..posts, user_id = 1 + (id - 1) % users   (so /users/:id/posts is computed, not searched)
+ *   todo  id 1..todos, same user assignment
+ *
+ * Faults for exercising consistency checks (both off by default):
+ *   orphanEvery(n)     every n-th post / todo points at a user id that does not exist
+ *   duplicateEvery(n)  in /posts and /todos, every n-th record is served as a second copy of the one before
+ *
+ * Routes: /users, /posts, /todos, /users/:id, /posts/:id, /todos/:id, /users/:id/posts, /users/:id/todos.
+ * Lists take ?page= and ?per_page= (default 10, max 100, like GoREST) and answer with
+ * x-pagination-total / -pages / -page / -limit headers.
+ */
+public final class GoRestStub implements AutoCloseable {
+
+    public static final String API_PATH = "/public/v2";
+
+    private static final String[] FIRST = {"Aarav", "Bina", "Chidi", "Dana", "Eitan", "Farah", "Goran", "Hana", "Ivo", "Jaya"};
+    private static final String[] LAST = {"Khan", "Lopez", "Mehta", "Nakamura", "Okafor", "Petrov", "Quinn", "Rossi", "Singh", "Tanaka"};
+    private static final String[] WORDS = {"alias", "bonus", "cura", "defero", "ea", "fugit", "gratia", "hic", "iure", "laborum"};
+
+    static {
+        // Without TCP_NODELAY, Nagle + delayed ACK add ~40 ms to every keep-alive response.
+        // Read once when the JDK server classes load, so it only helps if set before the first HttpServer.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final int users;
+    private final int posts;
+    private final int todos;
+    private final long seed;
+    private final int port;
+    private final int threads;
+    private final int latencyMs;
+    private final int orphanEvery;
+    private final int duplicateEvery;
+    private final AtomicLong requests = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    private GoRestStub(Builder b) {
+        this.users = b.users;
+        this.posts = b.posts;
+        this.todos = b.todos;
+        this.seed = b.seed;
+        this.port = b.port;
+        this.threads = b.threads;
+        this.latencyMs = b.latencyMs;
+        this.orphanEvery = b.orphanEvery;
+        this.duplicateEvery = b.duplicateEvery;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Starts the server and returns its base URL (the equivalent of https://gorest.co.in/public/v2).
+     */
+    public String start() throws IOException {
+        AtomicInteger threadNo = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "gorest-stub-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 512);
+        server.createContext(API_PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+        Log.info("🧪 GoREST stub on " + getBaseUrl() + " (" + users + " users, " + posts + " posts, " + todos + " todos)");
+        return getBaseUrl();
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + API_PATH;
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getPosts() {
+        return posts;
+    }
+
+    public int getTodos() {
+        return todos;
+    }
+
+    @Override
+    public void close() {
+        if (server != null) server.stop(0);
+        if (executor != null) executor.shutdownNow();
+    }
+
+    /* ============================
+       Routing
+       ============================ */
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            if (latencyMs > 0) TimeUnit.MILLISECONDS.sleep(latencyMs);
+            String[] path = exchange.getRequestURI().getPath().substring(API_PATH.length()).split("/");
+            Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, "{\"message\":\"Only GET is supported by the stub\"}", null);
+                return;
+            }
+
+            // path[0] is "" (leading slash)
+            String resource = path.length > 1 ? path[1] : "";
+            int total = resource.equals("users") ? users : resource.equals("posts") ? posts : resource.equals("todos") ? todos : -1;
+            if (total < 0 || path.length > 4) {
+                notFound(exchange);
+                return;
+            }
+
+            if (path.length == 2) {
+                list(exchange, query, resource, total, 1, 1, true);
+                return;
+            }
+            long id = parseId(path[2]);
+            if (id < 1 || id > total) {
+                notFound(exchange);
+                return;
+            }
+            if (path.length == 3) {
+                send(exchange, 200, record(resource, id), null);
+                return;
+            }
+
+            // /users/:id/posts and /users/:id/todos: ids id, id + users, id + 2 * users, ...
+            String nested = path[3];
+            if (!resource.equals("users") || !(nested.equals("posts") || nested.equals("todos"))) {
+                notFound(exchange);
+                return;
+            }
+            int nestedTotal = nested.equals("posts") ? posts : todos;
+            int count = id > nestedTotal ? 0 : (int) ((nestedTotal - id) / users + 1);
+            list(exchange, query, nested, count, id, users, false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Records first + k * step for k in this page; duplicates are only injected into the global lists
+    private void list(HttpExchange exchange, Map<String, String> query, String resource, int total, long first, long step,
+                      boolean global) throws IOException {
+        int limit = Math.max(1, Math.min(100, (int) parseId(query.getOrDefault("per_page", "10"))));
+        int page = Math.max(1, (int) parseId(query.getOrDefault("page", "1")));
+        int pages = (total + limit - 1) / limit;
+
+        StringBuilder sb = new StringBuilder(limit * 160).append('[');
+        long from = (long) (page - 1) * limit;
+        for (long k = from; k < Math.min(total, from + limit); k++) {
+            if (k > from) sb.append(',');
+            long id = first + k * step;
+            if (global && !resource.equals("users") && duplicateEvery > 0 && id > 1 && id % duplicateEvery == 0) id--;
+            sb.append(record(resource, id));
+        }
+        sb.append(']');
+
+        Map<String, String> headers = new HashMap<>();
+        headers.put("x-pagination-total", String.valueOf(total));
+        headers.put("x-pagination-pages", String.valueOf(pages));
+        headers.put("x-pagination-page", String.valueOf(page));
+        headers.put("x-pagination-limit", String.valueOf(limit));
+        send(exchange, 200, sb.toString(), headers);
+    }
+
+    /* ============================
+       Records
+       ============================ */
+
+    private String record(String resource, long id) {
+        long h = mix(id * 31 + resource.hashCode());
+        switch (resource) {
+            case "users": {
+                String first = FIRST[(int) (h % FIRST.length)];
+                String last = LAST[(int) ((h >>> 8) % LAST.length)];
+                return "{\"id\":" + id + ",\"name\":\"" + first + " " + last + "\",\"email\":\""
+                        + first.toLowerCase() + "." + last.toLowerCase() + "." + id + "@example.test\",\"gender\":\""
+                        + ((h >>> 16) % 2 == 0 ? "female" : "male") + "\",\"status\":\""
+                        + ((h >>> 24) % 4 == 0 ? "inactive" : "active") + "\"}";
+            }
+            case "posts":
+                return "{\"id\":" + id + ",\"user_id\":" + userOf(id) + ",\"title\":\"" + words(h, 4)
+                        + "\",\"body\":\"" + words(h >>> 12, 12) + "\"}";
+            default:
+                return "{\"id\":" + id + ",\"user_id\":" + userOf(id) + ",\"title\":\"" + words(h, 3)
+                        + "\",\"due_on\":\"2026-" + String.format("%02d", 1 + (h >>> 20) % 12) + "-15T00:00:00.000+05:30\",\"status\":\""
+                        + ((h >>> 28) % 3 == 0 ? "completed" : "pending") + "\"}";
+        }
+    }
+
+    // Owner of a post / todo; an orphan's owner is past the last user
+    public long userOf(long id) {
+        if (orphanEvery > 0 && id % orphanEvery == 0) return users + id;
+        return 1 + (id - 1) % users;
+    }
+
+    private static String words(long h, int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[(int) ((h >>> (i * 3)) % WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    // SplitMix64 finalizer, non-negative
+    private long mix(long x) {
+        long z = x + seed + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (z ^ (z >>> 31)) >>> 1;
+    }
+
+    /* ============================
+       HTTP plumbing
+       ============================ */
+
+    private void notFound(HttpExchange exchange) throws IOException {
+        send(exchange, 404, "{\"message\":\"Resource not found\"}", null);
+    }
+
+    private static void send(HttpExchange exchange, int status, String body, Map<String, String> headers) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        if (headers != null) headers.forEach((k, v) -> exchange.getResponseHeaders().set(k, v));
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> query(String raw) {
+        Map<String, String> query = new HashMap<>();
+        if (raw == null) return query;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) query.put(pair.substring(0, eq), pair.substring(eq + 1));
+        }
+        return query;
+    }
+
+    private static long parseId(String s) {
+        try {
+            return Long.parseLong(s);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public static final class Builder {
+        private int users = 1000;
+        private int posts = 5000;
+        private int todos = 5000;
+        private long seed = 42;
+        private int port;
+        private int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        private int latencyMs;
+        private int orphanEvery;
+        private int duplicateEvery;
+
+        public Builder users(int users) {
+            this.users = Math.max(1, users);
+            return this;
+        }
+
+        public Builder posts(int posts) {
+            this.posts = Math.max(0, posts);
+            return this;
+        }
+
+        public Builder todos(int todos) {
+            this.todos = Math.max(0, todos);
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        // 0 = any free port
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            this.threads = Math.max(1, threads);
+            return this;
+        }
+
+        // Fixed delay before every response, to model a remote API
+        public Builder latencyMs(int latencyMs) {
+            this.latencyMs = Math.max(0, latencyMs);
+            return this;
+        }
+
+        public Builder orphanEvery(int n) {
+            this.orphanEvery = Math.max(0, n);
+            return this;
+        }
+
+        public Builder duplicateEvery(int n) {
+            this.duplicateEvery = Math.max(0, n);
+            return this;
+        }
+
+        public GoRestStub build() {
+            return new GoRestStub(this);
+        }
+    }
+}
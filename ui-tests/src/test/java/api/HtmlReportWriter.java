@@ -0,0 +1,87 @@
+package api;
+
+import support.Log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * A single self-contained HTML page per run, in place of newman's htmlextra report: totals first,
+ * then one table per request with its status, latency and every assertion. Failed requests are
+ * expanded, the rest collapsed.
+ */
+public final class HtmlReportWriter {
+
+    public static final Path DEFAULT_FILE = Path.of("artifacts", "api", "report.html");
+
+    private static final String STYLE = """
+            body { font-family: sans-serif; margin: 2em; }
+            table { border-collapse: collapse; margin: .5em 0 1em; }
+            td, th { border: 1px solid #ccc; padding: .25em .5em; text-align: left; }
+            .PASSED { color: #1a7f37; } .FAILED, .ERROR { color: #cf222e; } .SKIPPED { color: #9a6700; }
+            summary { cursor: pointer; margin: .25em 0; }
+            """;
+
+    private HtmlReportWriter() {
+    }
+
+    public static Path write(CollectionRun run, Path target) {
+        StringBuilder html = new StringBuilder("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>")
+                .append(escape(run.getCollectionName())).append("</title><style>").append(STYLE).append("</style></head><body>\n");
+        html.append("<h1>").append(escape(run.getCollectionName())).append("</h1>\n");
+
+        long failedRequests = run.getResults().stream().filter(ApiResult::isFailed).count();
+        html.append("<table><tr><th>requests</th><th>requests failed</th><th>assertions</th>");
+        for (AssertionResult.Outcome o : AssertionResult.Outcome.values()) html.append("<th>").append(o.name().toLowerCase()).append("</th>");
+        html.append("<th>wall ms</th></tr>\n<tr><td>").append(run.getResults().size()).append("</td><td>").append(failedRequests)
+                .append("</td><td>").append(run.getResults().stream().mapToInt(r -> r.getAssertions().size()).sum()).append("</td>");
+        for (AssertionResult.Outcome o : AssertionResult.Outcome.values()) {
+            long n = run.getResults().stream().flatMap(r -> r.getAssertions().stream()).filter(a -> a.getOutcome() == o).count();
+            html.append("<td class=\"").append(o).append("\">").append(n).append("</td>");
+        }
+        html.append("<td>").append(run.getWallMs()).append("</td></tr></table>\n");
+
+        for (ApiResult r : run.getResults()) request(html, r);
+        html.append("</body></html>\n");
+
+        try {
+            if (target.getParent() != null) Files.createDirectories(target.getParent());
+            Files.writeString(target, html, StandardCharsets.UTF_8);
+            Log.info("📊 API report written: " + target);
+            return target;
+        } catch (IOException e) {
+            Log.info("⚠️ Could not write HTML report " + target + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void request(StringBuilder html, ApiResult r) {
+        String outcome = r.getError() != null ? "ERROR" : r.isFailed() ? "FAILED" : "PASSED";
+        html.append("<details").append(r.isFailed() ? " open" : "").append("><summary><span class=\"").append(outcome).append("\">")
+                .append(outcome).append("</span> ").append(escape(r.getName())).append(" - ")
+                .append(escape(r.getMethod())).append(' ').append(escape(r.getUrl())).append("</summary>\n");
+        html.append("<p>started ").append(Instant.ofEpochMilli(r.getStartedAt()));
+        if (r.getResponse() != null) {
+            html.append(", status ").append(r.getResponse().getStatus()).append(", ").append(r.getLatencyMs()).append(" ms");
+        }
+        if (r.getError() != null) html.append(", <span class=\"ERROR\">").append(escape(r.getError())).append("</span>");
+        html.append("</p>\n");
+        if (!r.getAssertions().isEmpty()) {
+            html.append("<table><tr><th>assertion</th><th>outcome</th><th>message</th></tr>\n");
+            for (AssertionResult a : r.getAssertions()) {
+                html.append("<tr><td>").append(escape(a.getName())).append("</td><td class=\"").append(a.getOutcome()).append("\">")
+                        .append(a.getOutcome()).append("</td><td>").append(a.getMessage() == null ? "" : escape(a.getMessage()))
+                        .append("</td></tr>\n");
+            }
+            html.append("</table>\n");
+        }
+        html.append("</details>\n");
+    }
+
+    private static String escape(String s) {
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,108 @@
+package api;
+
+import support.Log;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * JUnit XML in the shape newman's junit reporter produces:
+ * one <testsuite> per request, one <testcase> per assertion, so CI test views stay the same.
+ */
+public final class JUnitXmlWriter {
+
+    public static final Path DEFAULT_FILE = Path.of("artifacts", "api", "results.xml");
+
+    private JUnitXmlWriter() {
+    }
+
+    public static Path write(CollectionRun run, Path target) {
+        try {
+            if (target.getParent() != null) Files.createDirectories(target.getParent());
+            try (OutputStream out = Files.newOutputStream(target)) {
+                XMLStreamWriter xml = XMLOutputFactory.newFactory().createXMLStreamWriter(out, "UTF-8");
+                xml.writeStartDocument("UTF-8", "1.0");
+                xml.writeStartElement("testsuites");
+                xml.writeAttribute("name", run.getCollectionName());
+                xml.writeAttribute("tests", String.valueOf(count(run, null)));
+                xml.writeAttribute("failures", String.valueOf(count(run, AssertionResult.Outcome.FAILED)));
+                xml.writeAttribute("errors", String.valueOf(run.getResults().stream().filter(r -> r.getError() != null).count()));
+                xml.writeAttribute("time", seconds(run.getWallMs()));
+
+                for (ApiResult r : run.getResults()) suite(xml, run.getCollectionName(), r);
+
+                xml.writeEndElement();
+                xml.writeEndDocument();
+                xml.close();
+            }
+            Log.info("📊 API results written: " + target);
+            return target;
+        } catch (IOException | XMLStreamException e) {
+            Log.info("⚠️ Could not write JUnit XML " + target + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void suite(XMLStreamWriter xml, String collection, ApiResult r) throws XMLStreamException {
+        int failures = (int) r.getAssertions().stream().filter(AssertionResult::isFailed).count();
+        int skipped = (int) r.getAssertions().stream().filter(a -> a.getOutcome() == AssertionResult.Outcome.SKIPPED).count();
+        String className = collection + "." + r.getName();
+        String time = seconds(r.getLatencyMs());
+
+        xml.writeStartElement("testsuite");
+        xml.writeAttribute("name", r.getName());
+        xml.writeAttribute("id", r.getMethod() + " " + r.getUrl());
+        xml.writeAttribute("timestamp", Instant.ofEpochMilli(r.getStartedAt()).toString());
+        xml.writeAttribute("tests", String.valueOf(Math.max(1, r.getAssertions().size())));
+        xml.writeAttribute("failures", String.valueOf(failures));
+        xml.writeAttribute("errors", r.getError() != null ? "1" : "0");
+        xml.writeAttribute("skipped", String.valueOf(skipped));
+        xml.writeAttribute("time", time);
+
+        if (r.getError() != null) {
+            xml.writeStartElement("testcase");
+            xml.writeAttribute("name", r.getMethod() + " " + r.getUrl());
+            xml.writeAttribute("classname", className);
+            xml.writeAttribute("time", time);
+            xml.writeStartElement("error");
+            xml.writeAttribute("type", "RequestError");
+            xml.writeAttribute("message", r.getError());
+            xml.writeEndElement();
+            xml.writeEndElement();
+        }
+        for (AssertionResult a : r.getAssertions()) {
+            xml.writeStartElement("testcase");
+            xml.writeAttribute("name", a.getName());
+            xml.writeAttribute("classname", className);
+            xml.writeAttribute("time", time);
+            if (a.getOutcome() == AssertionResult.Outcome.FAILED) {
+                xml.writeStartElement("failure");
+                xml.writeAttribute("type", "AssertionFailure");
+                xml.writeAttribute("message", a.getMessage());
+                xml.writeEndElement();
+            } else if (a.getOutcome() == AssertionResult.Outcome.SKIPPED) {
+                xml.writeStartElement("skipped");
+                xml.writeAttribute("message", a.getMessage());
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+        }
+        xml.writeEndElement();
+    }
+
+    private static long count(CollectionRun run, AssertionResult.Outcome outcome) {
+        return run.getResults().stream().flatMap(r -> r.getAssertions().stream())
+                .filter(a -> outcome == null || a.getOutcome() == outcome).count();
+    }
+
+    private static String seconds(long ms) {
+        return String.format(Locale.ROOT, "%.3f", ms / 1000.0);
+    }
+}
@@ -0,0 +1,113 @@
+package api;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.TypeToken;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Postman v2.1 collection, flattened: folders become "Folder / Request" names, in collection order.
+ * Only what the runner needs is kept - method, url, headers, raw body and the test script.
+ */
+public final class PostmanCollection {
+
+    private static final Type MAP_TYPE = new TypeToken<Map<String, Object>>() { }.getType();
+
+    private final String name;
+    private final List<PostmanRequest> requests;
+
+    private PostmanCollection(String name, List<PostmanRequest> requests) {
+        this.name = name;
+        this.requests = Collections.unmodifiableList(requests);
+    }
+
+    public static PostmanCollection load(Path file) {
+        Map<String, Object> root;
+        try {
+            root = new Json().toType(Files.readString(file, StandardCharsets.UTF_8), MAP_TYPE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read Postman collection " + file, e);
+        }
+        Object info = root.get("info");
+        String name = info instanceof Map ? String.valueOf(((Map<?, ?>) info).get("name")) : file.getFileName().toString();
+
+        List<PostmanRequest> requests = new ArrayList<>();
+        collect(root.get("item"), "", requests);
+        return new PostmanCollection(name, requests);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<PostmanRequest> getRequests() {
+        return requests;
+    }
+
+    private static void collect(Object items, String prefix, List<PostmanRequest> out) {
+        if (!(items instanceof List)) return;
+        for (Object o : (List<?>) items) {
+            if (!(o instanceof Map)) continue;
+            Map<?, ?> item = (Map<?, ?>) o;
+            String itemName = prefix + item.get("name");
+            if (item.get("item") != null) {
+                collect(item.get("item"), itemName + " / ", out);
+            } else if (item.get("request") instanceof Map) {
+                out.add(request(itemName, (Map<?, ?>) item.get("request"), item.get("event")));
+            }
+        }
+    }
+
+    private static PostmanRequest request(String name, Map<?, ?> request, Object events) {
+        String method = request.get("method") == null ? "GET" : request.get("method").toString().toUpperCase();
+
+        // "url" is either the raw string or an object carrying it
+        Object url = request.get("url");
+        String rawUrl = url instanceof Map ? String.valueOf(((Map<?, ?>) url).get("raw")) : String.valueOf(url);
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (request.get("header") instanceof List) {
+            for (Object h : (List<?>) request.get("header")) {
+                if (!(h instanceof Map)) continue;
+                Map<?, ?> header = (Map<?, ?>) h;
+                if (Boolean.TRUE.equals(header.get("disabled")) || header.get("key") == null) continue;
+                headers.put(header.get("key").toString(), header.get("value") == null ? "" : header.get("value").toString());
+            }
+        }
+
+        String body = null;
+        if (request.get("body") instanceof Map && "raw".equals(((Map<?, ?>) request.get("body")).get("mode"))) {
+            Object raw = ((Map<?, ?>) request.get("body")).get("raw");
+            body = raw == null ? null : raw.toString();
+        }
+
+        return new PostmanRequest(name, method, rawUrl, headers, body, script(events, "test"));
+    }
+
+    // "exec" is a list of lines (or, in older exports, one string)
+    private static String script(Object events, String listen) {
+        if (!(events instanceof List)) return "";
+        StringBuilder sb = new StringBuilder();
+        for (Object e : (List<?>) events) {
+            if (!(e instanceof Map) || !listen.equals(((Map<?, ?>) e).get("listen"))) continue;
+            Object script = ((Map<?, ?>) e).get("script");
+            Object exec = script instanceof Map ? ((Map<?, ?>) script).get("exec") : null;
+            if (exec instanceof List) {
+                for (Object line : (List<?>) exec) sb.append(line).append('\n');
+            } else if (exec != null) {
+                sb.append(exec).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,60 @@
+package api;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One request of a collection, still unresolved ({{variables}} in url, headers and body).
+ */
+public final class PostmanRequest {
+
+    private final String name;
+    private final String method;
+    private final String url;
+    private final Map<String, String> headers;
+    private final String body;
+    private final PostmanScript script;
+
+    PostmanRequest(String name, String method, String url, Map<String, String> headers, String body, String testScript) {
+        this.name = name;
+        this.method = method;
+        this.url = url;
+        this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(headers));
+        this.body = body;
+        this.script = PostmanScript.parse(testScript);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    // Null when the request has no raw body
+    public String getBody() {
+        return body;
+    }
+
+    public PostmanScript getScript() {
+        return script;
+    }
+
+    // Everything a {{variable}} can appear in
+    String templates() {
+        StringBuilder sb = new StringBuilder(url);
+        headers.forEach((k, v) -> sb.append('\n').append(k).append('\n').append(v));
+        if (body != null) sb.append('\n').append(body);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,379 @@
+package api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A Postman test script translated into checks the runner can evaluate without a JavaScript engine.
+ *
+ * Recognised inside pm.test(...) blocks (the chai forms our collections use):
+ *   pm.expect([200, 403]).to.include(pm.response.code)    pm.response.to.have.status(200)
+ *   pm.expect(pm.response.responseTime).to.be.below(500)
+ *   pm.expect(body).to.be.an('array' | 'object')          pm.expect(body).to.have.property('id')
+ *   pm.expect(body[0]).to.have.property('id')             - checked on every element (schema)
+ *   body.forEach(function (x) { pm.expect(x.user_id).to.eql(uid) })   uid from pm.environment.get(...)
+ * and, anywhere in the script, pm.environment.set('name', body[0].id) style variable extraction.
+ *
+ * Blocks touching the JSON body are skipped when the response is not 2xx JSON (the collections'
+ * WAF branch); a block with any statement not recognised above is reported SKIPPED, never passed.
+ */
+public final class PostmanScript {
+
+    private static final String BODY = "(\\w+|pm\\.response\\.json\\(\\))";
+    private static final String SCOPE = "pm\\.(?:environment|collectionVariables|variables|globals)";
+
+    private static final Pattern TEST_BLOCK = Pattern.compile("pm\\.test\\(\\s*(['\"])(.*?)\\1\\s*,\\s*(?:function\\s*\\(\\)|\\(\\)\\s*=>)\\s*\\{");
+    private static final Pattern BODY_ALIAS = Pattern.compile("(?:const|let|var)\\s+(\\w+)\\s*=\\s*pm\\.response\\.json\\(\\)");
+    private static final Pattern VAR_ALIAS = Pattern.compile("(?:const|let|var)\\s+(\\w+)\\s*=\\s*(?:parse(?:Int|Float)\\()?" + SCOPE + "\\.get\\(\\s*['\"]([\\w.-]+)['\"]\\s*\\)");
+    private static final Pattern SET_VAR = Pattern.compile(SCOPE + "\\.set\\(\\s*['\"]([\\w.-]+)['\"]\\s*,\\s*(.+?)\\s*\\)\\s*;?\\s*$", Pattern.MULTILINE);
+    private static final Pattern ACCESS_PATH = Pattern.compile("^" + BODY + "((?:\\.\\w+|\\[\\d+]|\\[['\"][^'\"]+['\"]])*)$");
+
+    private static final Pattern STATUS_IN = Pattern.compile("pm\\.expect\\(\\[([\\d,\\s]+)]\\)\\.to\\.(?:include|contain)\\(pm\\.response\\.code\\)");
+    private static final Pattern STATUS_ONE_OF = Pattern.compile("pm\\.expect\\(pm\\.response\\.code\\)\\.to\\.(?:be\\.oneOf|eql|equal)\\(\\[?([\\d,\\s]+)]?\\)");
+    private static final Pattern STATUS_IS = Pattern.compile("pm\\.response\\.to\\.have\\.status\\((\\d+)\\)");
+    private static final Pattern LATENCY = Pattern.compile("pm\\.expect\\(pm\\.response\\.responseTime\\)\\.to\\.be\\.(?:below|lessThan)\\((\\d+)\\)");
+    private static final Pattern BODY_TYPE = Pattern.compile("pm\\.expect\\(" + BODY + "\\)\\.to\\.be\\.an?\\(['\"](array|object)['\"]\\)");
+    private static final Pattern ELEMENT_PROPERTY = Pattern.compile("pm\\.expect\\(" + BODY + "\\[0]\\)\\.to\\.have\\.property\\(['\"]([\\w.-]+)['\"]\\)");
+    private static final Pattern BODY_PROPERTY = Pattern.compile("pm\\.expect\\(" + BODY + "\\)\\.to\\.have\\.property\\(['\"]([\\w.-]+)['\"]\\)");
+    private static final Pattern FOR_EACH = Pattern.compile(BODY + "\\.forEach\\(\\s*(?:function\\s*\\(\\s*(\\w+)\\s*\\)|\\(?\\s*(\\w+)\\s*\\)?\\s*=>)");
+    private static final Pattern FIELD_EQUALS = Pattern.compile("pm\\.expect\\((\\w+)\\.(\\w+)\\)\\.to\\.(?:eql|equal)\\(([^)]+)\\)");
+    private static final Pattern TRIVIAL = Pattern.compile("pm\\.expect\\(true\\)\\.to\\.(?:eql|equal|be)\\(?true\\)?");
+
+    private final List<Check> checks;
+    private final Map<String, String> extractions;
+    private final Set<String> bodyAliases;
+
+    private PostmanScript(List<Check> checks, Map<String, String> extractions, Set<String> bodyAliases) {
+        this.checks = Collections.unmodifiableList(checks);
+        this.extractions = Collections.unmodifiableMap(extractions);
+        this.bodyAliases = bodyAliases;
+    }
+
+    static PostmanScript parse(String script) {
+        Set<String> bodyAliases = new LinkedHashSet<>();
+        bodyAliases.add("pm.response.json()");
+        Matcher alias = BODY_ALIAS.matcher(script);
+        while (alias.find()) bodyAliases.add(alias.group(1));
+
+        Map<String, String> varAliases = new HashMap<>();
+        Matcher va = VAR_ALIAS.matcher(script);
+        while (va.find()) varAliases.put(va.group(1), va.group(2));
+
+        List<Check> checks = new ArrayList<>();
+        Matcher block = TEST_BLOCK.matcher(script);
+        int from = 0;
+        while (block.find(from)) {
+            int end = closingBrace(script, block.end());
+            Check check = check(block.group(2), script.substring(block.end(), end), bodyAliases, varAliases);
+            if (check != null) checks.add(check);
+            from = end;
+        }
+
+        Map<String, String> extractions = new LinkedHashMap<>();
+        Matcher set = SET_VAR.matcher(script);
+        while (set.find()) extractions.put(set.group(1), set.group(2));
+
+        return new PostmanScript(checks, extractions, bodyAliases);
+    }
+
+    public List<Check> getChecks() {
+        return checks;
+    }
+
+    // Variables this script sets, i.e. what later requests may depend on
+    public Set<String> producedVariables() {
+        return extractions.keySet();
+    }
+
+    /**
+     * Sets every extracted variable that can be read from this response; returns the names set.
+     */
+    Set<String> extract(ApiResponse response, PostmanVariables variables) {
+        Set<String> set = new LinkedHashSet<>();
+        extractions.forEach((name, expression) -> {
+            String literal = literal(expression);
+            Object value = literal != null ? literal : response.isJson() ? path(expression, response.getJson()) : null;
+            if (value != null && !(value instanceof Map) && !(value instanceof Collection)) {
+                variables.set(name, scalar(value));
+                set.add(name);
+            }
+        });
+        return set;
+    }
+
+    public List<AssertionResult> evaluate(ApiResponse response, PostmanVariables variables) {
+        List<AssertionResult> results = new ArrayList<>();
+        for (Check check : checks) results.add(check.evaluate(response, variables));
+        return results;
+    }
+
+    private Object path(String expression, Object json) {
+        Matcher m = ACCESS_PATH.matcher(expression.trim());
+        if (!m.matches() || !bodyAliases.contains(m.group(1))) return null;
+        Object current = json;
+        Matcher step = Pattern.compile("\\.(\\w+)|\\[(\\d+)]|\\[['\"]([^'\"]+)['\"]]").matcher(m.group(2));
+        while (step.find() && current != null) {
+            if (step.group(2) != null) {
+                int index = Integer.parseInt(step.group(2));
+                current = current instanceof List && index < ((List<?>) current).size() ? ((List<?>) current).get(index) : null;
+            } else {
+                String key = step.group(1) != null ? step.group(1) : step.group(3);
+                current = current instanceof Map ? ((Map<?, ?>) current).get(key) : null;
+            }
+        }
+        return current;
+    }
+
+    /* ============================
+       Translation
+       ============================ */
+
+    private static Check check(String name, String body, Set<String> bodyAliases, Map<String, String> varAliases) {
+        List<Rule> rules = new ArrayList<>();
+        List<String> unsupported = new ArrayList<>();
+        boolean usesJson = false;
+        String loopVar = null;
+        boolean trivialOnly = true;
+
+        // One statement at a time: several expects may share a line
+        for (String line : statements(body)) {
+            Matcher loop = FOR_EACH.matcher(line);
+            if (loop.find() && bodyAliases.contains(loop.group(1))) {
+                loopVar = loop.group(2) != null ? loop.group(2) : loop.group(3);
+                usesJson = true;
+            }
+            if (!line.contains("pm.expect(") && !line.contains("pm.response.to")) continue;
+            if (TRIVIAL.matcher(line).find()) continue;
+            trivialOnly = false;
+
+            Matcher m;
+            if ((m = STATUS_IN.matcher(line)).find() || (m = STATUS_ONE_OF.matcher(line)).find()
+                    || (m = STATUS_IS.matcher(line)).find()) {
+                rules.add(statusIn(numbers(m.group(1))));
+            } else if ((m = LATENCY.matcher(line)).find()) {
+                long max = Long.parseLong(m.group(1));
+                rules.add((r, v) -> r.getLatencyMs() < max ? null : "response time " + r.getLatencyMs() + " ms is not below " + max);
+            } else if ((m = BODY_TYPE.matcher(line)).find() && bodyAliases.contains(m.group(1))) {
+                usesJson = true;
+                boolean array = m.group(2).equals("array");
+                rules.add((r, v) -> (array ? r.getJson() instanceof List : r.getJson() instanceof Map)
+                        ? null : "body is not an " + (array ? "array" : "object"));
+            } else if ((m = ELEMENT_PROPERTY.matcher(line)).find() && bodyAliases.contains(m.group(1))) {
+                usesJson = true;
+                rules.add(everyElementHas(m.group(2)));
+            } else if ((m = BODY_PROPERTY.matcher(line)).find() && bodyAliases.contains(m.group(1))) {
+                usesJson = true;
+                String property = m.group(2);
+                rules.add((r, v) -> r.getJson() instanceof Map && ((Map<?, ?>) r.getJson()).containsKey(property)
+                        ? null : "body has no property '" + property + "'");
+            } else if ((m = FIELD_EQUALS.matcher(line)).find() && m.group(1).equals(loopVar)) {
+                usesJson = true;
+                rules.add(everyElementEquals(m.group(2), m.group(3).trim(), varAliases));
+            } else {
+                unsupported.add(line);
+            }
+        }
+
+        // The else-branch placeholders ("Skipped JSON assertions ...") carry no information
+        if (trivialOnly) return null;
+        return new Check(name, rules, unsupported, usesJson);
+    }
+
+    private static Rule statusIn(List<Integer> allowed) {
+        return (r, v) -> allowed.contains(r.getStatus()) ? null : "status " + r.getStatus() + " not in " + allowed;
+    }
+
+    private static Rule everyElementHas(String property) {
+        return (r, v) -> {
+            if (!(r.getJson() instanceof List)) return "body is not an array";
+            List<?> items = (List<?>) r.getJson();
+            for (int i = 0; i < items.size(); i++) {
+                if (!(items.get(i) instanceof Map) || !((Map<?, ?>) items.get(i)).containsKey(property)) {
+                    return "element " + i + " has no property '" + property + "'";
+                }
+            }
+            return null;
+        };
+    }
+
+    private static Rule everyElementEquals(String field, String expected, Map<String, String> varAliases) {
+        return (r, v) -> {
+            String want = varAliases.containsKey(expected) ? v.get(varAliases.get(expected)) : literal(expected);
+            if (want == null) return "cannot evaluate expected value '" + expected + "'";
+            if (!(r.getJson() instanceof List)) return "body is not an array";
+            List<?> items = (List<?>) r.getJson();
+            for (int i = 0; i < items.size(); i++) {
+                Object actual = items.get(i) instanceof Map ? ((Map<?, ?>) items.get(i)).get(field) : null;
+                if (actual == null || !scalar(actual).equals(scalar(want))) {
+                    return "element " + i + " has " + field + "=" + actual + ", expected " + want;
+                }
+            }
+            return null;
+        };
+    }
+
+    private static List<Integer> numbers(String csv) {
+        List<Integer> numbers = new ArrayList<>();
+        for (String s : csv.split(",")) {
+            if (!s.isBlank()) numbers.add(Integer.parseInt(s.trim()));
+        }
+        return numbers;
+    }
+
+    // A quoted string or a number literal, else null
+    private static String literal(String expression) {
+        String e = expression.trim();
+        if (e.length() >= 2 && (e.charAt(0) == '\'' || e.charAt(0) == '"') && e.charAt(e.length() - 1) == e.charAt(0)) {
+            return e.substring(1, e.length() - 1);
+        }
+        return e.matches("-?\\d+(\\.\\d+)?") ? e : null;
+    }
+
+    // 7373665, 7373665.0 and "7373665" compare equal, like the parseInt in the scripts
+    private static String scalar(Object value) {
+        String s = value.toString();
+        try {
+            double d = Double.parseDouble(s);
+            if (d == Math.rint(d) && !Double.isInfinite(d)) return Long.toString((long) d);
+        } catch (NumberFormatException ignored) {
+        }
+        return s;
+    }
+
+    /**
+     * The script split into statements, outside string literals and comments: at ';', '{' and '}', and at
+     * line breaks that aren't inside (...) / [...] or followed by a ".to..." continuation. A forEach
+     * callback therefore yields its header and each statement of its body separately.
+     */
+    static List<String> statements(String script) {
+        List<String> out = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int depth = 0;
+        char quote = 0;
+        for (int i = 0; i < script.length(); i++) {
+            char c = script.charAt(i);
+            if (quote != 0) {
+                current.append(c);
+                if (c == '\\' && i + 1 < script.length()) current.append(script.charAt(++i));
+                else if (c == quote) quote = 0;
+                continue;
+            }
+            if (c == '/' && i + 1 < script.length() && script.charAt(i + 1) == '/') {
+                while (i + 1 < script.length() && script.charAt(i + 1) != '\n') i++;
+                continue;
+            }
+            if (c == '/' && i + 1 < script.length() && script.charAt(i + 1) == '*') {
+                int close = script.indexOf("*/", i + 2);
+                i = close < 0 ? script.length() : close + 1;
+                continue;
+            }
+            boolean boundary;
+            if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+                boundary = false;
+            } else if (c == '(' || c == '[') {
+                depth++;
+                boundary = false;
+            } else if (c == ')' || c == ']') {
+                depth = Math.max(0, depth - 1);
+                boundary = false;
+            } else if (c == '{' || c == '}') {
+                // A block starts or ends a statement; parentheses around it (a callback) are not counted across it
+                depth = 0;
+                boundary = true;
+            } else if (c == ';') {
+                boundary = depth == 0;
+            } else if (c == '\n') {
+                boundary = depth == 0 && !continues(script, i + 1);
+            } else {
+                boundary = false;
+            }
+            if (!boundary) {
+                current.append(c);
+            } else {
+                addStatement(out, current);
+            }
+        }
+        addStatement(out, current);
+        return out;
+    }
+
+    // A chain broken over lines is joined back: "pm.expect(x)\n  .to.eql(1)" -> "pm.expect(x).to.eql(1)"
+    private static void addStatement(List<String> out, StringBuilder current) {
+        String statement = current.toString().replaceAll("\\s*\\n\\s*\\.", ".").trim();
+        if (!statement.isEmpty()) out.add(statement);
+        current.setLength(0);
+    }
+
+    // The next line carries on the chain: ".to.have..."
+    private static boolean continues(String script, int from) {
+        for (int i = from; i < script.length(); i++) {
+            char c = script.charAt(i);
+            if (!Character.isWhitespace(c)) return c == '.';
+        }
+        return false;
+    }
+
+    private static int closingBrace(String script, int from) {
+        int depth = 1;
+        char quote = 0;
+        for (int i = from; i < script.length(); i++) {
+            char c = script.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') i++;
+                else if (c == quote) quote = 0;
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return script.length();
+    }
+
+    interface Rule {
+        // Null when satisfied, otherwise the failure message
+        String check(ApiResponse response, PostmanVariables variables);
+    }
+
+    public static final class Check {
+        private final String name;
+        private final List<Rule> rules;
+        private final List<String> unsupported;
+        private final boolean usesJson;
+
+        Check(String name, List<Rule> rules, List<String> unsupported, boolean usesJson) {
+            this.name = name;
+            this.rules = rules;
+            this.unsupported = unsupported;
+            this.usesJson = usesJson;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        AssertionResult evaluate(ApiResponse response, PostmanVariables variables) {
+            if (!unsupported.isEmpty()) return AssertionResult.skipped(name, "unsupported assertion: " + unsupported.get(0));
+            if (usesJson && !response.isJson()) {
+                return AssertionResult.skipped(name, "non-JSON response (status " + response.getStatus() + ")");
+            }
+            for (Rule rule : rules) {
+                String failure = rule.check(response, variables);
+                if (failure != null) return AssertionResult.failed(name, failure);
+            }
+            return AssertionResult.passed(name);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package api;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.TypeToken;
+import support.Env;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Variables of a Postman environment file ({{name}} placeholders).
+ * Thread-safe: requests running in parallel read them while finished ones set new values.
+ *
+ * Overrides, like newman's --env-var:
+ *   API_BASE_URL   replaces baseUrl (e.g. a local stub)
+ *   GOREST_TOKEN   replaces token
+ */
+public final class PostmanVariables {
+
+    static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{\\s*([\\w.-]+)\\s*}}");
+    private static final Type MAP_TYPE = new TypeToken<Map<String, Object>>() { }.getType();
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+
+    public static PostmanVariables load(Path environmentFile) {
+        PostmanVariables variables = new PostmanVariables();
+        Map<String, Object> root;
+        try {
+            root = new Json().toType(Files.readString(environmentFile, StandardCharsets.UTF_8), MAP_TYPE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read Postman environment " + environmentFile, e);
+        }
+        if (root.get("values") instanceof List) {
+            for (Object o : (List<?>) root.get("values")) {
+                if (!(o instanceof Map)) continue;
+                Map<?, ?> entry = (Map<?, ?>) o;
+                if (Boolean.FALSE.equals(entry.get("enabled")) || entry.get("key") == null) continue;
+                variables.set(entry.get("key").toString(), entry.get("value") == null ? "" : entry.get("value").toString());
+            }
+        }
+        return variables;
+    }
+
+    public static PostmanVariables fromEnv(Path environmentFile) {
+        PostmanVariables variables = load(environmentFile);
+        String baseUrl = Env.string("API_BASE_URL", null);
+        if (baseUrl != null) variables.set("baseUrl", baseUrl.replaceAll("/+$", ""));
+        String token = Env.string("GOREST_TOKEN", null);
+        if (token != null) variables.set("token", token);
+        return variables;
+    }
+
+    public void set(String name, String value) {
+        values.put(name, value);
+    }
+
+    public String get(String name) {
+        return values.get(name);
+    }
+
+    /**
+     * Replaces every known {{name}}; unknown ones are left in place (see unresolved()).
+     */
+    public String resolve(String template) {
+        if (template == null) return null;
+        Matcher m = PLACEHOLDER.matcher(template);
+        StringBuilder sb = new StringBuilder();
+        while (m.find()) {
+            String value = values.get(m.group(1));
+            m.appendReplacement(sb, Matcher.quoteReplacement(value != null ? value : m.group()));
+        }
+        m.appendTail(sb);
+        return sb.toString();
+    }
+
+    public static Set<String> referenced(String template) {
+        Set<String> names = new LinkedHashSet<>();
+        if (template == null) return names;
+        Matcher m = PLACEHOLDER.matcher(template);
+        while (m.find()) names.add(m.group(1));
+        return names;
+    }
+
+    public Set<String> unresolved(String template) {
+        Set<String> names = referenced(template);
+        names.removeIf(values::containsKey);
+        return names;
+    }
+}
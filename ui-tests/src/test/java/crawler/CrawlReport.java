@@ -0,0 +1,92 @@
+package crawler;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of one GoRestCrawler run: records per resource, and every violation counted with the
+ * first few kept as examples.
+ */
+public final class CrawlReport {
+
+    private final String baseUrl;
+    private final Map<String, Map<String, Object>> resources;
+    private final int sampledUsers;
+    private final int nestedChecked;
+    private final long elapsedMs;
+    private final Map<GoRestCrawler.Rule, Long> counts;
+    private final Map<GoRestCrawler.Rule, List<String>> examples;
+
+    CrawlReport(String baseUrl, Map<String, Map<String, Object>> resources, int sampledUsers, int nestedChecked,
+                long elapsedMs, Map<GoRestCrawler.Rule, Long> counts, Map<GoRestCrawler.Rule, List<String>> examples) {
+        this.baseUrl = baseUrl;
+        this.resources = resources;
+        this.sampledUsers = sampledUsers;
+        this.nestedChecked = nestedChecked;
+        this.elapsedMs = elapsedMs;
+        this.counts = counts;
+        this.examples = examples;
+    }
+
+    public long getViolationCount() {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long getCount(GoRestCrawler.Rule rule) {
+        return counts.getOrDefault(rule, 0L);
+    }
+
+    public List<String> getExamples(GoRestCrawler.Rule rule) {
+        return examples.get(rule);
+    }
+
+    public boolean isConsistent() {
+        return getViolationCount() == 0;
+    }
+
+    // Records served for one resource (users / posts / todos)
+    public long getRecords(String resource) {
+        Map<String, Object> r = resources.get(resource);
+        return r == null ? 0 : ((Number) r.get("records")).longValue();
+    }
+
+    public Map<String, Object> asMap() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("baseUrl", baseUrl);
+        m.put("elapsedMs", elapsedMs);
+        m.put("resources", resources);
+        m.put("sampledUsers", sampledUsers);
+        m.put("nestedChecked", nestedChecked);
+        m.put("violations", getViolationCount());
+        Map<String, Object> byRule = new LinkedHashMap<>();
+        counts.forEach((rule, n) -> {
+            if (n == 0) return;
+            Map<String, Object> r = new LinkedHashMap<>();
+            r.put("count", n);
+            r.put("examples", examples.get(rule));
+            byRule.put(rule.name(), r);
+        });
+        m.put("byRule", byRule);
+        return m;
+    }
+
+    // One line for logs and assertion messages
+    public String summary() {
+        StringBuilder sb = new StringBuilder()
+                .append(getRecords("users")).append(" users, ")
+                .append(getRecords("posts")).append(" posts, ")
+                .append(getRecords("todos")).append(" todos in ").append(elapsedMs).append(" ms, ")
+                .append(getViolationCount()).append(" violations");
+        counts.forEach((rule, n) -> {
+            if (n == 0) return;
+            sb.append("; ").append(rule).append('=').append(n).append(' ').append(examples.get(rule));
+        });
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+}
@@ -0,0 +1,305 @@
+package crawler;
+
+import support.Env;
+import support.Log;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Crawls every page of /users, /posts and /todos and checks the data holds together:
+ *   DUPLICATE_ID       an id seen twice in one resource (pagination shifted, or the API repeats records)
+ *   INVALID_ID         a record without a positive numeric id
+ *   ORPHAN_POST/TODO   user_id of a post / todo that is not in /users
+ *   NESTED_WRONG_USER  /users/:id/posts returned a post owned by someone else
+ *   NESTED_MISMATCH    /users/:id/posts is not exactly /posts filtered by that user (count + id digest)
+ *   COUNT_MISMATCH     x-pagination-total differs from the unique records actually served
+ *   FETCH_ERROR        a page that could not be read after retries
+ *
+ * Memory does not grow with record size or page count: ids live in bitmaps (IdSet), the nested
+ * check tracks a fixed sample of users (OwnerTally), and pages stream with bounded prefetch.
+ * /users is crawled first (everything else is checked against it), then /posts and /todos in parallel.
+ */
+public final class GoRestCrawler {
+
+    public enum Rule {
+        DUPLICATE_ID, INVALID_ID, ORPHAN_POST, ORPHAN_TODO, NESTED_WRONG_USER, NESTED_MISMATCH, COUNT_MISMATCH, FETCH_ERROR
+    }
+
+    private static final int MAX_EXAMPLES = 10;
+
+    private final String baseUrl;
+    private final Map<String, String> headers;
+    private final int perPage;
+    private final int prefetch;
+    private final int userSample;
+    private final long seed;
+    private final Duration timeout;
+    private final HttpClient client;
+
+    private final Map<Rule, Long> counts = new EnumMap<>(Rule.class);
+    private final Map<Rule, List<String>> examples = new EnumMap<>(Rule.class);
+
+    private GoRestCrawler(Builder b) {
+        this.baseUrl = b.baseUrl.replaceAll("/+$", "");
+        this.headers = new LinkedHashMap<>();
+        if (b.token != null && !b.token.isEmpty()) headers.put("Authorization", "Bearer " + b.token);
+        headers.put("Accept", "application/json");
+        this.perPage = b.perPage;
+        this.prefetch = b.prefetch;
+        this.userSample = b.userSample;
+        this.seed = b.seed;
+        this.timeout = b.timeout;
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+        for (Rule rule : Rule.values()) {
+            counts.put(rule, 0L);
+            examples.put(rule, new ArrayList<>());
+        }
+    }
+
+    public static Builder builder(String baseUrl) {
+        return new Builder(baseUrl);
+    }
+
+    /**
+     * CRAWL_PER_PAGE (default 100, GoREST's maximum), CRAWL_PREFETCH (default 4),
+     * CRAWL_USER_SAMPLE (default 50), GOREST_TOKEN if set.
+     */
+    public static Builder fromEnv(String baseUrl) {
+        return builder(baseUrl)
+                .token(Env.string("GOREST_TOKEN", null))
+                .perPage(Env.intValue("CRAWL_PER_PAGE", 100))
+                .prefetch(Env.intValue("CRAWL_PREFETCH", 4))
+                .userSample(Env.intValue("CRAWL_USER_SAMPLE", 50))
+                .timeout(Duration.ofMillis(Env.intValue("API_TIMEOUT_MS", 15000)));
+    }
+
+    public CrawlReport crawl() throws InterruptedException {
+        long start = System.currentTimeMillis();
+        Map<String, Map<String, Object>> resources = new LinkedHashMap<>();
+
+        // Users: the id set everything else refers to, plus a reservoir sample for the nested check.
+        // The sample keeps its own set: `users` already holds a record by the time the check sees it,
+        // so it can't tell a repeated id from a new one
+        IdSet users = new IdSet();
+        IdSet sampled = new IdSet();
+        long[] reservoir = new long[userSample];
+        long[] seen = {0};
+        Random random = new Random(seed);
+        resources.put("users", crawl("users", users, page -> {
+            for (int i = 0; i < page.size; i++) {
+                long id = page.ids[i];
+                if (id <= 0 || !sampled.add(id)) continue;
+                long n = seen[0]++;
+                if (n < userSample) {
+                    reservoir[(int) n] = id;
+                } else {
+                    long j = (long) (random.nextDouble() * (n + 1));
+                    if (j < userSample) reservoir[(int) j] = id;
+                }
+            }
+        }));
+        long[] sample = Arrays.copyOf(reservoir, (int) Math.min(userSample, seen[0]));
+        OwnerTally tally = new OwnerTally(sample);
+
+        // Posts and todos only read `users` from here on
+        AtomicInteger threadNo = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(2, r -> {
+            Thread t = new Thread(r, "crawler-resource-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            Future<Map<String, Object>> posts = pool.submit(() -> crawl("posts", new IdSet(), page -> {
+                for (int i = 0; i < page.size; i++) {
+                    owner(Rule.ORPHAN_POST, users, page.ids[i], page.owners[i]);
+                    tally.add(page.owners[i], page.ids[i]);
+                }
+            }));
+            Future<Map<String, Object>> todos = pool.submit(() -> crawl("todos", new IdSet(), page -> {
+                for (int i = 0; i < page.size; i++) owner(Rule.ORPHAN_TODO, users, page.ids[i], page.owners[i]);
+            }));
+            resources.put("posts", posts.get());
+            resources.put("todos", todos.get());
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Crawl failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int nestedChecked = checkNestedPosts(sample, tally);
+
+        CrawlReport report = new CrawlReport(baseUrl, resources, sample.length, nestedChecked,
+                System.currentTimeMillis() - start, counts, examples);
+        Log.info("🕸️ " + report.summary());
+        return report;
+    }
+
+    /* ============================
+       One resource
+       ============================ */
+
+    private Map<String, Object> crawl(String resource, IdSet ids, Consumer<PageStream.Page> check)
+            throws InterruptedException {
+        PageStream stream = new PageStream(client, baseUrl + "/" + resource, headers, perPage, prefetch, timeout);
+        long[] records = {0};
+        stream.forEach(page -> {
+            if (page.error != null) {
+                violation(Rule.FETCH_ERROR, resource + " page " + page.number + ": " + page.error);
+                return;
+            }
+            for (int i = 0; i < page.size; i++) {
+                long id = page.ids[i];
+                if (id <= 0) {
+                    violation(Rule.INVALID_ID, resource + " page " + page.number + " record " + i + " has id " + id);
+                } else if (!ids.add(id)) {
+                    violation(Rule.DUPLICATE_ID, resource + " id " + id + " again on page " + page.number);
+                }
+            }
+            records[0] += page.size;
+            check.accept(page);
+        });
+
+        long declared = stream.getDeclaredTotal();
+        if (declared >= 0 && declared != ids.size()) {
+            violation(Rule.COUNT_MISMATCH, resource + ": x-pagination-total " + declared + ", " + ids.size() + " unique records served");
+        }
+
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("records", records[0]);
+        m.put("uniqueIds", ids.size());
+        m.put("declaredTotal", declared);
+        m.put("pages", stream.getPages());
+        m.put("maxBufferedPages", stream.getMaxBuffered());
+        m.put("idIndexBytes", ids.bytes());
+        return m;
+    }
+
+    private void owner(Rule rule, IdSet users, long id, long owner) {
+        if (!users.contains(owner)) violation(rule, (rule == Rule.ORPHAN_POST ? "post " : "todo ") + id + " -> user_id " + owner);
+    }
+
+    /* ============================
+       /users/:id/posts vs /posts
+       ============================ */
+
+    private int checkNestedPosts(long[] sample, OwnerTally global) throws InterruptedException {
+        AtomicInteger threadNo = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(prefetch, r -> {
+            Thread t = new Thread(r, "crawler-nested-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long user : sample) {
+                futures.add(pool.submit(() -> {
+                    checkUser(user, global);
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (ExecutionException e) {
+                    violation(Rule.FETCH_ERROR, "nested posts: " + e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return sample.length;
+    }
+
+    private void checkUser(long user, OwnerTally global) throws InterruptedException {
+        OwnerTally nested = new OwnerTally(new long[]{user});
+        PageStream stream = new PageStream(client, baseUrl + "/users/" + user + "/posts", headers, perPage, 1, timeout);
+        stream.forEach(page -> {
+            if (page.error != null) {
+                violation(Rule.FETCH_ERROR, "users/" + user + "/posts page " + page.number + ": " + page.error);
+                return;
+            }
+            for (int i = 0; i < page.size; i++) {
+                if (page.owners[i] != user) {
+                    violation(Rule.NESTED_WRONG_USER, "users/" + user + "/posts has post " + page.ids[i] + " of user " + page.owners[i]);
+                }
+                nested.add(user, page.ids[i]);
+            }
+        });
+        if (nested.count(user) != global.count(user) || nested.digest(user) != global.digest(user)) {
+            violation(Rule.NESTED_MISMATCH, "user " + user + ": " + nested.count(user) + " posts in /users/" + user
+                    + "/posts, " + global.count(user) + " in /posts" + (nested.count(user) == global.count(user) ? " (different ids)" : ""));
+        }
+    }
+
+    private void violation(Rule rule, String example) {
+        synchronized (counts) {
+            counts.merge(rule, 1L, Long::sum);
+            List<String> list = examples.get(rule);
+            if (list.size() < MAX_EXAMPLES) list.add(example);
+        }
+    }
+
+    public static final class Builder {
+        private final String baseUrl;
+        private String token;
+        private int perPage = 100;
+        private int prefetch = 4;
+        private int userSample = 50;
+        private long seed = 7;
+        private Duration timeout = Duration.ofSeconds(15);
+
+        private Builder(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public Builder token(String token) {
+            this.token = token;
+            return this;
+        }
+
+        public Builder perPage(int perPage) {
+            this.perPage = Math.max(1, perPage);
+            return this;
+        }
+
+        // Pages fetched ahead of the consumer, per resource
+        public Builder prefetch(int prefetch) {
+            this.prefetch = Math.max(1, prefetch);
+            return this;
+        }
+
+        // Users whose /users/:id/posts is compared with /posts
+        public Builder userSample(int userSample) {
+            this.userSample = Math.max(0, userSample);
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder timeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        public GoRestCrawler build() {
+            return new GoRestCrawler(this);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package crawler;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Set of positive record ids: a bitmap (one bit per id) below DENSE_LIMIT, a plain hash set above it.
+ * GoREST ids are dense integers, so a million ids take ~125 KB instead of ~50 MB of boxed Longs, and
+ * one bogus huge id costs one boxed entry instead of a bitmap grown to reach it.
+ * Not thread-safe: each set has exactly one writer, readers only look after it is complete.
+ */
+final class IdSet {
+
+    // Caps the bitmap at 16 MB
+    static final long DENSE_LIMIT = 1L << 27;
+
+    private long[] words = new long[1024];
+    private final Set<Long> sparse = new HashSet<>();
+    private long size;
+
+    // false if already present
+    boolean add(long id) {
+        if (id <= 0) throw new IllegalArgumentException("id out of range: " + id);
+        if (id >= DENSE_LIMIT) {
+            if (!sparse.add(id)) return false;
+            size++;
+            return true;
+        }
+        int word = (int) (id >>> 6);
+        if (word >= words.length) words = Arrays.copyOf(words, (int) Math.min(Math.max(word + 1L, words.length * 2L), DENSE_LIMIT >>> 6));
+        long bit = 1L << id;
+        if ((words[word] & bit) != 0) return false;
+        words[word] |= bit;
+        size++;
+        return true;
+    }
+
+    boolean contains(long id) {
+        if (id <= 0) return false;
+        if (id >= DENSE_LIMIT) return sparse.contains(id);
+        int word = (int) (id >>> 6);
+        return word < words.length && (words[word] & (1L << id)) != 0;
+    }
+
+    long size() {
+        return size;
+    }
+
+    // Bitmap plus a rough 64 bytes per sparse entry (boxed Long + hash node)
+    long bytes() {
+        return (long) words.length * Long.BYTES + sparse.size() * 64L;
+    }
+}
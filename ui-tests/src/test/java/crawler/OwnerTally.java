@@ -0,0 +1,62 @@
+package crawler;
+
+/**
+ * Per sampled user: how many records name them as owner, and an order-independent digest of those
+ * record ids. Open addressing over parallel long[] arrays - no boxing, fixed size after construction.
+ * Two tallies of the same id set match whatever order the pages arrived in.
+ */
+final class OwnerTally {
+
+    private final long[] keys;
+    private final long[] counts;
+    private final long[] digests;
+    private final int mask;
+
+    OwnerTally(long[] owners) {
+        int capacity = Integer.highestOneBit(Math.max(4, owners.length * 2 - 1)) << 1;
+        keys = new long[capacity];
+        counts = new long[capacity];
+        digests = new long[capacity];
+        mask = capacity - 1;
+        for (long owner : owners) {
+            int slot = slot(owner);
+            keys[slot] = owner;
+        }
+    }
+
+    boolean tracks(long owner) {
+        return owner > 0 && keys[slot(owner)] == owner;
+    }
+
+    // Ignored for owners that are not tracked
+    void add(long owner, long recordId) {
+        if (owner <= 0) return;
+        int slot = slot(owner);
+        if (keys[slot] != owner) return;
+        counts[slot]++;
+        digests[slot] += mix(recordId);
+    }
+
+    long count(long owner) {
+        return tracks(owner) ? counts[slot(owner)] : 0;
+    }
+
+    long digest(long owner) {
+        return tracks(owner) ? digests[slot(owner)] : 0;
+    }
+
+    // The owner's slot, or the empty slot where it would go (0 = empty; owners are positive)
+    private int slot(long owner) {
+        int i = (int) mix(owner) & mask;
+        while (keys[i] != 0 && keys[i] != owner) i = (i + 1) & mask;
+        return i;
+    }
+
+    static long mix(long x) {
+        x ^= x >>> 33;
+        x *= 0xff51afd7ed558ccdL;
+        x ^= x >>> 33;
+        x *= 0xc4ceb9fe1a85ec53L;
+        return x ^ (x >>> 33);
+    }
+}
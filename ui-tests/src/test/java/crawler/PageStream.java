@@ -0,0 +1,261 @@
+package crawler;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.json.JsonType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Every page of one GoREST list endpoint, handed to a consumer one page at a time.
+ *
+ * At most `prefetch` pages are fetched-but-unconsumed at any moment: a permit is taken before a page
+ * is requested and given back only after the consumer is done with it, so a slow consumer stops
+ * the fetching (back-pressure) and memory stays at prefetch x one page whatever the dataset size.
+ * Pages arrive in completion order, not page order.
+ *
+ * Page count comes from x-pagination-pages of page 1; without it pages are read one by one
+ * until a short page. 429 / 5xx / IO errors are retried (3 attempts, growing delay) before
+ * the page is reported as failed.
+ */
+final class PageStream {
+
+    private static final Json JSON = new Json();
+    private static final int ATTEMPTS = 3;
+
+    // One page reduced to what the checks need
+    static final class Page {
+        final int number;
+        final long[] ids;
+        final long[] owners;   // user_id per record, 0 when absent
+        final int size;
+        final String error;    // non-null when the page could not be read
+
+        private Page(int number, long[] ids, long[] owners, int size, String error) {
+            this.number = number;
+            this.ids = ids;
+            this.owners = owners;
+            this.size = size;
+            this.error = error;
+        }
+
+        static Page failed(int number, String error) {
+            return new Page(number, new long[0], new long[0], 0, error);
+        }
+    }
+
+    private final HttpClient client;
+    private final String url;
+    private final Map<String, String> headers;
+    private final int perPage;
+    private final int prefetch;
+    private final Duration timeout;
+
+    private final AtomicInteger maxBuffered = new AtomicInteger();
+    private long declaredTotal = -1;
+    private int pages;
+
+    PageStream(HttpClient client, String url, Map<String, String> headers, int perPage, int prefetch, Duration timeout) {
+        this.client = client;
+        this.url = url;
+        this.headers = headers;
+        this.perPage = perPage;
+        this.prefetch = Math.max(1, prefetch);
+        this.timeout = timeout;
+    }
+
+    // x-pagination-total of the first page, -1 when the API did not send it
+    long getDeclaredTotal() {
+        return declaredTotal;
+    }
+
+    int getPages() {
+        return pages;
+    }
+
+    // Most pages that were fetched-but-unconsumed at the same time (never above prefetch)
+    int getMaxBuffered() {
+        return maxBuffered.get();
+    }
+
+    void forEach(Consumer<Page> consumer) throws InterruptedException {
+        Fetched first = fetch(1);
+        String totalPages = first.header("x-pagination-pages");
+        String total = first.header("x-pagination-total");
+        declaredTotal = total == null ? -1 : Long.parseLong(total.trim());
+        pages = 1;
+        consumer.accept(first.page);
+
+        if (totalPages == null) {
+            // No page count: sequential until a short (or failed) page
+            Page page = first.page;
+            while (page.error == null && page.size >= perPage) {
+                page = fetch(++pages).page;
+                consumer.accept(page);
+            }
+            return;
+        }
+
+        int last = Integer.parseInt(totalPages.trim());
+        if (last <= 1) return;
+        pages = last;
+
+        Semaphore permits = new Semaphore(prefetch);
+        BlockingQueue<Page> ready = new LinkedBlockingQueue<>();
+        AtomicInteger buffered = new AtomicInteger();
+        AtomicInteger threadNo = new AtomicInteger();
+        ExecutorService fetchers = Executors.newFixedThreadPool(prefetch, r -> {
+            Thread t = new Thread(r, "crawler-fetch-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        Thread producer = new Thread(() -> {
+            try {
+                for (int n = 2; n <= last; n++) {
+                    permits.acquire();
+                    int number = n;
+                    fetchers.execute(() -> {
+                        Page page;
+                        try {
+                            page = fetch(number).page;
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            page = Page.failed(number, "interrupted");
+                        }
+                        maxBuffered.accumulateAndGet(buffered.incrementAndGet(), Math::max);
+                        ready.add(page);
+                    });
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "crawler-producer");
+        producer.setDaemon(true);
+        producer.start();
+
+        try {
+            for (int consumed = 1; consumed < last; consumed++) {
+                Page page = ready.poll(timeout.toMillis() * ATTEMPTS * 2, TimeUnit.MILLISECONDS);
+                if (page == null) throw new IllegalStateException("No page arrived from " + url + " within the timeout");
+                buffered.decrementAndGet();
+                try {
+                    consumer.accept(page);
+                } finally {
+                    permits.release();
+                }
+            }
+        } finally {
+            producer.interrupt();
+            fetchers.shutdownNow();
+        }
+    }
+
+    /* ============================
+       One page
+       ============================ */
+
+    private static final class Fetched {
+        final Page page;
+        final HttpResponse<byte[]> response;
+
+        Fetched(Page page, HttpResponse<byte[]> response) {
+            this.page = page;
+            this.response = response;
+        }
+
+        String header(String name) {
+            return response == null ? null : response.headers().firstValue(name).orElse(null);
+        }
+    }
+
+    private Fetched fetch(int number) throws InterruptedException {
+        String separator = url.contains("?") ? "&" : "?";
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url + separator + "page=" + number + "&per_page=" + perPage))
+                .timeout(timeout)
+                .GET();
+        headers.forEach(builder::header);
+        HttpRequest request = builder.build();
+
+        String error = null;
+        for (int attempt = 1; attempt <= ATTEMPTS; attempt++) {
+            try {
+                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                int status = response.statusCode();
+                if (status == 429 || status >= 500) {
+                    error = "HTTP " + status;
+                } else if (status != 200) {
+                    return new Fetched(Page.failed(number, "HTTP " + status), response);
+                } else {
+                    return new Fetched(parse(number, response.body()), response);
+                }
+            } catch (IOException e) {
+                error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            }
+            if (attempt < ATTEMPTS) TimeUnit.MILLISECONDS.sleep(500L * attempt);
+        }
+        return new Fetched(Page.failed(number, error), null);
+    }
+
+    // Streams the array, keeping only id and user_id of each record
+    private static Page parse(int number, byte[] body) {
+        long[] ids = new long[16];
+        long[] owners = new long[16];
+        int size = 0;
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8);
+             JsonInput in = JSON.newInput(reader)) {
+            if (in.peek() != JsonType.START_COLLECTION) return Page.failed(number, "body is not an array");
+            in.beginArray();
+            while (in.hasNext()) {
+                long id = 0;
+                long owner = 0;
+                if (in.peek() == JsonType.START_MAP) {
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        String key = in.nextName();
+                        if ((key.equals("id") || key.equals("user_id")) && in.peek() == JsonType.NUMBER) {
+                            long value = in.nextNumber().longValue();
+                            if (key.equals("id")) id = value;
+                            else owner = value;
+                        } else {
+                            in.skipValue();
+                        }
+                    }
+                    in.endObject();
+                } else {
+                    in.skipValue();
+                }
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                    owners = Arrays.copyOf(owners, size * 2);
+                }
+                ids[size] = id;
+                owners[size] = owner;
+                size++;
+            }
+            in.endArray();
+        } catch (RuntimeException | IOException e) {
+            return Page.failed(number, "unreadable page: " + e.getMessage());
+        }
+        return new Page(number, ids, owners, size, null);
+    }
+}
@@ -0,0 +1,107 @@
+package driver;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Raw Chrome DevTools Protocol commands for whatever WebDriver a test holds.
+ * Unwraps decorated drivers down to the ChromeDriver underneath.
+ *
+ * Commands and events are built from plain method names and maps rather than the
+ * versioned org.openqa.selenium.devtools.vNNN classes, so they work with any Chrome version.
+ */
+public final class Cdp {
+
+    private static final Type MAP_TYPE = new TypeToken<Map<String, Object>>() { }.getType();
+
+    private Cdp() {
+    }
+
+    public static boolean isAvailable(WebDriver driver) {
+        return unwrap(driver) instanceof HasCdp;
+    }
+
+    public static Map<String, Object> execute(WebDriver driver, String command, Map<String, Object> params) {
+        WebDriver raw = unwrap(driver);
+        if (!(raw instanceof HasCdp)) {
+            throw new UnsupportedOperationException("CDP is not available for " + raw.getClass().getSimpleName());
+        }
+        Map<String, Object> result = ((HasCdp) raw).executeCdpCommand(command, params);
+        return result == null ? Collections.emptyMap() : result;
+    }
+
+    public static Map<String, Object> execute(WebDriver driver, String command) {
+        return execute(driver, command, Collections.emptyMap());
+    }
+
+    /* ============================
+       DevTools websocket (needed for events)
+       ============================ */
+
+    public static boolean hasDevTools(WebDriver driver) {
+        return unwrap(driver) instanceof HasDevTools;
+    }
+
+    public static DevTools devTools(WebDriver driver) {
+        WebDriver raw = unwrap(driver);
+        if (!(raw instanceof HasDevTools)) {
+            throw new UnsupportedOperationException("DevTools is not available for " + raw.getClass().getSimpleName());
+        }
+        DevTools devTools = ((HasDevTools) raw).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        return devTools;
+    }
+
+    public static Map<String, Object> send(DevTools devTools, String method, Map<String, Object> params) {
+        Map<String, Object> result = devTools.send(new Command<Map<String, Object>>(method, params, MAP_TYPE));
+        return result == null ? Collections.emptyMap() : result;
+    }
+
+    public static Map<String, Object> send(DevTools devTools, String method) {
+        return send(devTools, method, Collections.emptyMap());
+    }
+
+    public static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(MAP_TYPE));
+    }
+
+    /**
+     * Drop every listener and interception a test registered, so a pooled session starts clean.
+     * No-op if the session never opened a DevTools connection.
+     */
+    public static void resetDevTools(WebDriver driver) {
+        WebDriver raw = unwrap(driver);
+        if (!(raw instanceof HasDevTools)) return;
+        Optional<DevTools> maybe = ((HasDevTools) raw).maybeGetDevTools();
+        if (maybe.isEmpty() || maybe.get().getCdpSession() == null) return;
+        DevTools devTools = maybe.get();
+        devTools.clearListeners();
+        for (String method : new String[]{"Fetch.disable", "Network.disable", "Runtime.disable", "Log.disable"}) {
+            try {
+                send(devTools, method);
+            } catch (Exception ignored) {
+            }
+        }
+    }
+
+    public static WebDriver unwrap(WebDriver driver) {
+        WebDriver current = driver;
+        while (current instanceof WrapsDriver) {
+            WebDriver inner = ((WrapsDriver) current).getWrappedDriver();
+            if (inner == null || inner == current) break;
+            current = inner;
+        }
+        return current;
+    }
+}
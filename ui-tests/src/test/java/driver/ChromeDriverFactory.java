@@ -0,0 +1,127 @@
+package driver;
+
+import driver.StartupTimings.Phase;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import support.Log;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single place where Chrome sessions are created.
+ * Same headless options every test used to build inline in BaseTest, plus the profile template.
+ *
+ * chromedriver is resolved once per JVM (DriverBinary, cached and usable offline), its process is started
+ * explicitly and every phase of a launch is timed into StartupTimings.
+ */
+public final class ChromeDriverFactory {
+
+    // Per-session profile copies, removed when the session quits (or at JVM exit)
+    private static final Map<WebDriver, Path> PROFILES = new ConcurrentHashMap<>();
+    private static DriverBinary timedBinary;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> PROFILES.values().forEach(ChromeProfileTemplate::delete),
+                "chrome-profile-cleanup"));
+    }
+
+    private ChromeDriverFactory() {
+    }
+
+    public static WebDriver create() {
+        return create(true);
+    }
+
+    private static WebDriver create(boolean retryOnVersionMismatch) {
+        DriverBinary binary = DriverBinary.get();
+        recordResolve(binary);
+
+        long start = System.nanoTime();
+        Path profile = ChromeProfileTemplate.newProfile();
+        ChromeOptions options = defaultOptions();
+        if (profile != null) ChromeProfileTemplate.apply(options, profile);
+        long profiled = System.nanoTime();
+
+        ChromeDriverService service = new ChromeDriverService.Builder()
+                .usingDriverExecutable(binary.getPath().toFile())
+                .usingAnyFreePort()
+                .build();
+        ChromeDriver driver;
+        long spawned;
+        try {
+            service.start();
+            spawned = System.nanoTime();
+            driver = new ChromeDriver(service, options);
+        } catch (IOException e) {
+            service.stop();
+            ChromeProfileTemplate.delete(profile);
+            throw new IllegalStateException("Could not start " + binary.getPath() + ": " + e.getMessage(), e);
+        } catch (SessionNotCreatedException e) {
+            service.stop();
+            ChromeProfileTemplate.delete(profile);
+            // Chrome updated past the cached driver: resolve again once, unless offline / pinned
+            if (retryOnVersionMismatch && String.valueOf(e.getMessage()).contains("only supports Chrome version")
+                    && DriverBinary.invalidate()) {
+                Log.info("⚠️ chromedriver " + binary.getVersion() + " does not support this Chrome, resolving again");
+                return create(false);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            // Timeouts, WebDriverException from the service, ...: no session to quit, so nothing else stops them
+            service.stop();
+            ChromeProfileTemplate.delete(profile);
+            throw e;
+        }
+        long created = System.nanoTime();
+        try {
+            driver.get("about:blank");
+        } catch (RuntimeException e) {
+            try {
+                driver.quit();
+            } catch (RuntimeException quitFailed) {
+                e.addSuppressed(quitFailed);
+            }
+            ChromeProfileTemplate.delete(profile);
+            throw e;
+        }
+        long navigated = System.nanoTime();
+
+        if (profile != null) PROFILES.put(driver, profile);
+        StartupTimings.record(Phase.PROFILE, profiled - start);
+        StartupTimings.record(Phase.SPAWN, spawned - profiled);
+        StartupTimings.record(Phase.SESSION, created - spawned);
+        StartupTimings.record(Phase.FIRST_NAVIGATION, navigated - created);
+        return driver;
+    }
+
+    // quit() also stops the chromedriver process; then the session's profile copy goes
+    public static void quit(WebDriver driver) {
+        try {
+            driver.quit();
+        } finally {
+            ChromeProfileTemplate.delete(PROFILES.remove(driver));
+        }
+    }
+
+    public static ChromeOptions defaultOptions() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless=new");
+        options.addArguments("--window-size=1920,1080");
+        options.addArguments("--no-sandbox");
+        options.addArguments("--disable-dev-shm-usage");
+        return options;
+    }
+
+    // RESOLVE is counted once per resolution, not once per launch
+    private static synchronized void recordResolve(DriverBinary binary) {
+        if (binary == timedBinary) return;
+        timedBinary = binary;
+        StartupTimings.resolved(binary);
+    }
+}
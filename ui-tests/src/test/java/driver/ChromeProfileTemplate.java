@@ -0,0 +1,149 @@
+package driver;
+
+import org.openqa.selenium.chrome.ChromeOptions;
+import support.Env;
+import support.Log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.stream.Stream;
+
+/**
+ * A Chrome user-data-dir prepared once and copied for every session, so Chrome starts as a profile
+ * that has already been through first run: no first-run / default-browser work, no sync, translate,
+ * password manager or notification prompts, and no component / safe-browsing downloads at startup.
+ * Each session gets its own copy (Chrome locks its profile), deleted again when the session quits.
+ *
+ *   CHROME_PROFILE_TEMPLATE=false  Chrome's own fresh temp profile and stock flags, as before
+ *   The template lives in DRIVER_CACHE_DIR/chrome-profile-template and is rebuilt when VERSION changes.
+ */
+final class ChromeProfileTemplate {
+
+    // Bump when the files below change so cached templates are rebuilt
+    private static final String VERSION = "1";
+
+    private static final String LOCAL_STATE = """
+            {"browser":{"enabled_labs_experiments":[]},
+             "user_experience_metrics":{"reporting_enabled":false}}
+            """;
+
+    private static final String PREFERENCES = """
+            {"browser":{"check_default_browser":false,"has_seen_welcome_page":true},
+             "credentials_enable_service":false,
+             "profile":{"password_manager_enabled":false,"default_content_setting_values":{"notifications":2}},
+             "translate":{"enabled":false},
+             "safebrowsing":{"enabled":false},
+             "search":{"suggest_enabled":false},
+             "autofill":{"profile_enabled":false,"credit_card_enabled":false},
+             "distribution":{"skip_first_run_ui":true,"suppress_first_run_default_browser_prompt":true}}
+            """;
+
+    // Work Chrome would otherwise start in the background of every fresh session
+    private static final String[] ARGUMENTS = {
+            "--no-first-run",
+            "--no-default-browser-check",
+            "--disable-background-networking",
+            "--disable-component-update",
+            "--disable-default-apps",
+            "--disable-extensions",
+            "--disable-sync",
+            "--disable-features=Translate,MediaRouter,OptimizationHints",
+            "--metrics-recording-only",
+            "--password-store=basic",
+            "--use-mock-keychain"
+    };
+
+    private static Path template;
+
+    private ChromeProfileTemplate() {
+    }
+
+    static boolean enabled() {
+        return Env.flag("CHROME_PROFILE_TEMPLATE", true);
+    }
+
+    // A fresh copy of the template for one session, or null when the template is off or could not be built
+    static Path newProfile() {
+        if (!enabled()) return null;
+        Path source = template();
+        if (source == null) return null;
+        try {
+            Path copy = Files.createTempDirectory("chrome-profile-");
+            copyTree(source, copy);
+            return copy;
+        } catch (IOException e) {
+            Log.info("⚠️ Could not copy Chrome profile template: " + e.getMessage());
+            return null;
+        }
+    }
+
+    static void apply(ChromeOptions options, Path profile) {
+        options.addArguments(ARGUMENTS);
+        options.addArguments("--user-data-dir=" + profile.toAbsolutePath());
+    }
+
+    static void delete(Path profile) {
+        if (profile == null) return;
+        try (Stream<Path> paths = Files.walk(profile)) {
+            paths.sorted((a, b) -> b.getNameCount() - a.getNameCount()).forEach(p -> {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (IOException ignored) {
+                    // Chrome may still be flushing; the temp dir is cleaned by the OS eventually
+                }
+            });
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static synchronized Path template() {
+        if (template != null) return template;
+        Path dir = DriverBinary.cacheDir().resolve("chrome-profile-template");
+        Path stamp = dir.resolve(".template-version");
+        try {
+            if (!Files.isRegularFile(stamp) || !Files.readString(stamp).equals(VERSION)) {
+                Files.createDirectories(DriverBinary.cacheDir());
+                Path staging = Files.createTempDirectory(DriverBinary.cacheDir(), "chrome-profile-template");
+                Files.createDirectories(staging.resolve("Default"));
+                Files.writeString(staging.resolve("First Run"), "");
+                Files.writeString(staging.resolve("Local State"), LOCAL_STATE, StandardCharsets.UTF_8);
+                Files.writeString(staging.resolve("Default").resolve("Preferences"), PREFERENCES, StandardCharsets.UTF_8);
+                Files.writeString(staging.resolve(".template-version"), VERSION);
+                delete(dir);
+                Files.move(staging, dir, StandardCopyOption.ATOMIC_MOVE);
+                Log.info("🧩 Chrome profile template created: " + dir);
+            }
+            template = dir;
+        } catch (IOException e) {
+            // Another JVM may have won the race; use whatever is there if it is complete
+            if (Files.isRegularFile(stamp)) {
+                template = dir;
+            } else {
+                Log.info("⚠️ Could not create Chrome profile template, using Chrome defaults: " + e.getMessage());
+            }
+        }
+        return template;
+    }
+
+    private static void copyTree(Path from, Path to) throws IOException {
+        Files.walkFileTree(from, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(to.resolve(from.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.copy(file, to.resolve(from.relativize(file).toString()), StandardCopyOption.REPLACE_EXISTING);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
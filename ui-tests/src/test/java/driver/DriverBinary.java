@@ -0,0 +1,241 @@
+package driver;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import support.Env;
+import support.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The chromedriver binary, resolved and verified once per JVM.
+ *
+ * Lookup order:
+ *   1. CHROMEDRIVER_PATH (or -Dwebdriver.chrome.driver): used as is, only verified
+ *   2. DRIVER_CACHE_DIR/chromedriver.properties: path, version and SHA-256 of the last good resolve;
+ *      used while younger than DRIVER_CACHE_TTL_HOURS (default 24) and the binary still hashes the same
+ *   3. WebDriverManager into DRIVER_CACHE_DIR (network), then recorded in the properties file
+ * DRIVER_OFFLINE=true never touches the network: the cache is used whatever its age, then
+ * chromedriver on PATH, otherwise resolution fails with a message saying what to provide.
+ *
+ * "Verified" means the file is executable and `chromedriver --version` answers within 10 s.
+ */
+public final class DriverBinary {
+
+    private static final Pattern VERSION = Pattern.compile("ChromeDriver\\s+(\\d+[\\d.]*)");
+    private static final String RECORD = "chromedriver.properties";
+    // Read before get() sets webdriver.chrome.driver itself
+    private static final String EXPLICIT = explicitPath();
+
+    private static DriverBinary resolved;
+    private static RuntimeException failure;
+
+    private final Path path;
+    private final String version;
+    private final String source;
+    private final long resolveMs;
+
+    private DriverBinary(Path path, String version, String source, long resolveMs) {
+        this.path = path;
+        this.version = version;
+        this.source = source;
+        this.resolveMs = resolveMs;
+    }
+
+    // A failed resolve is remembered too: every later launch fails fast instead of retrying the network
+    public static synchronized DriverBinary get() {
+        if (failure != null) throw failure;
+        if (resolved == null) {
+            long start = System.nanoTime();
+            DriverBinary found;
+            try {
+                found = resolve();
+            } catch (RuntimeException e) {
+                failure = e;
+                throw e;
+            }
+            resolved = new DriverBinary(found.path, found.version, found.source,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            System.setProperty("webdriver.chrome.driver", resolved.path.toString());
+            Log.info("🧭 chromedriver " + resolved.version + " from " + resolved.source
+                    + " in " + resolved.resolveMs + " ms: " + resolved.path);
+        }
+        return resolved;
+    }
+
+    /**
+     * Forget the cached record, e.g. after Chrome was upgraded past what the driver supports.
+     * Returns false in offline mode or with an explicit CHROMEDRIVER_PATH, where a re-resolve would find the same binary.
+     */
+    public static synchronized boolean invalidate() {
+        if (offline() || EXPLICIT != null) return false;
+        try {
+            Files.deleteIfExists(cacheDir().resolve(RECORD));
+        } catch (IOException e) {
+            Log.info("⚠️ Could not drop driver cache record: " + e.getMessage());
+        }
+        resolved = null;
+        return true;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    // explicit | cache | download | path
+    public String getSource() {
+        return source;
+    }
+
+    public long getResolveMs() {
+        return resolveMs;
+    }
+
+    /* ============================
+       Resolution
+       ============================ */
+
+    private static DriverBinary resolve() {
+        if (EXPLICIT != null) {
+            Path path = Path.of(EXPLICIT);
+            return new DriverBinary(path, verify(path), "explicit", 0);
+        }
+
+        DriverBinary cached = fromCache(offline());
+        if (cached != null) return cached;
+
+        if (offline()) {
+            DriverBinary onPath = fromPath();
+            if (onPath != null) return onPath;
+            throw new IllegalStateException("DRIVER_OFFLINE=true but no chromedriver in " + cacheDir()
+                    + " or on PATH; run once online or set CHROMEDRIVER_PATH");
+        }
+
+        WebDriverManager wdm = WebDriverManager.chromedriver().cachePath(cacheDir().toString());
+        wdm.setup();
+        Path path = Path.of(wdm.getDownloadedDriverPath());
+        String version = verify(path);
+        record(path, version);
+        return new DriverBinary(path, version, "download", 0);
+    }
+
+    private static DriverBinary fromCache(boolean ignoreAge) {
+        Path file = cacheDir().resolve(RECORD);
+        if (!Files.isRegularFile(file)) return null;
+        Properties p = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            p.load(in);
+        } catch (IOException e) {
+            return null;
+        }
+
+        Path path = Path.of(p.getProperty("path", ""));
+        long ageMs;
+        try {
+            ageMs = System.currentTimeMillis() - Long.parseLong(p.getProperty("resolvedAt", "0"));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        long ttlMs = Duration.ofHours(Env.intValue("DRIVER_CACHE_TTL_HOURS", 24)).toMillis();
+        if (!ignoreAge && ageMs > ttlMs) return null;
+        if (!Files.isRegularFile(path) || !sha256(path).equals(p.getProperty("sha256"))) {
+            Log.info("⚠️ Cached chromedriver " + path + " is missing or changed, resolving again");
+            return null;
+        }
+        return new DriverBinary(path, p.getProperty("version", "?"), "cache", 0);
+    }
+
+    private static DriverBinary fromPath() {
+        String exe = System.getProperty("os.name").toLowerCase().contains("win") ? "chromedriver.exe" : "chromedriver";
+        for (String dir : System.getenv().getOrDefault("PATH", "").split(File.pathSeparator)) {
+            Path candidate = Path.of(dir, exe);
+            if (Files.isExecutable(candidate)) return new DriverBinary(candidate, verify(candidate), "path", 0);
+        }
+        return null;
+    }
+
+    // Written to a temp file and moved, so parallel JVMs never read half a record
+    private static void record(Path path, String version) {
+        Properties p = new Properties();
+        p.setProperty("path", path.toAbsolutePath().toString());
+        p.setProperty("version", version);
+        p.setProperty("sha256", sha256(path));
+        p.setProperty("resolvedAt", Long.toString(System.currentTimeMillis()));
+        try {
+            Files.createDirectories(cacheDir());
+            Path tmp = Files.createTempFile(cacheDir(), RECORD, ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                p.store(out, "Last verified chromedriver (driver.DriverBinary)");
+            }
+            Files.move(tmp, cacheDir().resolve(RECORD), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Log.info("⚠️ Could not record chromedriver in " + cacheDir() + ": " + e.getMessage());
+        }
+    }
+
+    // Version reported by `chromedriver --version`; anything else means the binary is unusable
+    private static String verify(Path path) {
+        if (!Files.isExecutable(path)) throw new IllegalStateException("chromedriver is not executable: " + path);
+        try {
+            Process process = new ProcessBuilder(path.toString(), "--version").redirectErrorStream(true).start();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IllegalStateException("chromedriver --version did not answer within 10 s: " + path);
+            }
+            String out = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            Matcher m = VERSION.matcher(out);
+            if (process.exitValue() != 0 || !m.find()) {
+                throw new IllegalStateException("Not a working chromedriver (" + path + "): " + out.trim());
+            }
+            return m.group(1);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not run " + path + ": " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while verifying " + path, e);
+        }
+    }
+
+    private static String sha256(Path path) {
+        try (InputStream in = Files.newInputStream(path)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            for (int n; (n = in.read(buffer)) > 0; ) digest.update(buffer, 0, n);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return "";
+        }
+    }
+
+    private static String explicitPath() {
+        String path = Env.string("CHROMEDRIVER_PATH", System.getProperty("webdriver.chrome.driver"));
+        return path == null || path.isBlank() ? null : path;
+    }
+
+    static boolean offline() {
+        return Env.flag("DRIVER_OFFLINE", false);
+    }
+
+    static Path cacheDir() {
+        return Path.of(Env.string("DRIVER_CACHE_DIR",
+                Path.of(System.getProperty("user.home"), ".cache", "privilee-ui-tests", "drivers").toString()));
+    }
+}
@@ -0,0 +1,297 @@
+package driver;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import support.Env;
+import support.Log;
+import support.ParallelSuiteListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JVM-wide pool of pre-warmed Chrome sessions.
+ *
+ * Tests lease a session in @BeforeMethod and release it in @AfterMethod.
+ * On release the session is reset (storage, cookies, DevTools listeners, about:blank) and goes back to the pool,
+ * unless it failed to reset or has served DRIVER_POOL_MAX_USES tests, in which case it is evicted.
+ * Idle sessions are health-checked before being handed out again.
+ *
+ * Knobs (env var or -D):
+ *   DRIVER_POOL_SIZE                   max live sessions (default: one per parallel worker thread)
+ *   DRIVER_POOL_MAX_USES               tests per session before recycling (default 20)
+ *   DRIVER_POOL_LEASE_TIMEOUT_SECONDS  how long lease() waits for a free session (default 120)
+ *   DRIVER_POOL_PROBE_TIMEOUT_SECONDS  health check / reset budget before a session counts as stuck (default 10)
+ */
+public final class DriverPool {
+
+    private static final DriverPool INSTANCE = new DriverPool(
+            Env.intValue("DRIVER_POOL_SIZE", ParallelSuiteListener.threadCount()),
+            Env.intValue("DRIVER_POOL_MAX_USES", 20),
+            Duration.ofSeconds(Env.intValue("DRIVER_POOL_LEASE_TIMEOUT_SECONDS", 120)),
+            Duration.ofSeconds(Env.intValue("DRIVER_POOL_PROBE_TIMEOUT_SECONDS", 10))
+    );
+
+    public static DriverPool getInstance() {
+        return INSTANCE;
+    }
+
+    private final int maxSessions;
+    private final int maxUsesPerSession;
+    private final Duration leaseTimeout;
+    private final Duration probeTimeout;
+
+    private final BlockingQueue<PooledDriver> idle = new LinkedBlockingQueue<>();
+    private final Set<PooledDriver> live = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger reservedSlots = new AtomicInteger();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    // Probes and quits run here so a hung browser never blocks the test thread for longer than probeTimeout
+    private final ExecutorService probes = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "driver-pool-probe");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /* ============================
+       Stats
+       ============================ */
+
+    private final AtomicLong leases = new AtomicLong();
+    private final AtomicLong launched = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private volatile boolean shutDown;
+
+    DriverPool(int maxSessions, int maxUsesPerSession, Duration leaseTimeout, Duration probeTimeout) {
+        this.maxSessions = Math.max(1, maxSessions);
+        this.maxUsesPerSession = Math.max(1, maxUsesPerSession);
+        this.leaseTimeout = leaseTimeout;
+        this.probeTimeout = probeTimeout;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "driver-pool-shutdown"));
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /* ============================
+       Lifecycle
+       ============================ */
+
+    // Launch up to `count` sessions in parallel so the first tests don't pay for browser start-up
+    public void warmUp(int count) {
+        int target = Math.min(count, maxSessions);
+        List<Future<?>> starts = new ArrayList<>();
+        for (int i = 0; i < target; i++) {
+            if (!tryReserveSlot()) break;
+            starts.add(probes.submit(() -> {
+                try {
+                    idle.offer(launch());
+                } catch (RuntimeException e) {
+                    reservedSlots.decrementAndGet();
+                    Log.info("⚠️ Driver pool warm-up failed: " + e.getMessage());
+                }
+            }));
+        }
+        for (Future<?> f : starts) {
+            try {
+                f.get();
+            } catch (Exception ignored) {
+            }
+        }
+        Log.info("ℹ️ Driver pool warmed: " + idle.size() + "/" + maxSessions + " sessions");
+    }
+
+    public void warmUp() {
+        warmUp(maxSessions);
+    }
+
+    public PooledDriver lease() {
+        if (shutDown) throw new IllegalStateException("Driver pool has been shut down");
+
+        long start = System.nanoTime();
+        long deadline = start + leaseTimeout.toNanos();
+
+        while (true) {
+            PooledDriver session = idle.poll();
+
+            if (session == null && tryReserveSlot()) {
+                try {
+                    session = launch();
+                } catch (RuntimeException e) {
+                    reservedSlots.decrementAndGet();
+                    throw e;
+                }
+            }
+
+            if (session == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new RuntimeException("Timed out after " + leaseTimeout.toSeconds()
+                            + "s waiting for a free browser session (pool size " + maxSessions + ")");
+                }
+                try {
+                    session = idle.poll(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(250)), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for a browser session", e);
+                }
+                if (session == null) continue;
+            }
+
+            // Fresh sessions are trusted; anything that already ran a test is probed first
+            if (session.getUses() > 0 && !isHealthy(session)) {
+                evict(session, "failed health check");
+                continue;
+            }
+
+            recordLease(session, System.nanoTime() - start);
+            return session;
+        }
+    }
+
+    public void release(PooledDriver session) {
+        if (session == null) return;
+        session.markUsed();
+
+        if (shutDown) {
+            evict(session, "pool shut down");
+        } else if (session.getUses() >= maxUsesPerSession) {
+            evict(session, "served " + session.getUses() + " tests");
+        } else if (!reset(session)) {
+            evict(session, "reset failed");
+        } else {
+            idle.offer(session);
+        }
+    }
+
+    public synchronized void shutdown() {
+        if (shutDown) return;
+        shutDown = true;
+
+        List<PooledDriver> all = new ArrayList<>(live);
+        idle.clear();
+        for (PooledDriver session : all) {
+            live.remove(session);
+            quitQuietly(session);
+        }
+        probes.shutdownNow();
+
+        Log.info("ℹ️ " + stats());
+        if (!StartupTimings.isEmpty()) {
+            Log.info("ℹ️ " + StartupTimings.summary());
+            StartupTimings.write();
+        }
+    }
+
+    /* ============================
+       Internals
+       ============================ */
+
+    private boolean tryReserveSlot() {
+        while (true) {
+            int current = reservedSlots.get();
+            if (current >= maxSessions) return false;
+            if (reservedSlots.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    private PooledDriver launch() {
+        PooledDriver session = new PooledDriver(nextId.getAndIncrement(), ChromeDriverFactory.create());
+        live.add(session);
+        launched.incrementAndGet();
+        return session;
+    }
+
+    private void recordLease(PooledDriver session, long waitNanos) {
+        leases.incrementAndGet();
+        if (session.getUses() > 0) reused.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private boolean isHealthy(PooledDriver session) {
+        return withinProbeTimeout(() -> {
+            Object state = ((JavascriptExecutor) session.getDriver()).executeScript("return document.readyState");
+            return state != null;
+        });
+    }
+
+    // Storage has to be cleared while still on the test's origin, before leaving for about:blank
+    private boolean reset(PooledDriver session) {
+        return withinProbeTimeout(() -> {
+            WebDriver d = session.getDriver();
+            try {
+                ((JavascriptExecutor) d).executeScript(
+                        "try { window.localStorage.clear(); } catch (e) {}" +
+                        "try { window.sessionStorage.clear(); } catch (e) {}");
+            } catch (Exception ignored) {
+                // about:blank or a crashed page has no storage to clear
+            }
+            d.manage().deleteAllCookies();
+            Cdp.resetDevTools(d);
+            d.get("about:blank");
+            return true;
+        });
+    }
+
+    private boolean withinProbeTimeout(Callable<Boolean> probe) {
+        Future<Boolean> result = probes.submit(probe);
+        try {
+            return Boolean.TRUE.equals(result.get(probeTimeout.toMillis(), TimeUnit.MILLISECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            return false;
+        } catch (Exception e) {
+            result.cancel(true);
+            return false;
+        }
+    }
+
+    private void evict(PooledDriver session, String reason) {
+        if (live.remove(session)) {
+            reservedSlots.decrementAndGet();
+            evicted.incrementAndGet();
+            Log.info("♻️ Evicting browser " + session + ": " + reason);
+            // A stuck browser can hang quit(); don't make the test thread wait for it
+            if (shutDown) {
+                quitQuietly(session);
+            } else {
+                probes.submit(() -> quitQuietly(session));
+            }
+        }
+    }
+
+    private void quitQuietly(PooledDriver session) {
+        try {
+            ChromeDriverFactory.quit(session.getDriver());
+        } catch (Exception ignored) {
+        }
+    }
+
+    public String stats() {
+        long n = leases.get();
+        double avgWaitMs = n == 0 ? 0 : totalWaitNanos.get() / 1_000_000.0 / n;
+        return String.format("Driver pool: leases=%d, launched=%d, reused=%d, evicted=%d, "
+                        + "avgLeaseWait=%.1fms, maxLeaseWait=%.1fms",
+                n, launched.get(), reused.get(), evicted.get(),
+                avgWaitMs, maxWaitNanos.get() / 1_000_000.0);
+    }
+}
@@ -0,0 +1,56 @@
+package driver;
+
+import network.NetworkProfile;
+import org.openqa.selenium.WebDriver;
+import support.Log;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DevTools network, CPU and screen emulation for one session. Everything stays in effect until reset(),
+ * and sessions are pooled, so callers reset in a finally block.
+ */
+public final class Emulation {
+
+    private Emulation() {
+    }
+
+    public static void apply(WebDriver driver, NetworkProfile network, double cpuSlowdown, Viewport viewport) {
+        network(driver, network);
+        Cdp.execute(driver, "Emulation.setCPUThrottlingRate", Map.of("rate", Math.max(1, cpuSlowdown)));
+        viewport(driver, viewport);
+    }
+
+    public static void network(WebDriver driver, NetworkProfile profile) {
+        Cdp.execute(driver, "Network.enable");
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("offline", false);
+        params.put("latency", profile.getLatencyMs());
+        params.put("downloadThroughput", profile.downloadBytesPerSecond());
+        params.put("uploadThroughput", profile.uploadBytesPerSecond());
+        Cdp.execute(driver, "Network.emulateNetworkConditions", params);
+    }
+
+    public static void viewport(WebDriver driver, Viewport viewport) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("width", viewport.getWidth());
+        params.put("height", viewport.getHeight());
+        params.put("deviceScaleFactor", viewport.getDeviceScaleFactor());
+        params.put("mobile", viewport.isMobile());
+        Cdp.execute(driver, "Emulation.setDeviceMetricsOverride", params);
+        Cdp.execute(driver, "Emulation.setTouchEmulationEnabled", Map.of("enabled", viewport.isMobile()));
+    }
+
+    // Back to an unthrottled desktop session; best effort, the session may already be gone
+    public static void reset(WebDriver driver) {
+        try {
+            network(driver, NetworkProfile.NONE);
+            Cdp.execute(driver, "Emulation.setCPUThrottlingRate", Map.of("rate", 1));
+            Cdp.execute(driver, "Emulation.clearDeviceMetricsOverride");
+            Cdp.execute(driver, "Emulation.setTouchEmulationEnabled", Map.of("enabled", false));
+        } catch (Exception e) {
+            Log.info("⚠️ Could not reset emulation: " + e.getMessage());
+        }
+    }
+}
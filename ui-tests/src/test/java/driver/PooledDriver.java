@@ -0,0 +1,46 @@
+package driver;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * A browser session owned by {@link DriverPool}.
+ * Tests only ever see it between lease() and release().
+ */
+public final class PooledDriver {
+
+    private final int id;
+    private final WebDriver driver;
+    private final long createdAtMillis = System.currentTimeMillis();
+    private int uses;
+
+    PooledDriver(int id, WebDriver driver) {
+        this.id = id;
+        this.driver = driver;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    // Number of tests this session has already served
+    public int getUses() {
+        return uses;
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    void markUsed() {
+        uses++;
+    }
+
+    @Override
+    public String toString() {
+        return "session#" + id + " (uses=" + uses + ")";
+    }
+}
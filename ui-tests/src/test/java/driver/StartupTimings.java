@@ -0,0 +1,78 @@
+package driver;
+
+import metrics.LatencyHistogram;
+import metrics.MetricsReportWriter;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Where browser startup time goes, per phase, over every session this JVM launched:
+ *   RESOLVE           finding and verifying chromedriver (once per JVM, see DriverBinary)
+ *   PROFILE           copying the profile template
+ *   SPAWN             starting the chromedriver process until it answers
+ *   SESSION           new session: Chrome launch until WebDriver has a window
+ *   FIRST_NAVIGATION  the first about:blank load, i.e. a renderer is up
+ * Reported with the pool stats when the pool shuts down.
+ */
+public final class StartupTimings {
+
+    public enum Phase {
+        RESOLVE, PROFILE, SPAWN, SESSION, FIRST_NAVIGATION
+    }
+
+    private static final Map<Phase, LatencyHistogram> PHASES = new EnumMap<>(Phase.class);
+
+    static {
+        for (Phase phase : Phase.values()) PHASES.put(phase, new LatencyHistogram());
+    }
+
+    private static volatile String driverSource = "";
+    private static volatile String driverVersion = "";
+
+    private StartupTimings() {
+    }
+
+    static void record(Phase phase, long nanos) {
+        PHASES.get(phase).recordNanos(nanos);
+    }
+
+    static void resolved(DriverBinary binary) {
+        driverSource = binary.getSource();
+        driverVersion = binary.getVersion();
+        record(Phase.RESOLVE, TimeUnit.MILLISECONDS.toNanos(binary.getResolveMs()));
+    }
+
+    public static boolean isEmpty() {
+        return PHASES.get(Phase.SESSION).getCount() == 0;
+    }
+
+    public static Map<String, Object> asMap() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("driverVersion", driverVersion);
+        m.put("driverSource", driverSource);
+        m.put("profileTemplate", ChromeProfileTemplate.enabled());
+        Map<String, Object> phases = new LinkedHashMap<>();
+        PHASES.forEach((phase, histogram) -> phases.put(phase.name(), histogram.asMap()));
+        m.put("phases", phases);
+        return m;
+    }
+
+    // One line: median per phase, in ms
+    public static String summary() {
+        StringBuilder sb = new StringBuilder("Browser startup (p50):");
+        PHASES.forEach((phase, histogram) -> {
+            if (histogram.getCount() == 0) return;
+            sb.append(' ').append(phase.name().toLowerCase()).append('=')
+                    .append(String.format("%.0fms", histogram.percentileMs(0.5)));
+        });
+        return sb.append(" over ").append(PHASES.get(Phase.SESSION).getCount()).append(" launch(es), chromedriver ")
+                .append(driverVersion).append(" from ").append(driverSource).toString();
+    }
+
+    public static void write() {
+        if (!isEmpty()) MetricsReportWriter.write("browser-startup", asMap());
+    }
+}
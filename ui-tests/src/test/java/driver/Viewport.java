@@ -0,0 +1,63 @@
+package driver;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Named screen sizes for DevTools device emulation. Desktop matches the --window-size every session
+ * starts with (ChromeDriverFactory); the mobile ones also report a touch screen.
+ */
+public enum Viewport {
+
+    DESKTOP("desktop", 1920, 1080, 1, false),
+    TABLET("tablet", 820, 1180, 2, true),
+    MOBILE("mobile", 390, 844, 3, true);
+
+    private final String id;
+    private final int width;
+    private final int height;
+    private final double deviceScaleFactor;
+    private final boolean mobile;
+
+    Viewport(String id, int width, int height, double deviceScaleFactor, boolean mobile) {
+        this.id = id;
+        this.width = width;
+        this.height = height;
+        this.deviceScaleFactor = deviceScaleFactor;
+        this.mobile = mobile;
+    }
+
+    public static Viewport of(String id) {
+        String wanted = id.trim().toLowerCase(Locale.ROOT);
+        for (Viewport v : values()) {
+            if (v.id.equals(wanted)) return v;
+        }
+        throw new IllegalArgumentException("Unknown viewport '" + id + "', expected one of "
+                + Arrays.stream(values()).map(Viewport::getId).toList());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public double getDeviceScaleFactor() {
+        return deviceScaleFactor;
+    }
+
+    public boolean isMobile() {
+        return mobile;
+    }
+
+    @Override
+    public String toString() {
+        return id + " (" + width + "x" + height + ")";
+    }
+}
@@ -0,0 +1,305 @@
+package fixtures;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import support.Env;
+import support.Log;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded HTTP server that records the map page (HTML, JS, venue/filter API) once and replays it locally.
+ *
+ *   FIXTURE_MODE            off | record | replay   (default off = tests hit staging)
+ *   FIXTURE_PORT            local port (default 8787)
+ *   FIXTURE_DIR             where recordings live (default fixtures/privilee-map)
+ *   FIXTURE_UPSTREAMS       extra origins to capture besides staging, comma separated (e.g. the venue API host)
+ *   FIXTURE_LATENCY_MS      replay: delay before the first byte of every response (default 0)
+ *   FIXTURE_BANDWIDTH_KBPS  replay: cap on body throughput in kilobits/s (default 0 = unlimited)
+ *
+ * The staging origin is served at the server root, every other upstream under /__upstream/<host>/.
+ * Absolute URLs to captured origins are rewritten in HTML/JS/JSON/CSS so the browser keeps coming back here.
+ * Third-party origins that are not listed (maps tiles, analytics) still go to the network.
+ */
+public final class FixtureServer {
+
+    public enum Mode { OFF, RECORD, REPLAY }
+
+    public static final String STAGING_ORIGIN = "https://staging-website.privilee.ae";
+
+    private static final String UPSTREAM_PREFIX = "/__upstream/";
+
+    private static final Set<String> FORWARDED_HEADERS = Set.of(
+            "accept", "accept-language", "authorization", "content-type", "cookie", "user-agent", "x-requested-with");
+
+    private static final Mode MODE = parseMode(Env.string("FIXTURE_MODE", "off"));
+    private static final int PORT = Env.intValue("FIXTURE_PORT", 8787);
+
+    private static FixtureServer running;
+
+    private final Mode mode;
+    private final FixtureStore store;
+    private final List<String> upstreams = new ArrayList<>();
+    private final int latencyMs;
+    private final int bandwidthKbps;
+    private final HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofSeconds(15))
+            .build();
+
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    FixtureServer(Mode mode, Path dir, List<String> extraUpstreams, int latencyMs, int bandwidthKbps) {
+        this.mode = mode;
+        this.store = new FixtureStore(dir);
+        this.upstreams.add(STAGING_ORIGIN);
+        this.upstreams.addAll(extraUpstreams);
+        this.latencyMs = latencyMs;
+        this.bandwidthKbps = bandwidthKbps;
+    }
+
+    /* ============================
+       Suite-level switch
+       ============================ */
+
+    public static Mode mode() {
+        return MODE;
+    }
+
+    public static boolean isEnabled() {
+        return MODE != Mode.OFF;
+    }
+
+    public static String localOrigin() {
+        return "http://localhost:" + PORT;
+    }
+
+    // Staging URL, or the same page on the fixture server when FIXTURE_MODE is on
+    public static String resolve(String stagingUrl) {
+        if (!isEnabled() || !stagingUrl.startsWith(STAGING_ORIGIN)) return stagingUrl;
+        return localOrigin() + stagingUrl.substring(STAGING_ORIGIN.length());
+    }
+
+    public static synchronized void startIfEnabled() {
+        if (!isEnabled() || running != null) return;
+
+        List<String> extra = new ArrayList<>();
+        for (String origin : Env.string("FIXTURE_UPSTREAMS", "").split(",")) {
+            if (!origin.trim().isEmpty()) extra.add(stripTrailingSlash(origin.trim()));
+        }
+
+        FixtureServer server = new FixtureServer(MODE,
+                Path.of(Env.string("FIXTURE_DIR", "fixtures/privilee-map")),
+                extra,
+                Env.intValue("FIXTURE_LATENCY_MS", 0),
+                Env.intValue("FIXTURE_BANDWIDTH_KBPS", 0));
+        try {
+            server.start(PORT);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not start fixture server on port " + PORT, e);
+        }
+        running = server;
+    }
+
+    public static synchronized void stopIfRunning() {
+        if (running == null) return;
+        running.stop();
+        running = null;
+    }
+
+    /* ============================
+       Server
+       ============================ */
+
+    void start(int port) throws IOException {
+        if (mode == Mode.REPLAY) {
+            store.load();
+            if (store.size() == 0) {
+                Log.info("⚠️ Fixture replay: no recordings in " + store.getDir() + " (run once with FIXTURE_MODE=record)");
+            }
+        }
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "fixture-server");
+            t.setDaemon(true);
+            return t;
+        });
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+        Log.info("ℹ️ Fixture server (" + mode.name().toLowerCase() + ") on " + localOrigin()
+                + ", " + store.size() + " recordings, latency=" + latencyMs + "ms, bandwidth="
+                + (bandwidthKbps > 0 ? bandwidthKbps + "kbps" : "unlimited"));
+    }
+
+    void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        if (mode == Mode.RECORD) {
+            try {
+                store.save();
+            } catch (IOException e) {
+                Log.info("⚠️ Could not save fixture index: " + e.getMessage());
+            }
+        }
+        Log.info("ℹ️ Fixture server stopped: served=" + served.get() + ", recorded=" + recorded.get()
+                + ", misses=" + misses.get());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String upstreamUrl = toUpstreamUrl(exchange.getRequestURI().getRawPath(),
+                    exchange.getRequestURI().getRawQuery());
+            byte[] requestBody = exchange.getRequestBody().readAllBytes();
+            String key = FixtureStore.key(method, upstreamUrl, requestBody);
+
+            if (mode == Mode.RECORD) {
+                HttpResponse<byte[]> upstream = forward(exchange, method, upstreamUrl, requestBody);
+                String contentType = upstream.headers().firstValue("Content-Type").orElse("application/octet-stream");
+                store.put(key, upstream.statusCode(), contentType, upstream.body());
+                recorded.incrementAndGet();
+                respond(exchange, upstream.statusCode(), contentType, upstream.body(), false);
+                return;
+            }
+
+            FixtureStore.Entry entry = store.find(key);
+            if (entry == null) {
+                misses.incrementAndGet();
+                Log.info("⚠️ Fixture miss: " + key);
+                respond(exchange, 404, "text/plain", ("No fixture for " + key).getBytes(StandardCharsets.UTF_8), false);
+                return;
+            }
+            served.incrementAndGet();
+            respond(exchange, entry.status, entry.contentType, store.body(entry), true);
+        } catch (Exception e) {
+            respond(exchange, 502, "text/plain",
+                    ("Fixture server error: " + e.getMessage()).getBytes(StandardCharsets.UTF_8), false);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private HttpResponse<byte[]> forward(HttpExchange exchange, String method, String url, byte[] body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .method(method, body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        // No Accept-Encoding: we want identity bodies we can rewrite and store as-is
+        exchange.getRequestHeaders().forEach((name, values) -> {
+            if (FORWARDED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(v -> request.header(name, v));
+            }
+        });
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private void respond(HttpExchange exchange, int status, String contentType, byte[] body, boolean throttle)
+            throws IOException {
+        byte[] payload = isText(contentType) ? rewrite(body) : body;
+
+        if (throttle && latencyMs > 0) sleep(latencyMs);
+
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+        boolean noBody = status == 204 || status == 304 || "HEAD".equals(exchange.getRequestMethod());
+        exchange.sendResponseHeaders(status, noBody ? -1 : payload.length);
+        if (noBody) return;
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            if (!throttle || bandwidthKbps <= 0) {
+                out.write(payload);
+                return;
+            }
+            // kilobits/s -> bytes/ms
+            double bytesPerMs = bandwidthKbps * 1000 / 8.0 / 1000.0;
+            int chunk = 16 * 1024;
+            for (int offset = 0; offset < payload.length; offset += chunk) {
+                int len = Math.min(chunk, payload.length - offset);
+                out.write(payload, offset, len);
+                out.flush();
+                sleep((long) Math.ceil(len / bytesPerMs));
+            }
+        }
+    }
+
+    /* ============================
+       URL mapping
+       ============================ */
+
+    private String toUpstreamUrl(String rawPath, String rawQuery) {
+        String query = rawQuery == null ? "" : "?" + rawQuery;
+        if (rawPath.startsWith(UPSTREAM_PREFIX)) {
+            String rest = rawPath.substring(UPSTREAM_PREFIX.length());
+            int slash = rest.indexOf('/');
+            String host = slash < 0 ? rest : rest.substring(0, slash);
+            String path = slash < 0 ? "/" : rest.substring(slash);
+            return "https://" + host + path + query;
+        }
+        return STAGING_ORIGIN + rawPath + query;
+    }
+
+    private String localFor(String origin) {
+        if (origin.equals(STAGING_ORIGIN)) return localOrigin();
+        return localOrigin() + UPSTREAM_PREFIX + URI.create(origin).getHost();
+    }
+
+    private byte[] rewrite(byte[] body) {
+        String text = new String(body, StandardCharsets.UTF_8);
+        for (String origin : upstreams) {
+            String local = localFor(origin);
+            text = text.replace(origin, local)
+                    // JSON-escaped form inside inline state blobs
+                    .replace(origin.replace("/", "\\/"), local.replace("/", "\\/"));
+        }
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean isText(String contentType) {
+        String ct = contentType.toLowerCase(Locale.ROOT);
+        return ct.startsWith("text/") || ct.contains("javascript") || ct.contains("json") || ct.contains("xml");
+    }
+
+    private static Mode parseMode(String value) {
+        try {
+            return Mode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return Mode.OFF;
+        }
+    }
+
+    private static String stripTrailingSlash(String origin) {
+        return origin.endsWith("/") ? origin.substring(0, origin.length() - 1) : origin;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
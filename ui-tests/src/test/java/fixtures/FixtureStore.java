@@ -0,0 +1,119 @@
+package fixtures;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.TypeToken;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recorded responses on disk: one body file per request plus index.json describing them.
+ *
+ * A request is identified by method + upstream URL (+ a hash of the request body for POSTs),
+ * so the filter API calls the map makes are replayed per filter combination.
+ */
+public class FixtureStore {
+
+    private static final Json JSON = new Json();
+    private static final Type INDEX_TYPE = new TypeToken<List<Map<String, Object>>>() { }.getType();
+
+    private final Path dir;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public FixtureStore(Path dir) {
+        this.dir = dir;
+    }
+
+    public static final class Entry {
+        final String key;
+        final int status;
+        final String contentType;
+        final String bodyFile;
+
+        Entry(String key, int status, String contentType, String bodyFile) {
+            this.key = key;
+            this.status = status;
+            this.contentType = contentType;
+            this.bodyFile = bodyFile;
+        }
+    }
+
+    public static String key(String method, String upstreamUrl, byte[] requestBody) {
+        String key = method.toUpperCase() + " " + upstreamUrl;
+        if (requestBody != null && requestBody.length > 0) key += " #" + sha1(requestBody).substring(0, 12);
+        return key;
+    }
+
+    public Path getDir() {
+        return dir;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void load() throws IOException {
+        Path index = dir.resolve("index.json");
+        if (!Files.exists(index)) return;
+        List<Map<String, Object>> raw = JSON.toType(Files.readString(index, StandardCharsets.UTF_8), INDEX_TYPE);
+        for (Map<String, Object> e : raw) {
+            String key = (String) e.get("key");
+            entries.put(key, new Entry(key,
+                    ((Number) e.get("status")).intValue(),
+                    (String) e.get("contentType"),
+                    (String) e.get("bodyFile")));
+        }
+    }
+
+    public Entry find(String key) {
+        return entries.get(key);
+    }
+
+    public byte[] body(Entry entry) throws IOException {
+        return Files.readAllBytes(dir.resolve(entry.bodyFile));
+    }
+
+    public void put(String key, int status, String contentType, byte[] body) throws IOException {
+        Files.createDirectories(dir);
+        String bodyFile = sha1(key.getBytes(StandardCharsets.UTF_8)) + ".body";
+        Files.write(dir.resolve(bodyFile), body);
+        entries.put(key, new Entry(key, status, contentType, bodyFile));
+    }
+
+    public void save() throws IOException {
+        Files.createDirectories(dir);
+        List<Map<String, Object>> raw = new ArrayList<>();
+        entries.values().stream()
+                .sorted((a, b) -> a.key.compareTo(b.key))
+                .forEach(e -> {
+                    Map<String, Object> m = new LinkedHashMap<>();
+                    m.put("key", e.key);
+                    m.put("status", e.status);
+                    m.put("contentType", e.contentType);
+                    m.put("bodyFile", e.bodyFile);
+                    raw.add(m);
+                });
+        Files.writeString(dir.resolve("index.json"), JSON.toJson(raw), StandardCharsets.UTF_8);
+    }
+
+    static String sha1(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(data);
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest) sb.append(String.format("%02x", b));
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
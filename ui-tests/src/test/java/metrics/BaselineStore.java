@@ -0,0 +1,217 @@
+package metrics;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.TypeToken;
+import support.Env;
+import support.Log;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only history of performance samples, one JSON line per sample:
+ * {"ts":..., "run":..., "commit":..., "test":..., "city":..., "metric":..., "value":...}
+ * "city" is left out for tests that don't select one.
+ *
+ * Lives at PERF_BASELINE_FILE (default perf-baseline/samples.jsonl); CI restores it from cache so
+ * the baseline rolls forward across builds. Lines are never rewritten - only appended under a file
+ * lock, so parallel workers and concurrent builds on one machine can share the file.
+ *
+ * Only runs that passed their gate are appended, and only where PERF_BASELINE_RECORD allows it
+ * (default: outside CI; the workflow sets it for the default branch), so a slow branch or a
+ * regressed run never becomes the reference.
+ */
+public final class BaselineStore {
+
+    private static final Type MAP_TYPE = new TypeToken<Map<String, Object>>() { }.getType();
+    private static final Json JSON = new Json();
+
+    // One id per JVM: all samples of this suite run belong together
+    private static final String RUN_ID = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date())
+            + "_" + ProcessHandle.current().pid();
+    private static volatile String commit;
+
+    private final Path file;
+
+    public BaselineStore(Path file) {
+        this.file = file;
+    }
+
+    public static BaselineStore fromEnv() {
+        return new BaselineStore(Path.of(Env.string("PERF_BASELINE_FILE", "perf-baseline/samples.jsonl")));
+    }
+
+    public static String runId() {
+        return RUN_ID;
+    }
+
+    /**
+     * GIT_COMMIT / GITHUB_SHA when CI provides one, else `git rev-parse --short HEAD`, else "unknown".
+     */
+    public static String commit() {
+        if (commit != null) return commit;
+        String c = Env.string("GIT_COMMIT", Env.string("GITHUB_SHA", null));
+        if (c == null) {
+            try {
+                Process p = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+                try (BufferedReader r = new BufferedReader(new InputStreamReader(p.getInputStream(), StandardCharsets.UTF_8))) {
+                    String line = r.readLine();
+                    if (p.waitFor(5, TimeUnit.SECONDS) && p.exitValue() == 0 && line != null) c = line.trim();
+                }
+            } catch (IOException e) {
+                // No git on this machine
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (c != null && c.length() > 12) c = c.substring(0, 12);
+        commit = c == null || c.isEmpty() ? "unknown" : c;
+        return commit;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public static boolean isRecording() {
+        return Env.flag("PERF_BASELINE_RECORD", System.getenv("CI") == null);
+    }
+
+    /* ============================
+       Write
+       ============================ */
+
+    // No-op unless isRecording(); city may be null
+    public void append(String test, String city, Map<String, List<Double>> samplesByMetric) {
+        if (!isRecording()) return;
+        StringBuilder lines = new StringBuilder();
+        long now = System.currentTimeMillis();
+        samplesByMetric.forEach((metric, values) -> {
+            for (Double v : values) {
+                if (v == null || v < 0 || v.isNaN()) continue;
+                Map<String, Object> line = new LinkedHashMap<>();
+                line.put("ts", now);
+                line.put("run", RUN_ID);
+                line.put("commit", commit());
+                line.put("test", test);
+                if (city != null) line.put("city", city);
+                line.put("metric", metric);
+                line.put("value", v);
+                JSON.newOutput(lines).setPrettyPrint(false).write(line);
+                lines.append('\n');
+            }
+        });
+        if (lines.length() == 0) return;
+
+        synchronized (BaselineStore.class) {
+            try {
+                if (file.getParent() != null) Files.createDirectories(file.getParent());
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    FileLock lock = channel.lock();
+                    try {
+                        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                        while (buffer.hasRemaining()) channel.write(buffer);
+                    } finally {
+                        lock.release();
+                    }
+                }
+            } catch (IOException e) {
+                Log.info("⚠️ Could not append to performance baseline " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /* ============================
+       Read
+       ============================ */
+
+    /**
+     * Samples of the last maxRuns runs (oldest first) for one test + city (null: no city), per metric,
+     * excluding the current run. Streams the file; only the kept window is in memory.
+     */
+    public Map<String, List<RunSamples>> history(String test, String city, int maxRuns) {
+        Map<String, Deque<RunSamples>> byMetric = new LinkedHashMap<>();
+        if (!Files.exists(file)) return new LinkedHashMap<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String raw;
+            while ((raw = reader.readLine()) != null) {
+                if (raw.isBlank() || !raw.contains(test)) continue;
+                Map<String, Object> line;
+                try {
+                    line = JSON.toType(raw, MAP_TYPE);
+                } catch (RuntimeException e) {
+                    continue;   // a torn line from a killed build; the rest of the file is fine
+                }
+                if (!test.equals(line.get("test")) || !Objects.equals(city, line.get("city"))) continue;
+                String run = String.valueOf(line.get("run"));
+                if (RUN_ID.equals(run) || !(line.get("value") instanceof Number)) continue;
+
+                Deque<RunSamples> runs = byMetric.computeIfAbsent(String.valueOf(line.get("metric")), k -> new ArrayDeque<>());
+                RunSamples last = runs.peekLast();
+                if (last == null || !last.run.equals(run)) {
+                    last = new RunSamples(run, String.valueOf(line.get("commit")), ((Number) line.get("ts")).longValue());
+                    runs.addLast(last);
+                    if (runs.size() > maxRuns) runs.removeFirst();
+                }
+                last.values.add(((Number) line.get("value")).doubleValue());
+            }
+        } catch (IOException e) {
+            Log.info("⚠️ Could not read performance baseline " + file + ": " + e.getMessage());
+        }
+
+        Map<String, List<RunSamples>> result = new LinkedHashMap<>();
+        byMetric.forEach((metric, runs) -> result.put(metric, new ArrayList<>(runs)));
+        return result;
+    }
+
+    // All samples of one earlier run
+    public static final class RunSamples {
+        private final String run;
+        private final String commit;
+        private final long timestamp;
+        private final List<Double> values = new ArrayList<>();
+
+        RunSamples(String run, String commit, long timestamp) {
+            this.run = run;
+            this.commit = commit;
+            this.timestamp = timestamp;
+        }
+
+        public String getRun() {
+            return run;
+        }
+
+        public String getCommit() {
+            return commit;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public List<Double> getValues() {
+            return values;
+        }
+    }
+}
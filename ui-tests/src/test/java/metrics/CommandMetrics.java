@@ -0,0 +1,158 @@
+package metrics;
+
+import org.openqa.selenium.By;
+import support.Log;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WebDriver command latencies grouped by command type ("WebElement.click", "WebDriver.findElements", ...)
+ * and by locator. Locators declared as By fields on a page object are reported by field name
+ * (e.g. "showVenuesButton"); ad-hoc locators by their text with string literals masked.
+ *
+ * One instance per test (filled by CommandTimingListener), merged into the suite-wide instance.
+ */
+public final class CommandMetrics {
+
+    public static final Path REPORT_DIR = Path.of("artifacts", "selenium-reports", "commands");
+
+    private static final CommandMetrics SUITE = new CommandMetrics();
+    private static final Map<String, String> LOCATOR_NAMES = new ConcurrentHashMap<>();
+    private static final Set<Class<?>> REGISTERED = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, LatencyHistogram> byCommand = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> byLocator = new ConcurrentHashMap<>();
+
+    public static CommandMetrics suite() {
+        return SUITE;
+    }
+
+    /* ============================
+       Recording
+       ============================ */
+
+    public void record(String command, By locator, long nanos) {
+        byCommand.computeIfAbsent(command, k -> new LatencyHistogram()).recordNanos(nanos);
+        if (locator != null) {
+            byLocator.computeIfAbsent(locatorName(locator), k -> new LatencyHistogram()).recordNanos(nanos);
+        }
+    }
+
+    public void mergeInto(CommandMetrics target) {
+        byCommand.forEach((k, h) -> target.byCommand.computeIfAbsent(k, x -> new LatencyHistogram()).merge(h));
+        byLocator.forEach((k, h) -> target.byLocator.computeIfAbsent(k, x -> new LatencyHistogram()).merge(h));
+    }
+
+    public boolean isEmpty() {
+        return byCommand.isEmpty();
+    }
+
+    /* ============================
+       Locator names
+       ============================ */
+
+    // Read every By field of a page object once, so reports say "filtersButton" instead of a long XPath
+    public static void registerLocators(Object pageObject) {
+        Class<?> type = pageObject.getClass();
+        if (!REGISTERED.add(type)) return;
+        for (Field field : type.getDeclaredFields()) {
+            if (!By.class.isAssignableFrom(field.getType()) || Modifier.isStatic(field.getModifiers())) continue;
+            try {
+                field.setAccessible(true);
+                Object by = field.get(pageObject);
+                if (by != null) LOCATOR_NAMES.put(by.toString(), type.getSimpleName() + "." + field.getName());
+            } catch (ReflectiveOperationException | RuntimeException ignored) {
+            }
+        }
+    }
+
+    static String locatorName(By locator) {
+        String text = locator.toString();
+        String name = LOCATOR_NAMES.get(text);
+        if (name != null) return name;
+        // chipByText('Abu Dhabi'), chipByText('Dubai') ... collapse into one series
+        String masked = text.replaceAll("'[^']*'", "'?'").replaceAll("\"[^\"]*\"", "\"?\"");
+        return masked.length() > 120 ? masked.substring(0, 117) + "..." : masked;
+    }
+
+    /* ============================
+       Export
+       ============================ */
+
+    public Map<String, Object> asMap() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("commands", sorted(byCommand));
+        m.put("locators", sorted(byLocator));
+        return m;
+    }
+
+    public void writeJson(String name) {
+        MetricsReportWriter.write(REPORT_DIR, name, asMap());
+    }
+
+    /**
+     * Prometheus text exposition format (summaries with p50/p95/p99, in seconds).
+     */
+    public String toPrometheus() {
+        StringBuilder sb = new StringBuilder();
+        appendSummary(sb, "webdriver_command_seconds", "command", byCommand,
+                "Latency of WebDriver commands by command type");
+        appendSummary(sb, "webdriver_locator_seconds", "locator", byLocator,
+                "Latency of element lookups by locator");
+        return sb.toString();
+    }
+
+    public void writePrometheus(String name) {
+        Path target = REPORT_DIR.resolve(MetricsReportWriter.safe(name) + ".prom");
+        try {
+            Files.createDirectories(REPORT_DIR);
+            Files.writeString(target, toPrometheus(), StandardCharsets.UTF_8);
+            Log.info("📊 Metrics written: " + target);
+        } catch (IOException e) {
+            Log.info("⚠️ Could not write " + target + ": " + e.getMessage());
+        }
+    }
+
+    private static void appendSummary(StringBuilder sb, String metric, String label,
+                                      Map<String, LatencyHistogram> series, String help) {
+        sb.append("# HELP ").append(metric).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(metric).append(" summary\n");
+        new TreeMap<>(series).forEach((key, h) -> {
+            String l = label + "=\"" + escape(key) + "\"";
+            for (double q : new double[]{0.5, 0.95, 0.99}) {
+                sb.append(metric).append('{').append(l).append(",quantile=\"").append(q).append("\"} ")
+                        .append(seconds(h.percentileMs(q))).append('\n');
+            }
+            sb.append(metric).append("_sum{").append(l).append("} ").append(seconds(h.getSumMs())).append('\n');
+            sb.append(metric).append("_count{").append(l).append("} ").append(h.getCount()).append('\n');
+        });
+    }
+
+    private static Map<String, Object> sorted(Map<String, LatencyHistogram> series) {
+        // Most total time first: that's where to look
+        Map<String, Object> m = new LinkedHashMap<>();
+        series.entrySet().stream()
+                .sorted((a, b) -> Double.compare(b.getValue().getSumMs(), a.getValue().getSumMs()))
+                .forEach(e -> m.put(e.getKey(), e.getValue().asMap()));
+        return m;
+    }
+
+    private static String seconds(double ms) {
+        return String.format(Locale.ROOT, "%.6f", ms / 1000.0);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", " ");
+    }
+}
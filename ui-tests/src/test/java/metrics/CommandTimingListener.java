@@ -0,0 +1,62 @@
+package metrics;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+
+/**
+ * Times every call going through an EventFiringDecorator-wrapped driver
+ * (driver, element, navigation, options ...) into a CommandMetrics instance.
+ */
+public class CommandTimingListener implements WebDriverListener {
+
+    private final CommandMetrics metrics;
+
+    // Calls on decorated objects can nest (e.g. an element call inside a wait), so keep a stack
+    private final ThreadLocal<ArrayDeque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public CommandTimingListener(CommandMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        starts.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(target, method, args);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(target, method, args);
+    }
+
+    private void finish(Object target, Method method, Object[] args) {
+        Long start = starts.get().poll();
+        if (start == null) return;
+        long elapsed = System.nanoTime() - start;
+
+        By locator = (args != null && args.length > 0 && args[0] instanceof By) ? (By) args[0] : null;
+        metrics.record(commandName(target, method), locator, elapsed);
+    }
+
+    private static String commandName(Object target, Method method) {
+        String owner;
+        if (target instanceof WebElement) {
+            owner = "WebElement";
+        } else if (target instanceof WebDriver) {
+            owner = "WebDriver";
+        } else {
+            owner = method.getDeclaringClass().getSimpleName();
+        }
+        return owner + "." + method.getName();
+    }
+}
@@ -0,0 +1,134 @@
+package metrics;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Click-to-settle timings per filter (or filter combination, "A + B"), ranked slowest first by the
+ * median select time. Deselect timings are kept alongside; clicks that moved neither count nor markers
+ * and clicks that never settled are counted, not timed.
+ *
+ * write() puts the ranking in <name>_<timestamp>.json and a markdown table next to it.
+ */
+public final class FilterLatencyProfile {
+
+    private static final class Entry {
+        final String filter;
+        final boolean combination;
+        final List<Double> select = new ArrayList<>();
+        final List<Double> deselect = new ArrayList<>();
+        int unchanged;
+        int unsettled;
+        String countAfter = "";
+
+        Entry(String filter, boolean combination) {
+            this.filter = filter;
+            this.combination = combination;
+        }
+
+        double p50() {
+            return select.isEmpty() ? -1 : PerfStats.median(select);
+        }
+    }
+
+    private final String city;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    public FilterLatencyProfile(String city) {
+        this.city = city;
+    }
+
+    public void recordSelect(String filter, boolean combination, FilterResponse response) {
+        Entry e = entries.computeIfAbsent(filter, k -> new Entry(k, combination));
+        if (!response.isSettled()) e.unsettled++;
+        if (response.isResponded()) {
+            e.select.add(response.getResponseMs());
+            e.countAfter = response.getCtaAfter();
+        } else {
+            e.unchanged++;
+        }
+    }
+
+    public void recordDeselect(String filter, FilterResponse response) {
+        Entry e = entries.get(filter);
+        if (e != null && response.isResponded()) e.deselect.add(response.getResponseMs());
+    }
+
+    // Slowest first; filters that never moved the count sort last
+    public List<Map<String, Object>> ranked() {
+        List<Entry> sorted = new ArrayList<>(entries.values());
+        sorted.sort(Comparator.comparingDouble(Entry::p50).reversed());
+        List<Map<String, Object>> rows = new ArrayList<>();
+        int rank = 1;
+        for (Entry e : sorted) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("rank", rank++);
+            row.put("filter", e.filter);
+            row.put("combination", e.combination);
+            row.put("samples", e.select.size());
+            row.put("p50Ms", ms(e.select, 0.50));
+            row.put("p90Ms", ms(e.select, 0.90));
+            row.put("maxMs", ms(e.select, 1.0));
+            row.put("deselectP50Ms", ms(e.deselect, 0.50));
+            row.put("unchanged", e.unchanged);
+            row.put("unsettled", e.unsettled);
+            row.put("countAfter", e.countAfter);
+            row.put("selectMs", e.select);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // The n slowest single filters that did move the count (candidates for combinations)
+    public List<String> slowestFilters(int n) {
+        List<String> out = new ArrayList<>();
+        for (Map<String, Object> row : ranked()) {
+            if (out.size() >= n) break;
+            if (!(Boolean) row.get("combination") && (Integer) row.get("samples") > 0) out.add((String) row.get("filter"));
+        }
+        return out;
+    }
+
+    // "filter p50=... exceeds ..." for every filter whose median is over maxP50Ms
+    public List<String> violations(double maxP50Ms) {
+        List<String> out = new ArrayList<>();
+        for (Entry e : entries.values()) {
+            if (e.p50() > maxP50Ms) out.add(e.filter + " p50=" + Math.round(e.p50()) + " ms exceeds " + Math.round(maxP50Ms));
+            if (e.unsettled > 0) out.add(e.filter + " never settled in " + e.unsettled + " click(s)");
+        }
+        return out;
+    }
+
+    public Path write(String name, Map<String, Object> extra) {
+        List<Map<String, Object>> rows = ranked();
+        Map<String, Object> report = new LinkedHashMap<>(extra);
+        report.put("city", city);
+        report.put("ranked", rows);
+
+        Path json = MetricsReportWriter.write(name, report);
+        if (json != null) {
+            StringBuilder md = new StringBuilder("# Filter response times, ").append(city).append("\n\n")
+                    .append("| # | filter | n | p50 ms | p90 ms | max ms | deselect p50 ms | unchanged | unsettled |\n")
+                    .append("|---|---|---|---|---|---|---|---|---|\n");
+            for (Map<String, Object> r : rows) {
+                md.append('|');
+                for (String key : new String[]{"rank", "filter", "samples", "p50Ms", "p90Ms", "maxMs", "deselectP50Ms",
+                        "unchanged", "unsettled"}) {
+                    Object v = r.get(key);
+                    md.append(' ').append(v == null ? "-" : v).append(" |");
+                }
+                md.append('\n');
+            }
+            MetricsReportWriter.writeSidecar(json, "md", md, "filter ranking");
+        }
+        return json;
+    }
+
+    private static Long ms(List<Double> values, double quantile) {
+        return values.isEmpty() ? null : Math.round(PerfStats.percentile(values, quantile));
+    }
+}
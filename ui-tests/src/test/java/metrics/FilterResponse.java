@@ -0,0 +1,92 @@
+package metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * What one timed chip click did, all times in ms from the click (see FilterResponseCollector):
+ * when the "Show N venues" count first changed and when it last changed, when the marker count last
+ * changed, and the later of the two as the response time.
+ */
+public final class FilterResponse {
+
+    public static final String COUNT_UPDATE_MS = "countUpdateMs";
+    public static final String COUNT_SETTLED_MS = "countSettledMs";
+    public static final String MARKERS_SETTLED_MS = "markersSettledMs";
+    // Later of countSettledMs / markersSettledMs; -1 when neither count moved
+    public static final String RESPONSE_MS = "responseMs";
+
+    private final boolean clicked;
+    private final boolean settled;
+    private final String ctaBefore;
+    private final String ctaAfter;
+    private final int markersBefore;
+    private final int markersAfter;
+    private final Map<String, Double> values;
+
+    FilterResponse(boolean clicked, boolean settled, String ctaBefore, String ctaAfter,
+                   int markersBefore, int markersAfter, Map<String, Double> values) {
+        this.clicked = clicked;
+        this.settled = settled;
+        this.ctaBefore = ctaBefore;
+        this.ctaAfter = ctaAfter;
+        this.markersBefore = markersBefore;
+        this.markersAfter = markersAfter;
+        this.values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+    }
+
+    static FilterResponse notClicked() {
+        return new FilterResponse(false, false, "", "", 0, 0, Map.of());
+    }
+
+    // False when no enabled option had that exact label
+    public boolean isClicked() {
+        return clicked;
+    }
+
+    // False when the page was still changing (or a request still in flight) at the timeout
+    public boolean isSettled() {
+        return settled;
+    }
+
+    // The count or the markers changed at all
+    public boolean isResponded() {
+        return getResponseMs() >= 0;
+    }
+
+    public double get(String metric) {
+        Double value = values.get(metric);
+        return value == null ? -1 : value;
+    }
+
+    public double getResponseMs() {
+        return get(RESPONSE_MS);
+    }
+
+    public String getCtaBefore() {
+        return ctaBefore;
+    }
+
+    public String getCtaAfter() {
+        return ctaAfter;
+    }
+
+    public Map<String, Object> asMap() {
+        Map<String, Object> m = new LinkedHashMap<>(values);
+        m.put("clicked", clicked);
+        m.put("settled", settled);
+        m.put("ctaBefore", ctaBefore);
+        m.put("ctaAfter", ctaAfter);
+        m.put("markersBefore", markersBefore);
+        m.put("markersAfter", markersAfter);
+        return m;
+    }
+
+    @Override
+    public String toString() {
+        if (!clicked) return "FilterResponse{not clicked}";
+        return "FilterResponse{" + Math.round(getResponseMs()) + " ms, '" + ctaBefore + "' -> '" + ctaAfter + "', markers "
+                + markersBefore + " -> " + markersAfter + (settled ? "" : ", not settled") + "}";
+    }
+}
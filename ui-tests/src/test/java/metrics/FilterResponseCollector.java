@@ -0,0 +1,121 @@
+package metrics;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import support.Env;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Clicks a filter option and times the page's response from inside it, in one async script call:
+ * the click timestamp and every change of the "Show N venues" text or the marker count share the
+ * page clock, so WebDriver round-trips don't end up in the numbers.
+ *
+ * The page counts as settled once neither changed for FILTER_QUIET_MS (default 500) and no XHR / fetch
+ * is in flight (when SpaSettleWait's tracker is installed); the quiet window itself is not part of the
+ * response time. Gives up after FILTER_TIMEOUT_MS (default 15000).
+ */
+public class FilterResponseCollector {
+
+    private static final String TOGGLE_SCRIPT = """
+            var done = arguments[arguments.length - 1];
+            var label = arguments[0], markersCss = arguments[1], quietMs = arguments[2], timeoutMs = arguments[3];
+            var norm = function (t) { return (t || '').replace(/\\s+/g, ' ').trim(); };
+            var cta = function () {
+              var buttons = document.querySelectorAll('button');
+              for (var i = 0; i < buttons.length; i++) {
+                var t = norm(buttons[i].innerText || buttons[i].textContent);
+                var l = t.toLowerCase();
+                if (l.indexOf('show') >= 0 && l.indexOf('venues') >= 0) return t;
+              }
+              return '';
+            };
+            var markers = function () { return document.querySelectorAll(markersCss).length; };
+            var inflight = function () { return window.__qaSettle ? window.__qaSettle.inflight : 0; };
+
+            var target = null, buttons = document.getElementsByTagName('button');
+            for (var i = 0; i < buttons.length; i++) {
+              // Hidden duplicates (e.g. a collapsed mobile panel) are skipped, as in PrivileeMapPage
+              var b = buttons[i];
+              if (b.disabled || b.getClientRects().length === 0) continue;
+              if (norm(b.textContent) === label) { target = b; break; }
+            }
+            if (!target) return done({ clicked: false });
+
+            var r = { clicked: true, settled: false, ctaBefore: cta(), markersBefore: markers(),
+                      countUpdateMs: -1, countSettledMs: -1, markersSettledMs: -1 };
+            var lastCta = r.ctaBefore, lastMarkers = r.markersBefore, lastChange = 0;
+            var t0 = performance.now();
+            target.click();
+
+            var observer = null, timer = null, finished = false;
+            var check = function () {
+              if (finished) return;
+              var now = performance.now() - t0;
+              var c = cta(), n = markers();
+              if (c !== lastCta) {
+                lastCta = c;
+                lastChange = now;
+                if (r.countUpdateMs < 0) r.countUpdateMs = now;
+                r.countSettledMs = now;
+              }
+              if (n !== lastMarkers) {
+                lastMarkers = n;
+                lastChange = now;
+                r.markersSettledMs = now;
+              }
+              var quiet = now - lastChange >= quietMs && inflight() === 0;
+              if (!quiet && now < timeoutMs) return;
+              finished = true;
+              r.settled = quiet;
+              if (observer) observer.disconnect();
+              clearInterval(timer);
+              r.ctaAfter = lastCta;
+              r.markersAfter = lastMarkers;
+              r.responseMs = Math.max(r.countSettledMs, r.markersSettledMs);
+              done(r);
+            };
+            observer = new MutationObserver(check);
+            observer.observe(document.documentElement, { childList: true, subtree: true, characterData: true });
+            timer = setInterval(check, 25);
+            """;
+
+    // WebDriver's default script timeout is 30 s; stay below it
+    private static final int MAX_TIMEOUT_MS = 25_000;
+
+    private final WebDriver driver;
+    private final String markerCss;
+    private final int quietMs = Env.intValue("FILTER_QUIET_MS", 500);
+    private final int timeoutMs = Math.min(Env.intValue("FILTER_TIMEOUT_MS", 15000), MAX_TIMEOUT_MS);
+
+    /**
+     * @param markerCss what counts as a marker (PrivileeMapPage passes its marker locator CSS)
+     */
+    public FilterResponseCollector(WebDriver driver, String markerCss) {
+        this.driver = driver;
+        this.markerCss = markerCss;
+    }
+
+    // Click the enabled option whose text is exactly `label` and wait for the page to settle
+    public FilterResponse toggle(String label) {
+        Object raw = ((JavascriptExecutor) driver).executeAsyncScript(TOGGLE_SCRIPT, label, markerCss, quietMs, timeoutMs);
+        if (!(raw instanceof Map) || !Boolean.TRUE.equals(((Map<?, ?>) raw).get("clicked"))) {
+            return FilterResponse.notClicked();
+        }
+        Map<?, ?> r = (Map<?, ?>) raw;
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (String key : new String[]{FilterResponse.COUNT_UPDATE_MS, FilterResponse.COUNT_SETTLED_MS,
+                FilterResponse.MARKERS_SETTLED_MS, FilterResponse.RESPONSE_MS}) {
+            Object v = r.get(key);
+            values.put(key, v instanceof Number ? Math.round(((Number) v).doubleValue() * 10) / 10.0 : -1);
+        }
+        return new FilterResponse(true, Boolean.TRUE.equals(r.get("settled")),
+                String.valueOf(r.get("ctaBefore")), String.valueOf(r.get("ctaAfter")),
+                integer(r.get("markersBefore")), integer(r.get("markersAfter")), values);
+    }
+
+    private static int integer(Object v) {
+        return v instanceof Number ? ((Number) v).intValue() : 0;
+    }
+}
@@ -0,0 +1,86 @@
+package metrics;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import support.Env;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Samples frame times in the current document while a gesture runs: a requestAnimationFrame loop records
+ * the interval between consecutive frames, a long-task observer records main-thread tasks over 50 ms.
+ *
+ * Unlike the page-load collectors nothing has to exist before navigation, so plain script calls do.
+ *
+ * Usage: start() -> gesture -> stop()
+ */
+public class FrameTimingCollector {
+
+    private static final String START_SCRIPT = """
+            var old = window.__qaFrames;
+            if (old) { old.running = false; if (old.observer) old.observer.disconnect(); }
+            var f = window.__qaFrames = { frames: [], longTasks: [], running: true, last: -1, observer: null };
+            var tick = function (now) {
+              if (!f.running) return;
+              if (f.last >= 0) f.frames.push(now - f.last);
+              f.last = now;
+              requestAnimationFrame(tick);
+            };
+            requestAnimationFrame(tick);
+            try {
+              f.observer = new PerformanceObserver(function (list) {
+                list.getEntries().forEach(function (t) { f.longTasks.push(t.duration); });
+              });
+              f.observer.observe({ type: 'longtask' });
+            } catch (e) {}
+            """;
+
+    private static final String STOP_SCRIPT = """
+            var f = window.__qaFrames;
+            if (!f) return null;
+            f.running = false;
+            if (f.observer) {
+              f.observer.takeRecords().forEach(function (t) { f.longTasks.push(t.duration); });
+              f.observer.disconnect();
+            }
+            delete window.__qaFrames;
+            return { frames: f.frames, longTasks: f.longTasks };
+            """;
+
+    private final WebDriver driver;
+    private final double jankFrameMs;
+
+    public FrameTimingCollector(WebDriver driver) {
+        this.driver = driver;
+        this.jankFrameMs = jankFrameMs();
+    }
+
+    public static double jankFrameMs() {
+        return Env.doubleValue("FPS_JANK_FRAME_MS", 50);
+    }
+
+    public void start() {
+        ((JavascriptExecutor) driver).executeScript(START_SCRIPT);
+    }
+
+    // No frames when the page navigated away mid-gesture (the loop lived in the old document)
+    public FrameTimingMetrics stop() {
+        Object raw = ((JavascriptExecutor) driver).executeScript(STOP_SCRIPT);
+        List<Double> frames = new ArrayList<>();
+        List<Double> longTasks = new ArrayList<>();
+        if (raw instanceof Map) {
+            numbers(((Map<?, ?>) raw).get("frames"), frames);
+            numbers(((Map<?, ?>) raw).get("longTasks"), longTasks);
+        }
+        return new FrameTimingMetrics(frames, longTasks, jankFrameMs);
+    }
+
+    private static void numbers(Object list, List<Double> out) {
+        if (!(list instanceof List)) return;
+        for (Object v : (List<?>) list) {
+            if (v instanceof Number) out.add(((Number) v).doubleValue());
+        }
+    }
+}
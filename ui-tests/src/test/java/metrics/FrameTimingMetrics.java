@@ -0,0 +1,124 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Frame pacing of one gesture (or several pooled), from requestAnimationFrame intervals and long tasks.
+ *
+ * FPS percentiles are the low end: p5Fps is the rate of the 95th-percentile frame, the one users feel.
+ * The refresh interval is estimated from the fastest frames (10th percentile, clamped to 4-34 ms), so a
+ * 120 Hz runner is not reported as dropping every other frame. A frame that took k intervals dropped k - 1.
+ * Jank is a frame longer than the jank threshold (FPS_JANK_FRAME_MS, default 50): a visible hitch.
+ */
+public final class FrameTimingMetrics {
+
+    public static final String FRAMES = "frames";
+    public static final String DURATION_MS = "durationMs";
+    public static final String AVG_FPS = "avgFps";
+    public static final String P50_FPS = "p50Fps";
+    public static final String P5_FPS = "p5Fps";
+    public static final String P1_FPS = "p1Fps";
+    public static final String P50_FRAME_MS = "p50FrameMs";
+    public static final String P95_FRAME_MS = "p95FrameMs";
+    public static final String P99_FRAME_MS = "p99FrameMs";
+    public static final String MAX_FRAME_MS = "maxFrameMs";
+    public static final String REFRESH_INTERVAL_MS = "refreshIntervalMs";
+    public static final String DROPPED_FRAMES = "droppedFrames";
+    public static final String DROPPED_FRAME_PCT = "droppedFramePct";
+    public static final String JANK_COUNT = "jankCount";
+    public static final String LONG_TASK_COUNT = "longTaskCount";
+    public static final String LONG_TASK_TOTAL_MS = "longTaskTotalMs";
+
+    private final List<Double> frameMs;
+    private final List<Double> longTaskMs;
+    private final double jankFrameMs;
+    private final Map<String, Double> values;
+
+    FrameTimingMetrics(List<Double> frameMs, List<Double> longTaskMs, double jankFrameMs) {
+        this.frameMs = Collections.unmodifiableList(new ArrayList<>(frameMs));
+        this.longTaskMs = Collections.unmodifiableList(new ArrayList<>(longTaskMs));
+        this.jankFrameMs = jankFrameMs;
+        this.values = Collections.unmodifiableMap(compute());
+    }
+
+    // All frames and long tasks of several runs as one distribution (percentiles of pooled frames, not of medians)
+    public static FrameTimingMetrics pool(List<FrameTimingMetrics> runs, double jankFrameMs) {
+        List<Double> frames = new ArrayList<>();
+        List<Double> longTasks = new ArrayList<>();
+        for (FrameTimingMetrics run : runs) {
+            frames.addAll(run.frameMs);
+            longTasks.addAll(run.longTaskMs);
+        }
+        return new FrameTimingMetrics(frames, longTasks, jankFrameMs);
+    }
+
+    private Map<String, Double> compute() {
+        Map<String, Double> m = new LinkedHashMap<>();
+        double total = 0;
+        for (double f : frameMs) total += f;
+        m.put(FRAMES, (double) frameMs.size());
+        m.put(DURATION_MS, round(total));
+        if (frameMs.isEmpty()) return m;
+
+        double p50 = PerfStats.percentile(frameMs, 0.50);
+        double p95 = PerfStats.percentile(frameMs, 0.95);
+        double p99 = PerfStats.percentile(frameMs, 0.99);
+        double interval = Math.max(4, Math.min(34, PerfStats.percentile(frameMs, 0.10)));
+        int dropped = 0;
+        int jank = 0;
+        double max = 0;
+        for (double f : frameMs) {
+            dropped += Math.max(0, (int) Math.round(f / interval) - 1);
+            if (f > jankFrameMs) jank++;
+            max = Math.max(max, f);
+        }
+        double longTaskTotal = 0;
+        for (double t : longTaskMs) longTaskTotal += t;
+
+        m.put(AVG_FPS, round(frameMs.size() * 1000.0 / total));
+        m.put(P50_FPS, round(1000 / p50));
+        m.put(P5_FPS, round(1000 / p95));
+        m.put(P1_FPS, round(1000 / p99));
+        m.put(P50_FRAME_MS, round(p50));
+        m.put(P95_FRAME_MS, round(p95));
+        m.put(P99_FRAME_MS, round(p99));
+        m.put(MAX_FRAME_MS, round(max));
+        m.put(REFRESH_INTERVAL_MS, round(interval));
+        m.put(DROPPED_FRAMES, (double) dropped);
+        m.put(DROPPED_FRAME_PCT, round(100.0 * dropped / (dropped + frameMs.size())));
+        m.put(JANK_COUNT, (double) jank);
+        m.put(LONG_TASK_COUNT, (double) longTaskMs.size());
+        m.put(LONG_TASK_TOTAL_MS, round(longTaskTotal));
+        return m;
+    }
+
+    public Map<String, Double> asMap() {
+        return values;
+    }
+
+    // -1 when not measured (no frames)
+    public double get(String metric) {
+        Double value = values.get(metric);
+        return value == null ? -1 : value;
+    }
+
+    public int getFrameCount() {
+        return frameMs.size();
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 10) / 10.0;
+    }
+
+    @Override
+    public String toString() {
+        if (frameMs.isEmpty()) return "no frames";
+        return String.format("%d frames, p50 %.0f fps, p5 %.0f fps, %.0f dropped (%.1f%%), %d jank, %d long tasks",
+                frameMs.size(), get(P50_FPS), get(P5_FPS), get(DROPPED_FRAMES), get(DROPPED_FRAME_PCT),
+                (int) get(JANK_COUNT), (int) get(LONG_TASK_COUNT));
+    }
+}
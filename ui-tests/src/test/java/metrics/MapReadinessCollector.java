@@ -0,0 +1,157 @@
+package metrics;
+
+import driver.Cdp;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import support.Env;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Timestamps three map readiness events from inside the page:
+ * - first marker element in the DOM
+ * - marker count unchanged for MAP_STABLE_QUIET_MS (default 1000); reported as the last change
+ * - Filters button visible, enabled and not covered (elementFromPoint hits it)
+ *
+ * The probe has to exist before the first marker renders, so install() registers it through CDP
+ * for every new document. Without CDP nothing can be timed and every metric stays -1.
+ *
+ * Usage: install() -> navigate -> await() -> uninstall()
+ */
+public class MapReadinessCollector {
+
+    private static final String PROBE_SCRIPT = """
+            (function () {
+              if (window.__qaMapReady) return;
+              var m = window.__qaMapReady = {
+                firstMarker: -1, markersStable: -1, filtersUsable: -1, markerCount: 0, lastChange: -1
+              };
+              var MARKERS = %s, QUIET_MS = %d, GIVE_UP_MS = 60000;
+
+              var filtersUsable = function () {
+                var buttons = document.getElementsByTagName('button');
+                for (var i = 0; i < buttons.length; i++) {
+                  var b = buttons[i];
+                  if (b.disabled || (b.textContent || '').indexOf('Filter') < 0) continue;
+                  var r = b.getBoundingClientRect();
+                  if (r.width === 0 || r.height === 0) continue;
+                  var hit = document.elementFromPoint(r.left + r.width / 2, r.top + r.height / 2);
+                  if (hit && (hit === b || b.contains(hit))) return true;
+                }
+                return false;
+              };
+
+              var check = function () {
+                var now = performance.now();
+                var n = document.querySelectorAll(MARKERS).length;
+                if (n > 0 && m.firstMarker < 0) m.firstMarker = now;
+                if (n !== m.markerCount) {
+                  m.markerCount = n;
+                  m.lastChange = now;
+                  m.markersStable = -1;
+                } else if (n > 0 && m.markersStable < 0 && now - m.lastChange >= QUIET_MS) {
+                  m.markersStable = m.lastChange;
+                }
+                if (m.filtersUsable < 0 && filtersUsable()) m.filtersUsable = now;
+              };
+
+              var pending = false;
+              var schedule = function () {
+                if (pending) return;
+                pending = true;
+                setTimeout(function () { pending = false; check(); }, 0);
+              };
+
+              var start = function () {
+                new MutationObserver(schedule).observe(document.documentElement,
+                    { childList: true, subtree: true, attributes: true, attributeFilter: ['class', 'src', 'disabled', 'style'] });
+                // Stability is the absence of mutations, so something has to keep looking
+                var timer = setInterval(function () {
+                  check();
+                  var done = m.firstMarker >= 0 && m.markersStable >= 0 && m.filtersUsable >= 0;
+                  if (done || performance.now() > GIVE_UP_MS) clearInterval(timer);
+                }, 100);
+                check();
+              };
+              if (document.documentElement) start();
+              else document.addEventListener('readystatechange', start, { once: true });
+            })();
+            """;
+
+    private static final String READ_SCRIPT = """
+            var m = window.__qaMapReady;
+            if (!m) return null;
+            return {
+              timeToFirstMarkerMs: m.firstMarker,
+              markersStableMs: m.markersStable,
+              filtersUsableMs: m.filtersUsable,
+              markerCount: m.markerCount
+            };
+            """;
+
+    private final WebDriver driver;
+    private final String probe;
+    private String scriptIdentifier;
+
+    /**
+     * @param markerCss what counts as a marker (PrivileeMapPage passes its marker locator CSS)
+     */
+    public MapReadinessCollector(WebDriver driver, String markerCss) {
+        this.driver = driver;
+        String quoted = "'" + markerCss.replace("\\", "\\\\").replace("'", "\\'") + "'";
+        this.probe = String.format(PROBE_SCRIPT, quoted, Env.intValue("MAP_STABLE_QUIET_MS", 1000));
+    }
+
+    public boolean install() {
+        if (!Cdp.isAvailable(driver)) return false;
+        Cdp.execute(driver, "Page.enable");
+        Map<String, Object> result = Cdp.execute(driver, "Page.addScriptToEvaluateOnNewDocument",
+                Map.of("source", probe));
+        Object id = result.get("identifier");
+        scriptIdentifier = id == null ? null : id.toString();
+        return scriptIdentifier != null;
+    }
+
+    // Current values, whatever has happened so far
+    public MapReadinessMetrics read() {
+        Object raw = ((JavascriptExecutor) driver).executeScript(READ_SCRIPT);
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (String key : new String[]{MapReadinessMetrics.TIME_TO_FIRST_MARKER_MS, MapReadinessMetrics.MARKERS_STABLE_MS,
+                MapReadinessMetrics.FILTERS_USABLE_MS, MapReadinessMetrics.MARKER_COUNT}) {
+            Object v = raw instanceof Map ? ((Map<?, ?>) raw).get(key) : null;
+            values.put(key, v instanceof Number ? ((Number) v).doubleValue() : -1);
+        }
+        return new MapReadinessMetrics(values);
+    }
+
+    /**
+     * Polls until all three events happened or timeoutMs passed; returns what was seen either way.
+     */
+    public MapReadinessMetrics await(long timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        MapReadinessMetrics metrics = read();
+        while (!metrics.isComplete() && scriptIdentifier != null && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            metrics = read();
+        }
+        return metrics;
+    }
+
+    // Pooled sessions are reused, so don't leave the probe behind
+    public void uninstall() {
+        if (scriptIdentifier == null) return;
+        try {
+            Cdp.execute(driver, "Page.removeScriptToEvaluateOnNewDocument",
+                    Map.of("identifier", scriptIdentifier));
+        } catch (Exception ignored) {
+        } finally {
+            scriptIdentifier = null;
+        }
+    }
+}
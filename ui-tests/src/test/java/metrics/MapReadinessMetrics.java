@@ -0,0 +1,68 @@
+package metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * User-perceived readiness of the map page, all times in ms from navigation start:
+ * when the first marker showed up, when the marker count stopped changing,
+ * and when the Filters control could actually be clicked.
+ */
+public final class MapReadinessMetrics {
+
+    public static final String TIME_TO_FIRST_MARKER_MS = "timeToFirstMarkerMs";
+    // Time of the last marker count change before a quiet window (see MapReadinessCollector)
+    public static final String MARKERS_STABLE_MS = "markersStableMs";
+    public static final String FILTERS_USABLE_MS = "filtersUsableMs";
+    public static final String MARKER_COUNT = "markerCount";
+
+    private final Map<String, Double> values;
+
+    MapReadinessMetrics(Map<String, Double> values) {
+        this.values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+    }
+
+    // -1 when the event never happened (or the probe could not be installed)
+    public double get(String metric) {
+        Double value = values.get(metric);
+        return value == null ? -1 : value;
+    }
+
+    public double getTimeToFirstMarkerMs() {
+        return get(TIME_TO_FIRST_MARKER_MS);
+    }
+
+    public double getMarkersStableMs() {
+        return get(MARKERS_STABLE_MS);
+    }
+
+    public double getFiltersUsableMs() {
+        return get(FILTERS_USABLE_MS);
+    }
+
+    public int getMarkerCount() {
+        return (int) Math.max(0, get(MARKER_COUNT));
+    }
+
+    // False when the probe never ran (no CDP): then every value is -1
+    public boolean isMeasured() {
+        return get(MARKER_COUNT) >= 0;
+    }
+
+    public boolean isComplete() {
+        return getTimeToFirstMarkerMs() >= 0 && getMarkersStableMs() >= 0 && getFiltersUsableMs() >= 0;
+    }
+
+    public Map<String, Double> asMap() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("MapReadinessMetrics{");
+        values.forEach((k, v) -> sb.append(k).append('=').append(Math.round(v)).append(", "));
+        if (!values.isEmpty()) sb.setLength(sb.length() - 2);
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,63 @@
+package metrics;
+
+import driver.Cdp;
+import org.openqa.selenium.WebDriver;
+import support.Log;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the page's memory counters through DevTools Performance.getMetrics: JSHeapUsedSize, JSHeapTotalSize,
+ * Nodes, JSEventListeners, Documents, Frames, LayoutCount, RecalcStyleCount, ...
+ *
+ * A garbage collection (HeapProfiler.collectGarbage) runs first by default, so the heap figure is what
+ * the page still holds on to rather than wherever the GC sawtooth happened to be.
+ */
+public final class MemoryCollector {
+
+    private final WebDriver driver;
+    private final boolean collectGarbage;
+    private boolean enabled;
+
+    public MemoryCollector(WebDriver driver, boolean collectGarbage) {
+        this.driver = driver;
+        this.collectGarbage = collectGarbage;
+    }
+
+    public Map<String, Double> sample() {
+        if (!enabled) {
+            Cdp.execute(driver, "Performance.enable");
+            enabled = true;
+        }
+        if (collectGarbage) {
+            try {
+                Cdp.execute(driver, "HeapProfiler.collectGarbage");
+            } catch (Exception e) {
+                Log.info("⚠️ Could not force GC before memory sample: " + e.getMessage());
+            }
+        }
+
+        Map<String, Double> values = new LinkedHashMap<>();
+        Object metrics = Cdp.execute(driver, "Performance.getMetrics").get("metrics");
+        if (metrics instanceof List) {
+            for (Object m : (List<?>) metrics) {
+                if (!(m instanceof Map)) continue;
+                Object name = ((Map<?, ?>) m).get("name");
+                Object value = ((Map<?, ?>) m).get("value");
+                if (name != null && value instanceof Number) values.put(name.toString(), ((Number) value).doubleValue());
+            }
+        }
+        return values;
+    }
+
+    public void stop() {
+        if (!enabled) return;
+        try {
+            Cdp.execute(driver, "Performance.disable");
+        } catch (Exception ignored) {
+        }
+        enabled = false;
+    }
+}
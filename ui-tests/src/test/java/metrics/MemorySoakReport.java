@@ -0,0 +1,126 @@
+package metrics;
+
+import support.Env;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Memory samples of a soak run, one per cycle (index 0 = right after page load), and their growth trend.
+ *
+ * The trend is the Theil-Sen slope per cycle over the samples after the warm-up cycles (first-use caches,
+ * lazily loaded chunks). Gauges (heap, nodes, listeners, documents) are fitted as sampled; cumulative
+ * counters (LayoutCount, RecalcStyleCount) are turned into per-cycle work first, so their trend says
+ * whether each cycle costs more layout than the one before.
+ *
+ * Budgets, per cycle, overridable:
+ *   SOAK_MAX_HEAP_KB_PER_CYCLE       JSHeapUsedSize     (default 100)
+ *   SOAK_MAX_NODES_PER_CYCLE         Nodes              (default 10)
+ *   SOAK_MAX_LISTENERS_PER_CYCLE     JSEventListeners   (default 5)
+ *   SOAK_MAX_DOCUMENTS_PER_CYCLE     Documents          (default 0.2)
+ */
+public final class MemorySoakReport {
+
+    private static final String[] COUNTERS = {"LayoutCount", "RecalcStyleCount"};
+
+    private final int warmupCycles;
+    private final Map<String, Double> budgets = new LinkedHashMap<>();
+    private final Map<String, List<Double>> series = new LinkedHashMap<>();
+    private int samples;
+
+    public MemorySoakReport(int warmupCycles) {
+        this.warmupCycles = Math.max(0, warmupCycles);
+        budgets.put("JSHeapUsedSize", Env.doubleValue("SOAK_MAX_HEAP_KB_PER_CYCLE", 100) * 1024);
+        budgets.put("Nodes", Env.doubleValue("SOAK_MAX_NODES_PER_CYCLE", 10));
+        budgets.put("JSEventListeners", Env.doubleValue("SOAK_MAX_LISTENERS_PER_CYCLE", 5));
+        budgets.put("Documents", Env.doubleValue("SOAK_MAX_DOCUMENTS_PER_CYCLE", 0.2));
+    }
+
+    public void record(Map<String, Double> sample) {
+        sample.forEach((name, value) -> {
+            List<Double> values = series.computeIfAbsent(name, k -> new ArrayList<>());
+            // A metric that appeared late is padded so indexes stay aligned with cycles
+            while (values.size() < samples) values.add(value);
+            values.add(value);
+        });
+        samples++;
+    }
+
+    public int getSamples() {
+        return samples;
+    }
+
+    // Samples the trend is fitted on
+    public int getFittedSamples() {
+        return Math.max(0, samples - warmupCycles - 1);
+    }
+
+    // Per-cycle slope of one metric (per-cycle deltas for cumulative counters); NaN without enough samples
+    public double slope(String metric) {
+        List<Double> values = series.get(metric);
+        if (values == null) return Double.NaN;
+        List<Double> fitted = values.subList(Math.min(values.size(), warmupCycles + 1), values.size());
+        if (isCounter(metric)) {
+            List<Double> deltas = new ArrayList<>();
+            for (int i = 1; i < fitted.size(); i++) deltas.add(fitted.get(i) - fitted.get(i - 1));
+            return PerfStats.theilSenSlope(deltas);
+        }
+        return PerfStats.theilSenSlope(fitted);
+    }
+
+    // "JSHeapUsedSize grows 412.3 KB/cycle (budget 100.0)" for every gauge over its budget
+    public List<String> violations() {
+        List<String> out = new ArrayList<>();
+        budgets.forEach((metric, budget) -> {
+            double slope = slope(metric);
+            if (!Double.isNaN(slope) && slope > budget) {
+                out.add(metric.equals("JSHeapUsedSize")
+                        ? String.format("%s grows %.1f KB/cycle (budget %.1f)", metric, slope / 1024, budget / 1024)
+                        : String.format("%s grows %.2f/cycle (budget %.2f)", metric, slope, budget));
+            }
+        });
+        return out;
+    }
+
+    public Map<String, Object> asMap() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("samples", samples);
+        m.put("warmupCycles", warmupCycles);
+        m.put("fittedSamples", getFittedSamples());
+
+        Map<String, Object> trends = new LinkedHashMap<>();
+        series.forEach((metric, values) -> {
+            Map<String, Object> t = new LinkedHashMap<>();
+            t.put("first", values.get(0));
+            t.put("last", values.get(values.size() - 1));
+            t.put("slopePerCycle", round(slope(metric)));
+            if (isCounter(metric)) t.put("slopeOf", "work per cycle");
+            if (budgets.containsKey(metric)) t.put("budgetPerCycle", budgets.get(metric));
+            trends.put(metric, t);
+        });
+        m.put("trends", trends);
+        m.put("violations", violations());
+        m.put("series", series);
+        return m;
+    }
+
+    // Heap in KB, the gated counters as they are
+    public String summary() {
+        return String.format("%d cycles: heap %.1f KB/cycle, nodes %.2f/cycle, listeners %.2f/cycle, layout work %+.2f/cycle%s",
+                samples - 1, slope("JSHeapUsedSize") / 1024, slope("Nodes"), slope("JSEventListeners"),
+                slope("LayoutCount"), violations().isEmpty() ? "" : "; over budget: " + violations());
+    }
+
+    private static boolean isCounter(String metric) {
+        for (String c : COUNTERS) {
+            if (c.equals(metric)) return true;
+        }
+        return false;
+    }
+
+    private static double round(double v) {
+        return Double.isNaN(v) ? v : Math.round(v * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,101 @@
+package metrics;
+
+import support.Env;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Upper bounds per metric. Each default can be overridden with PERF_MAX_<METRIC>,
+ * e.g. lcpMs -> PERF_MAX_LCP_MS, longTaskTotalMs -> PERF_MAX_LONG_TASK_TOTAL_MS.
+ */
+public final class MetricThresholds {
+
+    private final Map<String, Double> maxima;
+
+    private MetricThresholds(Map<String, Double> maxima) {
+        this.maxima = Collections.unmodifiableMap(maxima);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Budgets for the /map page on CI hardware; mapUsableMs keeps the original 6 s budget
+    public static MetricThresholds pageLoadDefaults() {
+        return builder()
+                .max(PageLoadMetrics.TTFB_MS, 1500)
+                .max(PageLoadMetrics.FCP_MS, 3000)
+                .max(PageLoadMetrics.LCP_MS, 4000)
+                .max(PageLoadMetrics.DOM_CONTENT_LOADED_MS, 5000)
+                .max(PageLoadMetrics.LOAD_EVENT_MS, 6000)
+                .max(PageLoadMetrics.MAP_USABLE_MS, 6000)
+                .max(PageLoadMetrics.TOTAL_BLOCKING_TIME_MS, 1000)
+                .max(PageLoadMetrics.RESOURCE_TRANSFER_BYTES, 15_000_000)
+                .build();
+    }
+
+    // User-perceived map readiness (see MapReadinessCollector)
+    public static MetricThresholds mapReadinessDefaults() {
+        return builder()
+                .max(MapReadinessMetrics.TIME_TO_FIRST_MARKER_MS, 5000)
+                .max(MapReadinessMetrics.MARKERS_STABLE_MS, 8000)
+                .max(MapReadinessMetrics.FILTERS_USABLE_MS, 4000)
+                .build();
+    }
+
+    // Map gestures on CI hardware: ~20 fps at the 95th-percentile frame, no frame over 100 ms at p99
+    public static MetricThresholds frameRateDefaults() {
+        return builder()
+                .max(FrameTimingMetrics.P95_FRAME_MS, 50)
+                .max(FrameTimingMetrics.P99_FRAME_MS, 100)
+                .max(FrameTimingMetrics.DROPPED_FRAME_PCT, 25)
+                .build();
+    }
+
+    public Map<String, Double> asMap() {
+        return maxima;
+    }
+
+    /**
+     * Every metric above its bound. Metrics the browser did not report (negative) are skipped.
+     */
+    public List<String> violations(Map<String, Double> values) {
+        List<String> violations = new ArrayList<>();
+        maxima.forEach((metric, max) -> {
+            Double value = values.get(metric);
+            if (value != null && value >= 0 && value > max) {
+                violations.add(metric + "=" + Math.round(value) + " exceeds " + Math.round(max));
+            }
+        });
+        return violations;
+    }
+
+    public static String envName(String metric) {
+        return "PERF_MAX_" + metric.replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase();
+    }
+
+    public static final class Builder {
+        private final Map<String, Double> maxima = new LinkedHashMap<>();
+
+        public Builder max(String metric, double defaultMax) {
+            String override = Env.string(envName(metric), null);
+            double value = defaultMax;
+            if (override != null) {
+                try {
+                    value = Double.parseDouble(override);
+                } catch (NumberFormatException ignored) {
+                }
+            }
+            maxima.put(metric, value);
+            return this;
+        }
+
+        public MetricThresholds build() {
+            return new MetricThresholds(new LinkedHashMap<>(maxima));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package metrics;
+
+import org.openqa.selenium.json.Json;
+import support.Log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Writes machine-readable run reports next to the screenshots:
+ * artifacts/selenium-reports/performance/<name>_<timestamp>.json (or another report dir)
+ */
+public final class MetricsReportWriter {
+
+    public static final Path REPORT_DIR = Path.of("artifacts", "selenium-reports", "performance");
+
+    private static final Json JSON = new Json();
+
+    private MetricsReportWriter() {
+    }
+
+    public static Path write(String name, Map<String, ?> report) {
+        return write(REPORT_DIR, name, report);
+    }
+
+    public static Path write(Path dir, String name, Map<String, ?> report) {
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss_SSS").format(new Date());
+        return writeTo(dir.resolve(safe(name) + "_" + timestamp + ".json"), report);
+    }
+
+    public static Path writeTo(Path target, Map<String, ?> report) {
+        try {
+            Files.createDirectories(target.getParent());
+            Files.writeString(target, JSON.toJson(report), StandardCharsets.UTF_8);
+            Log.info("📊 Metrics written: " + target);
+            return target;
+        } catch (IOException e) {
+            Log.info("⚠️ Could not write metrics report " + target + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * A companion file next to a written report, same name with another extension (e.g. the markdown
+     * table for CI summaries). Best effort like the report itself: null when it couldn't be written.
+     */
+    public static Path writeSidecar(Path report, String extension, CharSequence content, String what) {
+        Path target = report.resolveSibling(report.getFileName().toString().replaceFirst("\\.json$", "." + extension));
+        try {
+            Files.writeString(target, content, StandardCharsets.UTF_8);
+            return target;
+        } catch (IOException e) {
+            Log.info("⚠️ Could not write " + what + " " + target + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public static String safe(String name) {
+        return name.replaceAll("[^a-zA-Z0-9._-]", "_");
+    }
+}
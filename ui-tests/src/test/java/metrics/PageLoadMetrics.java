@@ -0,0 +1,52 @@
+package metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Browser-side load metrics for one navigation, all times in ms from navigation start.
+ */
+public final class PageLoadMetrics {
+
+    public static final String DNS_MS = "dnsMs";
+    public static final String CONNECT_MS = "connectMs";
+    public static final String TTFB_MS = "ttfbMs";
+    public static final String DOM_CONTENT_LOADED_MS = "domContentLoadedMs";
+    public static final String LOAD_EVENT_MS = "loadEventMs";
+    public static final String FIRST_PAINT_MS = "firstPaintMs";
+    public static final String FCP_MS = "fcpMs";
+    public static final String LCP_MS = "lcpMs";
+    public static final String LONG_TASK_COUNT = "longTaskCount";
+    public static final String LONG_TASK_TOTAL_MS = "longTaskTotalMs";
+    public static final String TOTAL_BLOCKING_TIME_MS = "totalBlockingTimeMs";
+    public static final String DOCUMENT_TRANSFER_BYTES = "documentTransferBytes";
+    public static final String RESOURCE_COUNT = "resourceCount";
+    public static final String RESOURCE_TRANSFER_BYTES = "resourceTransferBytes";
+    // Measured from the test side: driver.get() until the Filters anchor exists
+    public static final String MAP_USABLE_MS = "mapUsableMs";
+
+    private final Map<String, Double> values;
+
+    PageLoadMetrics(Map<String, Double> values) {
+        this.values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+    }
+
+    // -1 when the browser did not report the metric (e.g. no LCP entry yet)
+    public double get(String metric) {
+        Double value = values.get(metric);
+        return value == null ? -1 : value;
+    }
+
+    public Map<String, Double> asMap() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("PageLoadMetrics{");
+        values.forEach((k, v) -> sb.append(k).append('=').append(Math.round(v)).append(", "));
+        if (!values.isEmpty()) sb.setLength(sb.length() - 2);
+        return sb.append('}').toString();
+    }
+}
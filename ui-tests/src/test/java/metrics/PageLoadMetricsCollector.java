@@ -0,0 +1,114 @@
+package metrics;
+
+import driver.Cdp;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads Navigation Timing, paint timing, LCP, long tasks and transfer sizes from the browser.
+ *
+ * LCP and long tasks are only observable if an observer exists while the page loads,
+ * so install() registers one through CDP before navigation. Without CDP only navigation,
+ * paint and transfer metrics are reported (LCP / long tasks come back as -1 / 0).
+ *
+ * Usage: install() -> navigate -> collect() -> uninstall()
+ */
+public class PageLoadMetricsCollector {
+
+    private static final String OBSERVER_SCRIPT = """
+            (function () {
+              if (window.__qaPerf) return;
+              var perf = window.__qaPerf = { lcp: -1, longTaskCount: 0, longTaskTotal: 0, blocking: 0 };
+              try {
+                new PerformanceObserver(function (list) {
+                  var entries = list.getEntries();
+                  var last = entries[entries.length - 1];
+                  perf.lcp = last.renderTime || last.loadTime || last.startTime;
+                }).observe({ type: 'largest-contentful-paint', buffered: true });
+              } catch (e) {}
+              try {
+                new PerformanceObserver(function (list) {
+                  list.getEntries().forEach(function (t) {
+                    perf.longTaskCount++;
+                    perf.longTaskTotal += t.duration;
+                    perf.blocking += Math.max(0, t.duration - 50);
+                  });
+                }).observe({ type: 'longtask', buffered: true });
+              } catch (e) {}
+            })();
+            """;
+
+    private static final String COLLECT_SCRIPT = OBSERVER_SCRIPT + """
+            var perf = window.__qaPerf;
+            var nav = performance.getEntriesByType('navigation')[0] || {};
+            var paint = {};
+            performance.getEntriesByType('paint').forEach(function (p) { paint[p.name] = p.startTime; });
+            var resources = performance.getEntriesByType('resource');
+            var resourceBytes = 0;
+            resources.forEach(function (r) { resourceBytes += r.transferSize || 0; });
+            var span = function (a, b) { return (a && b) ? b - a : -1; };
+            return {
+              dnsMs: span(nav.domainLookupStart, nav.domainLookupEnd),
+              connectMs: span(nav.connectStart, nav.connectEnd),
+              ttfbMs: nav.responseStart || -1,
+              domContentLoadedMs: nav.domContentLoadedEventEnd || -1,
+              loadEventMs: nav.loadEventEnd || -1,
+              firstPaintMs: paint['first-paint'] !== undefined ? paint['first-paint'] : -1,
+              fcpMs: paint['first-contentful-paint'] !== undefined ? paint['first-contentful-paint'] : -1,
+              lcpMs: perf.lcp,
+              longTaskCount: perf.longTaskCount,
+              longTaskTotalMs: perf.longTaskTotal,
+              totalBlockingTimeMs: perf.blocking,
+              documentTransferBytes: nav.transferSize || 0,
+              resourceCount: resources.length,
+              resourceTransferBytes: resourceBytes
+            };
+            """;
+
+    private final WebDriver driver;
+    private String scriptIdentifier;
+
+    public PageLoadMetricsCollector(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    // Register the observers for every document loaded from now on
+    public void install() {
+        if (!Cdp.isAvailable(driver)) return;
+        Cdp.execute(driver, "Page.enable");
+        Map<String, Object> result = Cdp.execute(driver, "Page.addScriptToEvaluateOnNewDocument",
+                Map.of("source", OBSERVER_SCRIPT));
+        Object id = result.get("identifier");
+        scriptIdentifier = id == null ? null : id.toString();
+    }
+
+    /**
+     * @param mapUsableMs wall-clock time from navigation until the map UI anchor existed (test-side)
+     */
+    public PageLoadMetrics collect(long mapUsableMs) {
+        Object raw = ((JavascriptExecutor) driver).executeScript(COLLECT_SCRIPT);
+        Map<String, Double> values = new LinkedHashMap<>();
+        if (raw instanceof Map) {
+            ((Map<?, ?>) raw).forEach((k, v) -> {
+                if (v instanceof Number) values.put(k.toString(), ((Number) v).doubleValue());
+            });
+        }
+        values.put(PageLoadMetrics.MAP_USABLE_MS, (double) mapUsableMs);
+        return new PageLoadMetrics(values);
+    }
+
+    // Pooled sessions are reused, so don't leave the observer script behind
+    public void uninstall() {
+        if (scriptIdentifier == null) return;
+        try {
+            Cdp.execute(driver, "Page.removeScriptToEvaluateOnNewDocument",
+                    Map.of("identifier", scriptIdentifier));
+        } catch (Exception ignored) {
+        } finally {
+            scriptIdentifier = null;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The few statistics the regression gate needs: order statistics and a one-sided
+ * Mann-Whitney U test (no normality assumption - page load times are anything but normal).
+ * Plus a Theil-Sen slope for the memory soak trend.
+ */
+public final class PerfStats {
+
+    private PerfStats() {
+    }
+
+    public static double median(Collection<Double> values) {
+        return percentile(values, 0.5);
+    }
+
+    /**
+     * Median per metric over the reported (non-negative) samples; -1 if no sample reported the metric.
+     */
+    public static Map<String, Double> medians(Map<String, List<Double>> samples) {
+        Map<String, Double> medians = new LinkedHashMap<>();
+        samples.forEach((metric, values) -> {
+            List<Double> reported = new ArrayList<>();
+            for (Double v : values) {
+                if (v != null && v >= 0) reported.add(v);
+            }
+            medians.put(metric, reported.isEmpty() ? -1 : median(reported));
+        });
+        return medians;
+    }
+
+    // Linear interpolation between closest ranks; NaN for no values
+    public static double percentile(Collection<Double> values, double quantile) {
+        if (values.isEmpty()) return Double.NaN;
+        double[] sorted = sorted(values);
+        double pos = quantile * (sorted.length - 1);
+        int lo = (int) Math.floor(pos);
+        int hi = (int) Math.ceil(pos);
+        return sorted[lo] + (sorted[hi] - sorted[lo]) * (pos - lo);
+    }
+
+    /**
+     * P-value for "current is stochastically greater than baseline" (i.e. slower).
+     * Normal approximation with tie and continuity correction; fine from ~5 samples per side.
+     */
+    public static double mannWhitneyGreaterP(Collection<Double> current, Collection<Double> baseline) {
+        int n1 = current.size();
+        int n2 = baseline.size();
+        if (n1 == 0 || n2 == 0) return 1.0;
+
+        // Rank the pooled samples, averaging ranks across ties
+        List<double[]> pooled = new ArrayList<>(n1 + n2);
+        for (double v : current) pooled.add(new double[]{v, 1});
+        for (double v : baseline) pooled.add(new double[]{v, 0});
+        pooled.sort((a, b) -> Double.compare(a[0], b[0]));
+
+        int n = n1 + n2;
+        double rankSumCurrent = 0;
+        double tieTerm = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j + 1 < n && pooled.get(j + 1)[0] == pooled.get(i)[0]) j++;
+            double rank = (i + j) / 2.0 + 1;
+            for (int k = i; k <= j; k++) {
+                if (pooled.get(k)[1] == 1) rankSumCurrent += rank;
+            }
+            int t = j - i + 1;
+            tieTerm += (double) t * t * t - t;
+            i = j + 1;
+        }
+
+        double u = rankSumCurrent - n1 * (n1 + 1) / 2.0;
+        double mean = n1 * (double) n2 / 2.0;
+        double variance = n1 * (double) n2 / 12.0 * ((n + 1) - tieTerm / ((double) n * (n - 1)));
+        if (variance <= 0) return 1.0;
+        double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return 1.0 - normalCdf(z);
+    }
+
+    /**
+     * Theil-Sen estimate of the per-step slope of values[0], values[1], ...: the median of all pairwise
+     * slopes. A GC sawtooth or a single outlier barely moves it, unlike least squares. NaN below 2 values.
+     */
+    public static double theilSenSlope(List<Double> values) {
+        int n = values.size();
+        if (n < 2) return Double.NaN;
+        List<Double> slopes = new ArrayList<>(n * (n - 1) / 2);
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                slopes.add((values.get(j) - values.get(i)) / (j - i));
+            }
+        }
+        return median(slopes);
+    }
+
+    static double normalCdf(double z) {
+        return 0.5 * (1 + erf(z / Math.sqrt(2)));
+    }
+
+    // Abramowitz & Stegun 7.1.26, |error| < 1.5e-7
+    private static double erf(double x) {
+        double sign = Math.signum(x);
+        x = Math.abs(x);
+        double t = 1 / (1 + 0.3275911 * x);
+        double y = 1 - (((((1.061405429 * t - 1.453152027) * t) + 1.421413741) * t - 0.284496736) * t
+                + 0.254829592) * t * Math.exp(-x * x);
+        return sign * y;
+    }
+
+    private static double[] sorted(Collection<Double> values) {
+        double[] a = new double[values.size()];
+        int i = 0;
+        for (double v : values) a[i++] = v;
+        Arrays.sort(a);
+        return a;
+    }
+}
@@ -0,0 +1,39 @@
+package metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * The statistics behind the regression gate and the soak trend, against known values.
+ * The expected p-values are R's wilcox.test(current, baseline, alternative = "greater", exact = FALSE).
+ */
+public class PerfStatsTest {
+
+    private static final List<Double> LOW = List.of(1.0, 2.0, 3.0, 4.0, 5.0);
+    private static final List<Double> HIGH = List.of(6.0, 7.0, 8.0, 9.0, 10.0);
+
+    @Test
+    public void mannWhitneyShouldMatchKnownPValues() {
+        Assert.assertEquals(PerfStats.mannWhitneyGreaterP(HIGH, LOW), 0.006093, 1e-5);
+        Assert.assertEquals(PerfStats.mannWhitneyGreaterP(LOW, HIGH), 0.996692, 1e-5);
+        // Every value tied once across the samples
+        Assert.assertEquals(PerfStats.mannWhitneyGreaterP(LOW, LOW), 0.542235, 1e-5);
+    }
+
+    @Test
+    public void mannWhitneyShouldNotFlagWithoutEvidence() {
+        Assert.assertEquals(PerfStats.mannWhitneyGreaterP(List.of(), LOW), 1.0);
+        Assert.assertEquals(PerfStats.mannWhitneyGreaterP(List.of(3.0, 3.0, 3.0), List.of(3.0, 3.0, 3.0)), 1.0);
+    }
+
+    @Test
+    public void theilSenShouldIgnoreOutliers() {
+        Assert.assertEquals(PerfStats.theilSenSlope(List.of(10.0, 12.0, 14.0, 16.0, 18.0)), 2.0, 1e-9);
+        Assert.assertEquals(PerfStats.theilSenSlope(List.of(0.0, 1.0, 2.0, 3.0, 100.0, 5.0, 6.0)), 1.0, 1e-9);
+        // A GC sawtooth on a flat heap
+        Assert.assertEquals(PerfStats.theilSenSlope(List.of(50.0, 80.0, 50.0, 80.0, 50.0, 80.0, 50.0)), 0.0, 1e-9);
+        Assert.assertTrue(Double.isNaN(PerfStats.theilSenSlope(List.of(1.0))));
+    }
+}
@@ -0,0 +1,69 @@
+package metrics;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Median / p95 per run for each metric, baseline runs first and this run last,
+ * written as <name>-trend_<timestamp>.json plus a markdown table next to it for CI summaries.
+ */
+public final class PerfTrendReport {
+
+    private PerfTrendReport() {
+    }
+
+    public static Path write(String name, Map<String, List<Double>> current,
+                             Map<String, List<BaselineStore.RunSamples>> history, List<RegressionGate.Verdict> verdicts) {
+        Map<String, Object> trends = new LinkedHashMap<>();
+        StringBuilder md = new StringBuilder("# ").append(name).append(" trend\n");
+
+        current.forEach((metric, samples) -> {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (BaselineStore.RunSamples run : history.getOrDefault(metric, List.of())) {
+                rows.add(row(run.getRun(), run.getCommit(), run.getValues()));
+            }
+            rows.add(row(BaselineStore.runId(), BaselineStore.commit(), samples));
+            trends.put(metric, rows);
+
+            md.append("\n## ").append(metric).append("\n\n| run | commit | n | median | p95 |\n|---|---|---|---|---|\n");
+            for (Map<String, Object> r : rows) {
+                md.append("| ").append(r.get("run")).append(" | ").append(r.get("commit")).append(" | ")
+                        .append(r.get("samples")).append(" | ").append(r.get("median")).append(" | ")
+                        .append(r.get("p95")).append(" |\n");
+            }
+        });
+
+        if (!verdicts.isEmpty()) {
+            md.append("\n## Verdicts\n\n");
+            for (RegressionGate.Verdict v : verdicts) md.append("- ").append(v).append('\n');
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("name", name);
+        report.put("run", BaselineStore.runId());
+        report.put("commit", BaselineStore.commit());
+        report.put("timestamp", System.currentTimeMillis());
+        report.put("trends", trends);
+        List<Map<String, Object>> verdictMaps = new ArrayList<>();
+        for (RegressionGate.Verdict v : verdicts) verdictMaps.add(v.asMap());
+        report.put("verdicts", verdictMaps);
+
+        Path json = MetricsReportWriter.write(name + "-trend", report);
+        if (json != null) MetricsReportWriter.writeSidecar(json, "md", md, "trend table");
+        return json;
+    }
+
+    private static Map<String, Object> row(String run, String commit, List<Double> values) {
+        List<Double> valid = RegressionGate.valid(values);
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("run", run);
+        row.put("commit", commit);
+        row.put("samples", valid.size());
+        row.put("median", valid.isEmpty() ? null : Math.round(PerfStats.median(valid)));
+        row.put("p95", valid.isEmpty() ? null : Math.round(PerfStats.percentile(valid, 0.95)));
+        return row;
+    }
+}
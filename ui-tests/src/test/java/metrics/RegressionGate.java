@@ -0,0 +1,159 @@
+package metrics;
+
+import support.Env;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares this run's samples with the rolling baseline from {@link BaselineStore}.
+ *
+ * A timing metric (name ends in "Ms") is a REGRESSION only when all three hold:
+ * - one-sided Mann-Whitney p-value below PERF_REGRESSION_ALPHA (default 0.01)
+ * - median grew by more than PERF_REGRESSION_MIN_PCT percent (default 10)
+ * - median grew by more than PERF_REGRESSION_MIN_MS (default 50)
+ * so a noisy CI box, or a statistically real but irrelevant 3 ms shift, does not fail the build.
+ * With fewer than PERF_BASELINE_MIN_SAMPLES (default 10) baseline samples the verdict is NO_BASELINE.
+ */
+public final class RegressionGate {
+
+    public enum Status { REGRESSION, IMPROVED, OK, NO_BASELINE }
+
+    private final double alpha;
+    private final double minPct;
+    private final double minMs;
+    private final int minBaselineSamples;
+
+    public RegressionGate(double alpha, double minPct, double minMs, int minBaselineSamples) {
+        this.alpha = alpha;
+        this.minPct = minPct;
+        this.minMs = minMs;
+        this.minBaselineSamples = minBaselineSamples;
+    }
+
+    public static RegressionGate fromEnv() {
+        return new RegressionGate(
+                Env.doubleValue("PERF_REGRESSION_ALPHA", 0.01),
+                Env.doubleValue("PERF_REGRESSION_MIN_PCT", 10),
+                Env.doubleValue("PERF_REGRESSION_MIN_MS", 50),
+                Env.intValue("PERF_BASELINE_MIN_SAMPLES", 10));
+    }
+
+    public List<Verdict> evaluate(Map<String, List<Double>> current, Map<String, List<BaselineStore.RunSamples>> history) {
+        List<Verdict> verdicts = new ArrayList<>();
+        current.forEach((metric, samples) -> {
+            if (!metric.endsWith("Ms")) return;
+            List<Double> now = valid(samples);
+            if (now.isEmpty()) return;
+            List<Double> baseline = new ArrayList<>();
+            for (BaselineStore.RunSamples run : history.getOrDefault(metric, List.of())) baseline.addAll(valid(run.getValues()));
+            verdicts.add(verdict(metric, now, baseline));
+        });
+        return verdicts;
+    }
+
+    private Verdict verdict(String metric, List<Double> now, List<Double> baseline) {
+        Verdict v = new Verdict(metric, now, baseline);
+        if (baseline.size() < minBaselineSamples) {
+            v.status = Status.NO_BASELINE;
+            return v;
+        }
+        double delta = v.currentMedian - v.baselineMedian;
+        v.deltaPct = v.baselineMedian > 0 ? delta / v.baselineMedian * 100 : 0;
+        double slower = PerfStats.mannWhitneyGreaterP(now, baseline);
+        double faster = PerfStats.mannWhitneyGreaterP(baseline, now);
+        if (slower < alpha && v.deltaPct > minPct && delta > minMs) {
+            v.status = Status.REGRESSION;
+            v.pValue = slower;
+        } else if (faster < alpha && -v.deltaPct > minPct && -delta > minMs) {
+            v.status = Status.IMPROVED;
+            v.pValue = faster;
+        } else {
+            v.status = Status.OK;
+            v.pValue = slower;
+        }
+        return v;
+    }
+
+    public static List<String> regressions(List<Verdict> verdicts) {
+        List<String> regressions = new ArrayList<>();
+        for (Verdict v : verdicts) {
+            if (v.status == Status.REGRESSION) regressions.add(v.toString());
+        }
+        return regressions;
+    }
+
+    static List<Double> valid(List<Double> values) {
+        List<Double> valid = new ArrayList<>(values.size());
+        for (Double v : values) {
+            if (v != null && v >= 0 && !v.isNaN()) valid.add(v);
+        }
+        return valid;
+    }
+
+    public static final class Verdict {
+        private final String metric;
+        private final int currentSamples;
+        private final int baselineSamples;
+        private final double currentMedian;
+        private final double currentP95;
+        private final double baselineMedian;
+        private final double baselineP95;
+        private double deltaPct = Double.NaN;
+        private double pValue = Double.NaN;
+        private Status status;
+
+        Verdict(String metric, List<Double> current, List<Double> baseline) {
+            this.metric = metric;
+            this.currentSamples = current.size();
+            this.baselineSamples = baseline.size();
+            this.currentMedian = PerfStats.median(current);
+            this.currentP95 = PerfStats.percentile(current, 0.95);
+            this.baselineMedian = PerfStats.median(baseline);
+            this.baselineP95 = PerfStats.percentile(baseline, 0.95);
+        }
+
+        public String getMetric() {
+            return metric;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public double getPValue() {
+            return pValue;
+        }
+
+        public Map<String, Object> asMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("metric", metric);
+            map.put("status", status.name());
+            map.put("currentSamples", currentSamples);
+            map.put("currentMedian", round(currentMedian));
+            map.put("currentP95", round(currentP95));
+            map.put("baselineSamples", baselineSamples);
+            map.put("baselineMedian", round(baselineMedian));
+            map.put("baselineP95", round(baselineP95));
+            map.put("deltaPct", round(deltaPct));
+            map.put("pValue", Double.isNaN(pValue) ? null : pValue);
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            if (status == Status.NO_BASELINE) {
+                return metric + " median " + Math.round(currentMedian) + " (baseline has " + baselineSamples
+                        + " samples, need more)";
+            }
+            return String.format("%s median %d vs baseline %d (%+.1f%%, p=%.4f) %s", metric,
+                    Math.round(currentMedian), Math.round(baselineMedian), deltaPct, pValue, status);
+        }
+
+        private static Object round(double v) {
+            return Double.isNaN(v) ? null : Math.round(v * 10) / 10.0;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package metrics;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One row per network x CPU x viewport cell with the median of every metric, written as
+ * <name>_<timestamp>.json plus a markdown grid of the GRID_COLUMNS next to it for CI summaries.
+ */
+public final class ThrottleMatrixReport {
+
+    public static final String FIRST_FILTER_RESPONSE_MS = "firstFilterResponseMs";
+
+    private static final String[] GRID_COLUMNS = {
+            PageLoadMetrics.TTFB_MS, PageLoadMetrics.FCP_MS, PageLoadMetrics.LCP_MS, PageLoadMetrics.MAP_USABLE_MS,
+            PageLoadMetrics.TOTAL_BLOCKING_TIME_MS, FIRST_FILTER_RESPONSE_MS
+    };
+
+    private final List<Map<String, Object>> cells = new ArrayList<>();
+
+    public void add(String network, double cpuSlowdown, String viewport, Map<String, List<Double>> samples,
+                    List<RegressionGate.Verdict> verdicts) {
+        Map<String, Object> cell = new LinkedHashMap<>();
+        cell.put("cell", cellId(network, cpuSlowdown, viewport));
+        cell.put("network", network);
+        cell.put("cpuSlowdown", cpuSlowdown);
+        cell.put("viewport", viewport);
+        cell.put("metrics", PerfStats.medians(samples));
+        cell.put("samples", samples);
+        List<Map<String, Object>> verdictMaps = new ArrayList<>();
+        for (RegressionGate.Verdict v : verdicts) verdictMaps.add(v.asMap());
+        cell.put("baseline", verdictMaps);
+        cell.put("regressions", RegressionGate.regressions(verdicts));
+        cells.add(cell);
+    }
+
+    // A cell that couldn't be measured: listed in the grid with "-" and the reason in the JSON
+    public void addSkipped(String network, double cpuSlowdown, String viewport, String reason) {
+        Map<String, Object> cell = new LinkedHashMap<>();
+        cell.put("cell", cellId(network, cpuSlowdown, viewport));
+        cell.put("network", network);
+        cell.put("cpuSlowdown", cpuSlowdown);
+        cell.put("viewport", viewport);
+        cell.put("metrics", Map.of());
+        cell.put("skipped", reason);
+        cells.add(cell);
+    }
+
+    public boolean hasMeasuredCells() {
+        return cells.stream().anyMatch(c -> !c.containsKey("skipped"));
+    }
+
+    // "4g/cpu4x/mobile"
+    public static String cellId(String network, double cpuSlowdown, String viewport) {
+        return network + "/cpu" + factor(cpuSlowdown) + "x/" + viewport;
+    }
+
+    // 4.0 -> "4", 1.5 -> "1.5"
+    private static String factor(double cpuSlowdown) {
+        return cpuSlowdown == Math.rint(cpuSlowdown) ? String.valueOf((long) cpuSlowdown) : String.valueOf(cpuSlowdown);
+    }
+
+    public List<Map<String, Object>> getCells() {
+        return cells;
+    }
+
+    public Path write(String name, Map<String, Object> extra) {
+        Map<String, Object> report = new LinkedHashMap<>(extra);
+        report.put("cells", cells);
+        Path json = MetricsReportWriter.write(name, report);
+        if (json == null) return null;
+
+        StringBuilder md = new StringBuilder("# Throttling matrix\n\n| network | cpu | viewport |");
+        for (String c : GRID_COLUMNS) md.append(' ').append(c).append(" |");
+        md.append("\n|---|---|---|");
+        for (int i = 0; i < GRID_COLUMNS.length; i++) md.append("---|");
+        md.append('\n');
+        for (Map<String, Object> cell : cells) {
+            Map<?, ?> metrics = (Map<?, ?>) cell.get("metrics");
+            md.append("| ").append(cell.get("network")).append(" | ").append(factor((Double) cell.get("cpuSlowdown"))).append("x | ")
+                    .append(cell.get("viewport")).append(" |");
+            for (String c : GRID_COLUMNS) {
+                Object v = metrics.get(c);
+                md.append(' ').append(v instanceof Double && (Double) v >= 0 ? String.valueOf(Math.round((Double) v)) : "-").append(" |");
+            }
+            md.append('\n');
+        }
+        MetricsReportWriter.writeSidecar(json, "md", md, "throttling grid");
+        return json;
+    }
+}
@@ -0,0 +1,278 @@
+package network;
+
+import driver.Cdp;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import support.Log;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * DevTools network layer for one test: blocks requests matching the class's NetworkPolicy
+ * (via Fetch interception, so the allow list can override) and optionally records every
+ * request with DNS / connect / TLS / TTFB / download timings and sizes.
+ *
+ * Only URLs matching a block pattern are paused by Fetch; everything else flows untouched.
+ */
+public class NetworkMonitor {
+
+    private final DevTools devTools;
+    private final List<String> blockPatterns;
+    private final List<Pattern> allowPatterns;
+    private final boolean capture;
+
+    private final Map<String, RequestRecord> records = new LinkedHashMap<>();
+    private final AtomicInteger blocked = new AtomicInteger();
+    private volatile boolean active = true;
+
+    private NetworkMonitor(DevTools devTools, List<String> blockPatterns, List<String> allowPatterns, boolean capture) {
+        this.devTools = devTools;
+        this.blockPatterns = blockPatterns;
+        this.allowPatterns = allowPatterns.stream().map(NetworkMonitor::wildcard).collect(Collectors.toList());
+        this.capture = capture;
+    }
+
+    /**
+     * @return a running monitor, or null when there is nothing to block or capture (or no DevTools)
+     */
+    public static NetworkMonitor start(WebDriver driver, NetworkPolicy policy, boolean forceCapture, boolean blockingEnabled) {
+        Set<String> block = new LinkedHashSet<>();
+        List<String> allow = new ArrayList<>();
+        boolean capture = forceCapture;
+
+        if (policy != null) {
+            if (blockingEnabled) {
+                for (ThirdParty group : policy.block()) block.addAll(List.of(group.patterns()));
+                block.addAll(List.of(policy.blockUrls()));
+            }
+            allow.addAll(List.of(policy.allowUrls()));
+            capture |= policy.capture();
+        }
+        if (block.isEmpty() && !capture) return null;
+
+        if (!Cdp.hasDevTools(driver)) {
+            Log.info("⚠️ Network policy ignored: browser has no DevTools support");
+            return null;
+        }
+
+        NetworkMonitor monitor = new NetworkMonitor(Cdp.devTools(driver), new ArrayList<>(block), allow, capture);
+        monitor.enable();
+        return monitor;
+    }
+
+    private void enable() {
+        if (capture) {
+            devTools.addListener(Cdp.event("Network.requestWillBeSent"), this::onRequest);
+            devTools.addListener(Cdp.event("Network.responseReceived"), this::onResponse);
+            devTools.addListener(Cdp.event("Network.requestServedFromCache"), e -> update(e, r -> r.fromCache = true));
+            devTools.addListener(Cdp.event("Network.loadingFinished"), this::onFinished);
+            devTools.addListener(Cdp.event("Network.loadingFailed"), this::onFailed);
+            Cdp.send(devTools, "Network.enable");
+        }
+        if (!blockPatterns.isEmpty()) {
+            devTools.addListener(Cdp.event("Fetch.requestPaused"), this::onPaused);
+            List<Map<String, Object>> patterns = new ArrayList<>();
+            for (String p : blockPatterns) patterns.add(Map.of("urlPattern", p, "requestStage", "Request"));
+            Cdp.send(devTools, "Fetch.enable", Map.of("patterns", patterns));
+        }
+    }
+
+    public void stop() {
+        if (!active) return;
+        active = false;
+        try {
+            if (!blockPatterns.isEmpty()) Cdp.send(devTools, "Fetch.disable");
+            if (capture) Cdp.send(devTools, "Network.disable");
+        } catch (Exception ignored) {
+            // Session already gone; the pool reset clears listeners anyway
+        }
+    }
+
+    public boolean isCapturing() {
+        return capture;
+    }
+
+    public int getBlockedCount() {
+        return blocked.get();
+    }
+
+    public List<RequestRecord> getRecords() {
+        synchronized (records) {
+            return new ArrayList<>(records.values());
+        }
+    }
+
+    /* ============================
+       Event handlers
+       ============================ */
+
+    private void onPaused(Map<String, Object> event) {
+        String requestId = (String) event.get("requestId");
+        Map<?, ?> request = (Map<?, ?>) event.get("request");
+        String url = request == null ? "" : String.valueOf(request.get("url"));
+        try {
+            if (!active || isAllowed(url)) {
+                Cdp.send(devTools, "Fetch.continueRequest", Map.of("requestId", requestId));
+            } else {
+                blocked.incrementAndGet();
+                Cdp.send(devTools, "Fetch.failRequest", Map.of("requestId", requestId, "errorReason", "BlockedByClient"));
+            }
+        } catch (Exception ignored) {
+            // Page navigated away while the request was paused
+        }
+    }
+
+    private void onRequest(Map<String, Object> event) {
+        if (!active) return;
+        String id = (String) event.get("requestId");
+        Map<?, ?> request = (Map<?, ?>) event.get("request");
+        synchronized (records) {
+            // Redirects reuse the requestId; keep the first start time, follow the final URL
+            RequestRecord r = records.computeIfAbsent(id, RequestRecord::new);
+            if (r.startedAt == 0) r.startedAt = number(event.get("timestamp"));
+            if (request != null) {
+                r.url = String.valueOf(request.get("url"));
+                r.method = String.valueOf(request.get("method"));
+            }
+            Object type = event.get("type");
+            if (type != null) r.resourceType = type.toString();
+        }
+    }
+
+    private void onResponse(Map<String, Object> event) {
+        Map<?, ?> response = (Map<?, ?>) event.get("response");
+        if (response == null) return;
+        update(event, r -> {
+            r.status = (int) number(response.get("status"));
+            r.mimeType = String.valueOf(response.get("mimeType"));
+            if (Boolean.TRUE.equals(response.get("fromDiskCache"))) r.fromCache = true;
+
+            Map<?, ?> t = (Map<?, ?>) response.get("timing");
+            if (t == null) return;
+            r.dnsMs = span(t, "dnsStart", "dnsEnd");
+            r.connectMs = span(t, "connectStart", "connectEnd");
+            r.sslMs = span(t, "sslStart", "sslEnd");
+            r.ttfbMs = span(t, "sendEnd", "receiveHeadersEnd");
+            r.headersReceivedAt = number(t.get("requestTime")) + number(t.get("receiveHeadersEnd")) / 1000.0;
+        });
+    }
+
+    private void onFinished(Map<String, Object> event) {
+        update(event, r -> {
+            r.finishedAt = number(event.get("timestamp"));
+            r.encodedBytes = (long) number(event.get("encodedDataLength"));
+            if (r.headersReceivedAt > 0) r.downloadMs = (r.finishedAt - r.headersReceivedAt) * 1000;
+        });
+    }
+
+    private void onFailed(Map<String, Object> event) {
+        update(event, r -> {
+            r.finishedAt = number(event.get("timestamp"));
+            r.error = String.valueOf(event.get("errorText"));
+            if (event.get("blockedReason") != null || r.error.contains("BLOCKED_BY_CLIENT")) r.blocked = true;
+        });
+    }
+
+    private void update(Map<String, Object> event, Consumer<RequestRecord> change) {
+        if (!active) return;
+        String id = (String) event.get("requestId");
+        synchronized (records) {
+            RequestRecord r = records.get(id);
+            if (r != null) change.accept(r);
+        }
+    }
+
+    /* ============================
+       Summary
+       ============================ */
+
+    public Map<String, Object> summary(int top) {
+        List<RequestRecord> all = getRecords();
+        long bytes = all.stream().mapToLong(RequestRecord::getEncodedBytes).sum();
+
+        Map<String, Long> bytesByType = new TreeMap<>();
+        Map<String, Long> bytesByHost = new TreeMap<>();
+        for (RequestRecord r : all) {
+            bytesByType.merge(r.getResourceType(), r.getEncodedBytes(), Long::sum);
+            bytesByHost.merge(r.getHost(), r.getEncodedBytes(), Long::sum);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", all.size());
+        summary.put("blocked", Math.max(blocked.get(), (int) all.stream().filter(RequestRecord::isBlocked).count()));
+        summary.put("failed", all.stream().filter(r -> r.error != null && !r.blocked).count());
+        summary.put("encodedBytes", bytes);
+        summary.put("bytesByType", bytesByType);
+        summary.put("bytesByHost", topEntries(bytesByHost, top));
+        summary.put("slowest", all.stream()
+                .filter(RequestRecord::isFinished)
+                .sorted(Comparator.comparingDouble(RequestRecord::getTotalMs).reversed())
+                .limit(top)
+                .map(r -> Math.round(r.getTotalMs()) + "ms " + r.getUrl())
+                .collect(Collectors.toList()));
+        return summary;
+    }
+
+    public String summaryText(int top) {
+        Map<String, Object> s = summary(top);
+        StringBuilder sb = new StringBuilder("Network: ")
+                .append(s.get("requests")).append(" requests, ")
+                .append(s.get("blocked")).append(" blocked, ")
+                .append(s.get("failed")).append(" failed, ")
+                .append(Math.round(((Number) s.get("encodedBytes")).longValue() / 1024.0)).append(" KB");
+        Object slowest = s.get("slowest");
+        if (slowest instanceof List && !((List<?>) slowest).isEmpty()) {
+            sb.append("; slowest: ").append(String.join(" | ", ((List<?>) slowest).stream()
+                    .map(Object::toString).collect(Collectors.toList())));
+        }
+        return sb.toString();
+    }
+
+    private boolean isAllowed(String url) {
+        for (Pattern p : allowPatterns) {
+            if (p.matcher(url).matches()) return true;
+        }
+        return false;
+    }
+
+    private static Map<String, Long> topEntries(Map<String, Long> map, int top) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        map.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(top)
+                .forEach(e -> result.put(e.getKey(), e.getValue()));
+        return result;
+    }
+
+    // Same wildcard syntax DevTools uses for Fetch patterns: * any run, ? single char
+    public static Pattern wildcard(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*') regex.append(".*");
+            else if (c == '?') regex.append('.');
+            else regex.append(Pattern.quote(String.valueOf(c)));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static double span(Map<?, ?> timing, String startKey, String endKey) {
+        double start = number(timing.get(startKey));
+        double end = number(timing.get(endKey));
+        return (start >= 0 && end >= 0 && timing.get(startKey) != null && timing.get(endKey) != null) ? end - start : -1;
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+}
@@ -0,0 +1,30 @@
+package network;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Per test class network rules, applied by BaseTest through DevTools.
+ *
+ *   @NetworkPolicy(block = {ThirdParty.ANALYTICS, ThirdParty.FONTS})
+ *
+ * allowUrls wins over block / blockUrls. capture=true records every request
+ * (timings + sizes) and adds a summary to the TestNG report.
+ * NETWORK_CAPTURE=true captures for every test; NETWORK_BLOCKING=false turns blocking off.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Inherited
+public @interface NetworkPolicy {
+
+    ThirdParty[] block() default {};
+
+    String[] blockUrls() default {};
+
+    String[] allowUrls() default {};
+
+    boolean capture() default false;
+}
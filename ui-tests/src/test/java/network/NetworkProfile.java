@@ -0,0 +1,60 @@
+package network;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Named DevTools network throttling profiles: round-trip latency plus down/up throughput.
+ * 3g / 4g follow Chrome DevTools' "Fast 3G" / "Fast 4G" presets, cable WebPageTest's "Cable".
+ */
+public enum NetworkProfile {
+
+    NONE("none", 0, -1, -1),
+    CABLE("cable", 28, 5_000, 1_000),
+    FOUR_G("4g", 165, 9_000, 1_500),
+    THREE_G("3g", 562, 1_440, 675),
+    SLOW_THREE_G("slow-3g", 2_000, 400, 400);
+
+    private final String id;
+    private final int latencyMs;
+    private final int downKbps;
+    private final int upKbps;
+
+    NetworkProfile(String id, int latencyMs, int downKbps, int upKbps) {
+        this.id = id;
+        this.latencyMs = latencyMs;
+        this.downKbps = downKbps;
+        this.upKbps = upKbps;
+    }
+
+    public static NetworkProfile of(String id) {
+        String wanted = id.trim().toLowerCase(Locale.ROOT);
+        for (NetworkProfile p : values()) {
+            if (p.id.equals(wanted)) return p;
+        }
+        throw new IllegalArgumentException("Unknown network profile '" + id + "', expected one of "
+                + Arrays.stream(values()).map(NetworkProfile::getId).toList());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getLatencyMs() {
+        return latencyMs;
+    }
+
+    // DevTools wants bytes per second; -1 means unthrottled
+    public double downloadBytesPerSecond() {
+        return downKbps < 0 ? -1 : downKbps * 1000 / 8.0;
+    }
+
+    public double uploadBytesPerSecond() {
+        return upKbps < 0 ? -1 : upKbps * 1000 / 8.0;
+    }
+
+    @Override
+    public String toString() {
+        return this == NONE ? id : id + " (" + latencyMs + " ms, " + downKbps + "/" + upKbps + " kbps)";
+    }
+}
@@ -0,0 +1,96 @@
+package network;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One request as seen by DevTools, HAR-style. Phase timings are in ms, -1 when not applicable
+ * (e.g. no DNS lookup on a reused connection, or the request was blocked).
+ */
+public final class RequestRecord {
+
+    final String requestId;
+    String url = "";
+    String method = "";
+    String resourceType = "";
+    int status;
+    String mimeType = "";
+    double startedAt;    // CDP monotonic seconds
+    double finishedAt;
+    double dnsMs = -1;
+    double connectMs = -1;
+    double sslMs = -1;
+    double ttfbMs = -1;
+    double downloadMs = -1;
+    double headersReceivedAt;
+    long encodedBytes;
+    boolean fromCache;
+    boolean blocked;
+    String error;
+
+    RequestRecord(String requestId) {
+        this.requestId = requestId;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getResourceType() {
+        return resourceType;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public boolean isBlocked() {
+        return blocked;
+    }
+
+    public boolean isFinished() {
+        return finishedAt > 0;
+    }
+
+    public long getEncodedBytes() {
+        return encodedBytes;
+    }
+
+    // Request start to last byte (or failure)
+    public double getTotalMs() {
+        return (startedAt > 0 && finishedAt > 0) ? (finishedAt - startedAt) * 1000 : -1;
+    }
+
+    public String getHost() {
+        int start = url.indexOf("://");
+        if (start < 0) return "";
+        int end = url.indexOf('/', start + 3);
+        return end < 0 ? url.substring(start + 3) : url.substring(start + 3, end);
+    }
+
+    public Map<String, Object> asMap() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("url", url);
+        m.put("method", method);
+        m.put("type", resourceType);
+        m.put("status", status);
+        m.put("mimeType", mimeType);
+        m.put("fromCache", fromCache);
+        m.put("blocked", blocked);
+        if (error != null) m.put("error", error);
+        Map<String, Object> timings = new LinkedHashMap<>();
+        timings.put("dns", round(dnsMs));
+        timings.put("connect", round(connectMs));
+        timings.put("ssl", round(sslMs));
+        timings.put("ttfb", round(ttfbMs));
+        timings.put("download", round(downloadMs));
+        timings.put("total", round(getTotalMs()));
+        m.put("timings", timings);
+        m.put("encodedBytes", encodedBytes);
+        return m;
+    }
+
+    private static double round(double ms) {
+        return Math.round(ms * 10) / 10.0;
+    }
+}
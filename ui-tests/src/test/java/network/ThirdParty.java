@@ -0,0 +1,57 @@
+package network;
+
+import java.util.Arrays;
+
+/**
+ * Named groups of third-party requests the map page makes, as DevTools URL patterns (* and ? wildcards).
+ */
+public enum ThirdParty {
+
+    ANALYTICS(
+            "*://*.google-analytics.com/*",
+            "*://*.googletagmanager.com/*",
+            "*://*.hotjar.com/*",
+            "*://*.segment.io/*",
+            "*://*.segment.com/*",
+            "*://*.clarity.ms/*"
+    ),
+    ADS(
+            "*://*.doubleclick.net/*",
+            "*://*.facebook.net/*",
+            "*://*.facebook.com/tr*",
+            "*://*.googleadservices.com/*"
+    ),
+    // Font CDNs only: the app's own font files are first-party and load as usual
+    FONTS(
+            "*://fonts.googleapis.com/*",
+            "*://fonts.gstatic.com/*",
+            "*://use.typekit.net/*",
+            "*://p.typekit.net/*",
+            "*://fast.fonts.net/*",
+            "*://use.fontawesome.com/*",
+            "*://kit.fontawesome.com/*"
+    ),
+    // Raster/vector tiles only - the Maps JS API itself stays, otherwise the SPA errors out
+    MAP_TILES(
+            "*://maps.googleapis.com/maps/vt*",
+            "*://khms*.googleapis.com/*",
+            "*://*.gstatic.com/*/tiles/*"
+    ),
+    // What a functional test never needs: analytics, ads and font CDNs. Map tiles stay, since marker counts
+    // include Google Maps images and a tile-less map is not what users see
+    NOISE(ANALYTICS, ADS, FONTS);
+
+    private final String[] patterns;
+
+    ThirdParty(String... patterns) {
+        this.patterns = patterns;
+    }
+
+    ThirdParty(ThirdParty... groups) {
+        this.patterns = Arrays.stream(groups).flatMap(g -> Arrays.stream(g.patterns)).toArray(String[]::new);
+    }
+
+    public String[] patterns() {
+        return patterns.clone();
+    }
+}
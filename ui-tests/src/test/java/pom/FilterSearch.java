@@ -0,0 +1,269 @@
+package pom;
+
+import support.Log;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Drives the filter panel towards "Show 0 venues" with as few chip clicks as possible.
+ *
+ * - chips are listed once (one script call), then addressed by label
+ * - the venue count (PrivileeMapPage.getVenueCount(): the venue API count, the CTA only when no response
+ *   was captured) is cached per applied-filter set, so a state is never measured twice
+ * - a chip whose reduction ratio is already known (probed earlier in this search, or seen earlier in this
+ *   JVM for the same city) is applied straight away: one click, kept if the count drops, undone otherwise
+ * - only when no remaining chip has a known reduction does a round probe them all in the current state
+ *   (click, read, click again to undo: 2 clicks per chip) and apply the one with the largest reduction;
+ *   a probe that reaches 0 is kept straight away, and so is the round's last probe when it is the best.
+ *   Probing stops while a click is still left to apply the best chip. Later rounds then run on the ratios that round measured,
+ *   so probing is paid once per search (once per JVM and city when the ratios carry over), not per round
+ * - a chip that doesn't lower the count is never retried: filters narrow the result set, so a chip
+ *   that removes nothing now removes nothing later either
+ *
+ * If a click can't be undone (budget gone, chip vanished, radio-style chip) the search keeps the last
+ * state it knows to be better, stops and reports isConverged() == false: the page may then show
+ * more filters than getApplied().
+ *
+ * One instance per search: the count cache is only valid for the page state it was built on.
+ */
+public final class FilterSearch {
+
+    private final PrivileeMapPage page;
+
+    // sorted applied labels joined by '\n' -> venue count
+    private final Map<String, Integer> countBySet = new HashMap<>();
+    // city -> chip -> best observed count ratio (after / before), < 1 means it narrowed the results
+    private static final Map<String, Map<String, Double>> RATIOS_BY_CITY = new ConcurrentHashMap<>();
+
+    private final Map<String, Double> ratioByChip;
+    private final Set<String> rejected = new HashSet<>();
+
+    private TreeSet<String> applied = new TreeSet<>();
+    private int current;
+    private boolean converged = true;
+
+    private int clicks;
+    private int measurements;
+    private int cacheHits;
+
+    FilterSearch(PrivileeMapPage page, String city) {
+        this.page = page;
+        this.ratioByChip = RATIOS_BY_CITY.computeIfAbsent(city, k -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * @param exclude   labels never to click (the selected city)
+     * @param maxClicks chip click budget, undo clicks included
+     * @return lowest venue count reached with getApplied(), -1 if no count could be read
+     */
+    public int minimize(Collection<String> exclude, int maxClicks) {
+        List<String> chips = new ArrayList<>();
+        for (String label : page.listFilterChipLabels()) {
+            if (exclude.stream().noneMatch(x -> !x.isEmpty() && label.contains(x))) chips.add(label);
+        }
+
+        current = measure(applied);
+        Log.info("🔎 Filter search: " + chips.size() + " chips, start count " + current + ", budget " + maxClicks);
+        if (current <= 0) return current;
+
+        while (current > 0) {
+            List<String> candidates = candidates(chips);
+            if (candidates.isEmpty()) break;
+            String hint = candidates.get(0);
+            boolean more = ratioByChip.getOrDefault(hint, 1.0) < 1.0
+                    ? applyKnown(hint, maxClicks)
+                    : probeRound(candidates, maxClicks);
+            if (!more) break;
+        }
+
+        Log.info("🔎 Filter search " + (converged ? "done" : "did not converge") + ": count " + current
+                + " with " + applied + " (" + clicks + " clicks, " + measurements + " reads, " + cacheHits + " cache hits)");
+        return current;
+    }
+
+    // One click on a chip expected to narrow the results; false when the search has to stop
+    private boolean applyKnown(String chip, int maxClicks) {
+        TreeSet<String> trial = new TreeSet<>(applied);
+        trial.add(chip);
+        Integer known = countBySet.get(key(trial));
+        if (known != null) {
+            cacheHits++;
+            if (known < 0 || known >= current) {
+                rejected.add(chip);
+                return true;
+            }
+            if (clicks + 1 > maxClicks) {
+                converged = false;
+                return false;
+            }
+            if (!click(chip)) {
+                rejected.add(chip);
+                return true;
+            }
+            applied = trial;
+            current = known;
+            return true;
+        }
+
+        // Keep one click in reserve for the undo
+        if (clicks + 2 > maxClicks) {
+            converged = false;
+            return false;
+        }
+        if (!click(chip)) {
+            rejected.add(chip);
+            return true;
+        }
+        int count = measure(trial);
+        if (count >= 0) ratioByChip.merge(chip, (double) count / current, Math::min);
+        if (count >= 0 && count < current) {
+            applied = trial;
+            current = count;
+            return true;
+        }
+        rejected.add(chip);
+        return undo(chip);
+    }
+
+    // Every candidate probed in the current state, the best one applied; false when the search has to stop
+    private boolean probeRound(List<String> candidates, int maxClicks) {
+        String best = null;
+        int bestCount = current;
+
+        for (int i = 0; i < candidates.size(); i++) {
+            String next = candidates.get(i);
+            TreeSet<String> trial = new TreeSet<>(applied);
+            trial.add(next);
+
+            Integer known = countBySet.get(key(trial));
+            if (known != null) {
+                cacheHits++;
+            } else {
+                // A probe costs the click plus the undo, and a best chip found so far one more click to apply
+                if (clicks + (best == null ? 2 : 3) > maxClicks) {
+                    converged = false;
+                    break;
+                }
+                if (!click(next)) {
+                    rejected.add(next);
+                    continue;
+                }
+                known = measure(trial);
+                if (known >= 0) ratioByChip.merge(next, (double) known / current, Math::min);
+                if (known == 0) {
+                    applied = trial;
+                    current = 0;
+                    return false;
+                }
+                // The round's last probe (no chips or budget left for another) that beats the best stays on
+                boolean lastProbe = i == candidates.size() - 1 || clicks + 1 + 3 > maxClicks;
+                if (lastProbe && known >= 0 && known < bestCount) {
+                    applied = trial;
+                    current = known;
+                    return true;
+                }
+                if (!undo(next)) return false;
+            }
+
+            if (known < 0 || known >= current) {
+                rejected.add(next);
+            } else if (known < bestCount) {
+                best = next;
+                bestCount = known;
+            }
+        }
+
+        // Apply the best of this round, even if the budget cut the probing short
+        if (best == null) return converged;
+        if (clicks >= maxClicks) {
+            converged = false;
+            return false;
+        }
+        if (!click(best)) {
+            rejected.add(best);
+            return converged;
+        }
+        applied.add(best);
+        current = bestCount;
+        return converged;
+    }
+
+    public Set<String> getApplied() {
+        return applied;
+    }
+
+    // False when the budget ran out or a probe couldn't be undone before the search ran out of chips
+    public boolean isConverged() {
+        return converged;
+    }
+
+    public int getClicks() {
+        return clicks;
+    }
+
+    public int getMeasurements() {
+        return measurements;
+    }
+
+    public int getCacheHits() {
+        return cacheHits;
+    }
+
+    // Chips left to try: best known ratio first, then panel order
+    private List<String> candidates(List<String> chips) {
+        return chips.stream()
+                .filter(c -> !applied.contains(c) && !rejected.contains(c))
+                .sorted(Comparator.comparingDouble(c -> ratioByChip.getOrDefault(c, 1.0)))
+                .toList();
+    }
+
+    // Click a probed chip again; false (search stops) unless the page is back at `current` or better
+    private boolean undo(String label) {
+        if (!click(label)) {
+            converged = false;
+            return false;
+        }
+        int restored = page.getVenueCount();
+        measurements++;
+        if (restored == current) return true;
+        converged = false;
+        if (restored >= 0 && restored < current) {
+            // Radio-style chip that can't be toggled off but narrowed the results: the page is the trial state
+            applied.add(label);
+            current = restored;
+            countBySet.put(key(applied), current);
+        }
+        return false;
+    }
+
+    private boolean click(String label) {
+        clicks++;
+        return page.toggleFilterChip(label);
+    }
+
+    private int measure(Set<String> applied) {
+        String key = key(applied);
+        Integer cached = countBySet.get(key);
+        if (cached != null && !applied.isEmpty()) {
+            cacheHits++;
+            return cached;
+        }
+        int count = page.getVenueCount();
+        measurements++;
+        countBySet.put(key, count);
+        return count;
+    }
+
+    private static String key(Set<String> applied) {
+        return String.join("\n", applied);
+    }
+}
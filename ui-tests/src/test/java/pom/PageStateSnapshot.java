@@ -0,0 +1,211 @@
+package pom;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+
+/**
+ * Every read-only signal PrivileeMapPage probes, collected in ONE injected script call.
+ *
+ * Each field mirrors the locator it replaces (same text matching, same "anywhere in the document"
+ * semantics as the old //*[contains(translate(.,...))] XPaths), so switching a probe to the snapshot
+ * doesn't change what a test accepts - it only removes the extra WebDriver round-trips.
+ *
+ * Immutable: take a new snapshot after every interaction.
+ */
+public final class PageStateSnapshot {
+
+    private static final String SNAPSHOT_SCRIPT = """
+            var norm = function (t) { return (t || '').replace(/\\s+/g, ' ').trim(); };
+            var root = document.documentElement;
+            var raw = root ? (root.textContent || '') : '';
+            var lower = raw.toLowerCase();
+            var text = norm(raw);
+            var apology = 'Sorry, there are no venues matching your search and filters.';
+
+            var filtersButton = false, cta = '', showZero = false;
+            var buttons = document.getElementsByTagName('button');
+            for (var i = 0; i < buttons.length; i++) {
+              var bt = norm(buttons[i].textContent);
+              if (!filtersButton && bt.indexOf('Filter') >= 0) filtersButton = true;
+              if (cta === '' && bt.indexOf('Show') >= 0 && bt.toLowerCase().indexOf('venues') >= 0) {
+                cta = (buttons[i].innerText || bt).trim();
+              }
+              if (!showZero && bt.indexOf('Show 0 venues') >= 0) showZero = true;
+            }
+
+            // Exact-text panel anchor: only climb from text nodes that mention "Filter"
+            var anchor = false;
+            if (root) {
+              var walker = document.createTreeWalker(root, NodeFilter.SHOW_TEXT);
+              while (!anchor && walker.nextNode()) {
+                var node = walker.currentNode;
+                if (node.nodeValue.indexOf('Filter') < 0) continue;
+                for (var el = node.parentElement; el; el = el.parentElement) {
+                  var t = norm(el.textContent);
+                  if (t === 'Filter your search' || t === 'Filters') { anchor = true; break; }
+                  if (t.length > 'Filter your search'.length) break;
+                }
+              }
+            }
+
+            return {
+              filtersButton: filtersButton,
+              filterPanelAnchor: anchor,
+              clearFilters: text.indexOf('Clear filters') >= 0 || text.indexOf('Clear Filters') >= 0,
+              loading: lower.indexOf('loading') >= 0,
+              error: lower.indexOf('error') >= 0 || lower.indexOf('something went wrong') >= 0
+                  || lower.indexOf('unable') >= 0,
+              noResults: lower.indexOf('no results') >= 0 || lower.indexOf('no venues') >= 0
+                  || lower.indexOf('there are no venues') >= 0 || text.indexOf(apology) >= 0,
+              venueCards: document.querySelectorAll(arguments[0]).length,
+              markers: document.querySelectorAll(arguments[1]).length,
+              cta: cta,
+              showZero: showZero,
+              zeroHeader: text.indexOf('0') >= 0 && text.toLowerCase().indexOf('venues') >= 0,
+              zeroApology: text.indexOf(apology) >= 0
+            };
+            """;
+
+    // Same CSS as PrivileeMapPage.venueCards / markerElements
+    static final String VENUE_CARDS_CSS =
+            "[class*='venue'], [class*='Venue'], [class*='result'], [class*='Result'], [class*='card'], [class*='Card']";
+    static final String MARKERS_CSS =
+            "[aria-label*='marker'], [class*='marker'], img[src*='googleapis.com'], img[src*='gstatic.com']";
+
+    private final long capturedAtMillis;
+    private final boolean filtersButtonPresent;
+    private final boolean filterPanelAnchorPresent;
+    private final boolean clearFiltersVisible;
+    private final boolean loadingVisible;
+    private final boolean errorVisible;
+    private final boolean noResultsVisible;
+    private final int venueCardCount;
+    private final int markerLikeCount;
+    private final String showVenuesButtonText;
+    private final boolean showZeroVenuesVisible;
+    private final boolean zeroVenuesHeaderVisible;
+    private final boolean zeroVenuesApologyVisible;
+
+    private PageStateSnapshot(Map<?, ?> raw) {
+        this.capturedAtMillis = System.currentTimeMillis();
+        this.filtersButtonPresent = bool(raw, "filtersButton");
+        this.filterPanelAnchorPresent = bool(raw, "filterPanelAnchor");
+        this.clearFiltersVisible = bool(raw, "clearFilters");
+        this.loadingVisible = bool(raw, "loading");
+        this.errorVisible = bool(raw, "error");
+        this.noResultsVisible = bool(raw, "noResults");
+        this.venueCardCount = integer(raw, "venueCards");
+        this.markerLikeCount = integer(raw, "markers");
+        Object cta = raw.get("cta");
+        this.showVenuesButtonText = cta == null ? "" : cta.toString().trim();
+        this.showZeroVenuesVisible = bool(raw, "showZero");
+        this.zeroVenuesHeaderVisible = bool(raw, "zeroHeader");
+        this.zeroVenuesApologyVisible = bool(raw, "zeroApology");
+    }
+
+    // A script result that isn't the expected object is a driver-side failure like any other script error
+    public static PageStateSnapshot capture(WebDriver driver) {
+        Object raw = ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT, VENUE_CARDS_CSS, MARKERS_CSS);
+        if (!(raw instanceof Map)) {
+            throw new JavascriptException("Page state script returned " + raw);
+        }
+        return new PageStateSnapshot((Map<?, ?>) raw);
+    }
+
+    /* ============================
+       Signals (same names as PrivileeMapPage)
+       ============================ */
+
+    public long getCapturedAtMillis() {
+        return capturedAtMillis;
+    }
+
+    public boolean isLoaded() {
+        return filtersButtonPresent || filterPanelAnchorPresent;
+    }
+
+    public boolean isFilterPanelVisible() {
+        return filterPanelAnchorPresent;
+    }
+
+    public boolean isClearFiltersVisible() {
+        return clearFiltersVisible;
+    }
+
+    public boolean isLoadingVisible() {
+        return loadingVisible;
+    }
+
+    public boolean isErrorVisible() {
+        return errorVisible;
+    }
+
+    public boolean isNoResultsVisible() {
+        return noResultsVisible;
+    }
+
+    public int getVenueCardCount() {
+        return venueCardCount;
+    }
+
+    public int getMarkerLikeCount() {
+        return markerLikeCount;
+    }
+
+    public String getShowVenuesButtonText() {
+        return showVenuesButtonText;
+    }
+
+    // -1 when the CTA is missing or carries no number
+    public int getShowVenuesCount() {
+        String digits = showVenuesButtonText.replaceAll("[^0-9]", "");
+        if (digits.isEmpty()) return -1;
+        try {
+            return Integer.parseInt(digits);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public boolean isShowZeroVenuesVisible() {
+        return showZeroVenuesVisible;
+    }
+
+    public boolean isZeroVenuesStateVisible() {
+        return zeroVenuesHeaderVisible && zeroVenuesApologyVisible;
+    }
+
+    /* ============================
+       Combined checks used by edge-case tests
+       ============================ */
+
+    public boolean hasVenueData() {
+        return venueCardCount > 0 || markerLikeCount > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "PageStateSnapshot{loaded=" + isLoaded()
+                + ", panel=" + filterPanelAnchorPresent
+                + ", clearFilters=" + clearFiltersVisible
+                + ", loading=" + loadingVisible
+                + ", error=" + errorVisible
+                + ", noResults=" + noResultsVisible
+                + ", cards=" + venueCardCount
+                + ", markers=" + markerLikeCount
+                + ", cta='" + showVenuesButtonText + "'"
+                + ", zeroState=" + isZeroVenuesStateVisible() + "}";
+    }
+
+    private static boolean bool(Map<?, ?> raw, String key) {
+        return Boolean.TRUE.equals(raw.get(key));
+    }
+
+    private static int integer(Map<?, ?> raw, String key) {
+        Object value = raw.get(key);
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+}
@@ -1,22 +1,47 @@
 package pom;
 
+import fixtures.FixtureServer;
+import metrics.FilterResponse;
+import metrics.FilterResponseCollector;
+import metrics.MapReadinessCollector;
+import metrics.MapReadinessMetrics;
+import metrics.MetricThresholds;
 import org.openqa.selenium.*;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.interactions.WheelInput;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import support.Env;
+import support.Log;
+import venues.Venue;
+import venues.VenueFeed;
+import venues.VenueResponse;
+import waits.SpaSettleWait;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 public class PrivileeMapPage {
 
     private final WebDriver driver;
     private final WebDriverWait wait;
+    private final SpaSettleWait settleWait;
 
-    public static final String BASE_URL = "https://staging-website.privilee.ae/map";
+    // Live staging, or the recorded copy on the local fixture server when FIXTURE_MODE=record|replay
+    public static final String BASE_URL = FixtureServer.resolve("https://staging-website.privilee.ae/map");
 
     // Track which city was actually selected (requested or fallback)
     private String lastSelectedCity = "";
 
+    // Venue API responses captured through DevTools (null: counts come from the CTA text)
+    private VenueFeed venueFeed;
+    private long venueMark;
+    private VenueResponse venueData;   // newest response after venueMark, once resolved
+    private boolean venueDataResolved; // venueData looked up for this mark (null = none came)
+
     /* ============================
        Constructors (MUST support both)
        ============================ */
@@ -25,12 +50,14 @@ public class PrivileeMapPage {
     public PrivileeMapPage(WebDriver driver) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        this.settleWait = new SpaSettleWait(driver);
     }
 
     // Used by tests: new PrivileeMapPage(driver, wait)
     public PrivileeMapPage(WebDriver driver, WebDriverWait wait) {
         this.driver = driver;
         this.wait = (wait != null) ? wait : new WebDriverWait(driver, Duration.ofSeconds(20));
+        this.settleWait = new SpaSettleWait(driver);
     }
 
     /* ============================
@@ -41,58 +68,55 @@ public class PrivileeMapPage {
             "//button[contains(normalize-space(.), 'Filters') or contains(normalize-space(.), 'Filter')]"
     );
 
-    // Filter panel “anchor” – header text often exists when panel is open
-    private final By filterPanelAnchor = By.xpath(
-            "//*[normalize-space()='Filter your search' or normalize-space()='Filters']"
-    );
-
-    private final By clearFilters = By.xpath(
-            "//*[contains(normalize-space(),'Clear filters') or contains(normalize-space(),'Clear Filters')]"
-    );
-
     private final By showVenuesButton = By.xpath(
             "//button[contains(normalize-space(.), 'Show') and contains(translate(normalize-space(.),'VENUES','venues'),'venues')]"
     );
 
-    private final By showZeroVenuesButton = By.xpath("//button[contains(normalize-space(.), 'Show 0 venues')]");
-
-    private final By loadingMsg = By.xpath("//*[contains(translate(.,'LOADING','loading'),'loading')]");
-    private final By errorMsg = By.xpath(
-            "//*[contains(translate(.,'ERROR','error'),'error') or " +
-            "contains(translate(.,'SOMETHING WENT WRONG','something went wrong'),'something went wrong') or " +
-            "contains(translate(.,'UNABLE','unable'),'unable')]"
+    private final By clearFiltersButton = By.xpath(
+            "//button[contains(normalize-space(.), 'Clear filters') or contains(normalize-space(.), 'Clear Filters')]"
     );
 
-    private final By noResultsMsg = By.xpath(
-            "//*[contains(translate(.,'NO RESULTS','no results'),'no results') or " +
-            "contains(translate(.,'NO VENUES','no venues'),'no venues') or " +
-            "contains(translate(.,'THERE ARE NO VENUES','there are no venues'),'there are no venues') or " +
-            "contains(normalize-space(.), 'Sorry, there are no venues matching your search and filters.')]"
-    );
+    // Google Maps container (or any element announcing itself as a map)
+    private final By mapSurface = By.cssSelector(".gm-style, [aria-roledescription='map']");
 
-    // Zero venues empty-state from your screenshot
-    private final By zeroVenuesHeader = By.xpath(
-            "//*[contains(normalize-space(.), '0') and contains(translate(normalize-space(.),'VENUES','venues'),'venues')]"
-    );
-    private final By zeroVenuesApology = By.xpath(
-            "//*[contains(normalize-space(.), 'Sorry, there are no venues matching your search and filters.')]"
-    );
+    // Filter panel anchor, loading / error / no-results / zero-venues and marker probes
+    // live in PageStateSnapshot (one script call instead of one XPath scan each)
 
     // Venue / card-ish elements
-    private final By venueCards = By.cssSelector(
-            "[class*='venue'], [class*='Venue'], [class*='result'], [class*='Result'], [class*='card'], [class*='Card']"
-    );
-
-    // Marker-ish elements
-    private final By markerElements = By.cssSelector(
-            "[aria-label*='marker'], [class*='marker'], img[src*='googleapis.com'], img[src*='gstatic.com']"
-    );
+    private final By venueCards = By.cssSelector(PageStateSnapshot.VENUE_CARDS_CSS);
 
     // Data accuracy: any visible title/name text
     private final By venueTitleCandidates = By.cssSelector(
             "h1, h2, h3, [class*='title'], [class*='Title'], [class*='name'], [class*='Name']"
     );
 
+    // Same rules as the optionButtons XPath, plus visibility; duplicates collapsed
+    private static final String CHIP_LABELS_SCRIPT = """
+            var norm = function (t) { return (t || '').replace(/\\s+/g, ' ').trim(); };
+            var seen = {}, out = [];
+            var buttons = document.getElementsByTagName('button');
+            for (var i = 0; i < buttons.length; i++) {
+              var b = buttons[i], t = norm(b.textContent);
+              if (t.length <= 1 || t.indexOf('Clear filters') >= 0 || t.indexOf('Show') >= 0) continue;
+              if (b.disabled || b.getClientRects().length === 0 || seen[t]) continue;
+              seen[t] = true;
+              out.push(t);
+            }
+            return out;
+            """;
+
+    private static final String CHIP_CLICK_SCRIPT = """
+            var buttons = document.getElementsByTagName('button');
+            for (var i = 0; i < buttons.length; i++) {
+              var b = buttons[i];
+              if (b.disabled || b.getClientRects().length === 0) continue;
+              if ((b.textContent || '').replace(/\\s+/g, ' ').trim() !== arguments[0]) continue;
+              b.click();
+              return true;
+            }
+            return false;
+            """;
+
     private By chipByText(String text) {
         return By.xpath("//button[contains(normalize-space(.), '" + text + "')]");
     }
@@ -102,10 +126,101 @@ public class PrivileeMapPage {
        ============================ */
 
     public void open() {
+        beforeInteraction();
         driver.get(BASE_URL);
         // Wait for either the filter button or the panel anchor (SPA)
-        wait.until(d -> driver.findElements(filtersButton).size() > 0
-                || driver.findElements(filterPanelAnchor).size() > 0);
+        wait.until(d -> snapshot().isLoaded());
+    }
+
+    /**
+     * open() with the readiness probe installed beforehand: time to first marker, markers stable
+     * and Filters usable, in ms from navigation start. Waits up to MAP_READY_TIMEOUT_MS (15 s)
+     * for all three; anything that didn't happen (or no CDP) is -1.
+     */
+    public MapReadinessMetrics openAndMeasureReadiness() {
+        MapReadinessCollector collector = new MapReadinessCollector(driver, PageStateSnapshot.MARKERS_CSS);
+        try {
+            collector.install();
+            open();
+            return collector.await(Env.intValue("MAP_READY_TIMEOUT_MS", 15000));
+        } finally {
+            collector.uninstall();
+        }
+    }
+
+    // Budgets for openAndMeasureReadiness(), PERF_MAX_* overridable
+    public MetricThresholds readinessThresholds() {
+        return MetricThresholds.mapReadinessDefaults();
+    }
+
+    /**
+     * All read-only probes below in a single round-trip.
+     * Tests asserting several signals at once should take one snapshot and read it.
+     */
+    public PageStateSnapshot snapshot() {
+        return PageStateSnapshot.capture(driver);
+    }
+
+    /* ============================
+       Venue API data (typed, DOM-independent)
+       ============================ */
+
+    public void attachVenueFeed(VenueFeed feed) {
+        this.venueFeed = feed;
+        this.venueMark = feed == null ? 0 : feed.mark();
+        this.venueData = null;
+        this.venueDataResolved = false;
+    }
+
+    // Venue API response triggered by the last navigation / click, if that interaction fetched one
+    public Optional<VenueResponse> getVenueResponse() {
+        if (venueFeed == null) return Optional.empty();
+        // A miss is cached too: the next interaction's mark resets both
+        if (!venueDataResolved) {
+            venueData = venueFeed.awaitSince(venueMark, 2000).orElse(null);
+            venueDataResolved = true;
+        }
+        return Optional.ofNullable(venueData);
+    }
+
+    /**
+     * Every venue API response since the last navigation / click, oldest first, once no request is in
+     * flight: a catalogue the app loads in pages or map tiles arrives in several.
+     */
+    public List<VenueResponse> getVenueResponses() {
+        if (venueFeed == null) return Collections.emptyList();
+        getVenueResponse();
+        return venueFeed.since(venueMark);
+    }
+
+    /**
+     * The venue API count for the last navigation / click (its reported total, else the venues it listed).
+     * The "Show N venues" CTA is the fallback when no venue response was captured (VENUE_API=false, no
+     * DevTools, or the page filtered client-side) and otherwise only a cross-check: a disagreement is logged.
+     */
+    public int getVenueCount() {
+        Optional<VenueResponse> api = getVenueResponse();
+        int cta = getShowVenuesCount();
+        if (api.isEmpty()) return cta;
+        int count = api.get().getCount();
+        if (cta >= 0 && cta != count) {
+            Log.info("⚠️ Venue API reports " + count + " venues, the page shows " + cta + " (" + api.get().getUrl() + ")");
+        }
+        return count;
+    }
+
+    // Venues from the last API response (empty when none was captured)
+    public List<Venue> getVenues() {
+        return getVenueResponse().map(VenueResponse::getVenues).orElse(Collections.emptyList());
+    }
+
+    // Right before every click / navigation: settle tracker in place, venue responses counted from here
+    private void beforeInteraction() {
+        settleWait.prepare();
+        if (venueFeed == null) return;
+        venueMark = venueFeed.mark();
+        venueData = null;
+        venueDataResolved = false;
     }
 
     /* ============================
@@ -115,13 +230,12 @@ public class PrivileeMapPage {
 
     // Used by PageLoadTest / MapLocatorTest style smoke tests
     public boolean isLoaded() {
-        return driver.findElements(filtersButton).size() > 0
-                || driver.findElements(filterPanelAnchor).size() > 0;
+        return snapshot().isLoaded();
     }
 
     // Used by FilterNormalFlowTest
     public boolean isFilterPanelVisible() {
-        return driver.findElements(filterPanelAnchor).size() > 0;
+        return snapshot().isFilterPanelVisible();
     }
 
     // Used by FilterPanelTest
@@ -139,6 +253,7 @@ public class PrivileeMapPage {
         List<WebElement> btns = driver.findElements(filtersButton);
         if (!btns.isEmpty()) {
             WebElement btn = btns.get(0);
+            settleWait.prepare();
             try {
                 btn.click();
             } catch (Exception e) {
@@ -149,67 +264,75 @@ public class PrivileeMapPage {
     }
 
     public boolean isClearFiltersVisible() {
-        return driver.findElements(clearFilters).size() > 0;
+        return snapshot().isClearFiltersVisible();
+    }
+
+    // Used by MemorySoakTest; false when there is no Clear filters button (nothing selected)
+    public boolean clearFilters() {
+        if (driver.findElements(clearFiltersButton).isEmpty()) openFiltersPanel();
+        List<WebElement> btns = driver.findElements(clearFiltersButton);
+        if (btns.isEmpty()) return false;
+        WebElement btn = btns.get(0);
+        String ctaBefore = getShowVenuesButtonText();
+        beforeInteraction();
+        try {
+            btn.click();
+        } catch (Exception e) {
+            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", btn);
+        }
+        waitForUpdate(ctaBefore);
+        return true;
     }
 
     public boolean isLoadingVisible() {
-        return driver.findElements(loadingMsg).size() > 0;
+        return snapshot().isLoadingVisible();
     }
 
     public boolean isErrorVisible() {
-        return driver.findElements(errorMsg).size() > 0;
+        return snapshot().isErrorVisible();
     }
 
     public boolean isNoResultsVisible() {
-        return driver.findElements(noResultsMsg).size() > 0;
+        return snapshot().isNoResultsVisible();
     }
 
+    // Venues the last API response listed; the DOM card scan only when no response was captured
     public int getVenueCardCount() {
-        return driver.findElements(venueCards).size();
+        Optional<VenueResponse> api = getVenueResponse();
+        return api.isPresent() ? api.get().getVenues().size() : snapshot().getVenueCardCount();
     }
 
     public int getMarkerLikeCount() {
-        return driver.findElements(markerElements).size();
+        return snapshot().getMarkerLikeCount();
     }
 
     // Used by OverFilteringNoVenuesTest
     public String getShowVenuesButtonText() {
-        List<WebElement> btns = driver.findElements(showVenuesButton);
-        return btns.isEmpty() ? "" : btns.get(0).getText().trim();
+        return snapshot().getShowVenuesButtonText();
     }
 
     public int getShowVenuesCount() {
-        String text = getShowVenuesButtonText();
-        if (text == null || text.isEmpty()) return -1;
-
-        String digits = text.replaceAll("[^0-9]", "");
-        if (digits.isEmpty()) return -1;
-
-        try {
-            return Integer.parseInt(digits);
-        } catch (Exception e) {
-            return -1;
-        }
+        return snapshot().getShowVenuesCount();
     }
 
     public boolean isShowZeroVenuesVisible() {
-        return driver.findElements(showZeroVenuesButton).size() > 0;
+        return snapshot().isShowZeroVenuesVisible();
     }
 
     public void clickShowVenues() {
         WebElement btn = wait.until(ExpectedConditions.elementToBeClickable(showVenuesButton));
+        String ctaBefore = getShowVenuesButtonText();
+        beforeInteraction();
         try {
             btn.click();
         } catch (Exception e) {
             ((JavascriptExecutor) driver).executeScript("arguments[0].click();", btn);
         }
-        waitShortForUpdate();
+        waitForUpdate(ctaBefore);
     }
 
     public boolean isZeroVenuesStateVisible() {
-        boolean headerVisible = driver.findElements(zeroVenuesHeader).size() > 0;
-        boolean apologyVisible = driver.findElements(zeroVenuesApology).size() > 0;
-        return headerVisible && apologyVisible;
+        return snapshot().isZeroVenuesStateVisible();
     }
 
     // Used by VenueDataAccuracyTest
@@ -233,8 +356,9 @@ public class PrivileeMapPage {
     public boolean clickFirstFilterButtonAndDetectChange() {
         openFiltersPanel();
 
-        int beforeCards = getVenueCardCount();
-        int beforeMarkers = getMarkerLikeCount();
+        PageStateSnapshot before = snapshot();
+        int beforeCards = before.getVenueCardCount();
+        int beforeMarkers = before.getMarkerLikeCount();
 
         // Any clickable filter option button (exclude Clear filters + Show CTA)
         By optionButtons = By.xpath(
@@ -251,16 +375,20 @@ public class PrivileeMapPage {
             try {
                 if (!btn.isDisplayed() || !btn.isEnabled()) continue;
 
+                String ctaBefore = getShowVenuesButtonText();
+                beforeInteraction();
                 try {
                     btn.click();
                 } catch (Exception e) {
                     ((JavascriptExecutor) driver).executeScript("arguments[0].click();", btn);
                 }
 
-                waitShortForUpdate();
+                waitForUpdate(ctaBefore);
 
-                boolean changed = getVenueCardCount() != beforeCards || getMarkerLikeCount() != beforeMarkers;
-                boolean hasState = isClearFiltersVisible() || isNoResultsVisible() || isErrorVisible() || isLoadingVisible();
+                PageStateSnapshot after = snapshot();
+                boolean changed = after.getVenueCardCount() != beforeCards || after.getMarkerLikeCount() != beforeMarkers;
+                boolean hasState = after.isClearFiltersVisible() || after.isNoResultsVisible()
+                        || after.isErrorVisible() || after.isLoadingVisible();
 
                 if (changed || hasState) return true;
 
@@ -284,11 +412,11 @@ public class PrivileeMapPage {
         if (requestedCity != null && !requestedCity.trim().isEmpty() && isFilterChipPresent(requestedCity)) {
             selectFilterChip(requestedCity);
             lastSelectedCity = requestedCity;
-            System.out.println("✅ Selected requested city: " + requestedCity);
+            Log.info("✅ Selected requested city: " + requestedCity);
             return requestedCity;
         }
 
-        System.out.println("⚠️ Requested city not found: '" + requestedCity + "'. Falling back to: " + fallbackCity);
+        Log.info("⚠️ Requested city not found: '" + requestedCity + "'. Falling back to: " + fallbackCity);
 
         if (!isFilterChipPresent(fallbackCity)) {
             throw new RuntimeException("Neither requested city nor fallback city is available: "
@@ -297,7 +425,7 @@ public class PrivileeMapPage {
 
         selectFilterChip(fallbackCity);
         lastSelectedCity = fallbackCity;
-        System.out.println("✅ Selected fallback city: " + fallbackCity);
+        Log.info("✅ Selected fallback city: " + fallbackCity);
         return fallbackCity;
     }
 
@@ -309,59 +437,43 @@ public class PrivileeMapPage {
     // Signature used by your OverFilteringNoVenuesTest: (requestedCity, fallbackCity, maxClicks)
     public int applyFiltersToMinimizeVenues(String requestedCity, String fallbackCity, int maxClicks) {
 
-        selectCityWithFallback(requestedCity, fallbackCity);
-
-        int clicks = 0;
-
-        By optionButtons = By.xpath(
-                "//button[" +
-                        "not(contains(normalize-space(.),'Clear filters')) and " +
-                        "not(contains(normalize-space(.),'Show')) and " +
-                        "string-length(normalize-space(.))>1" +
-                        "]"
-        );
-
-        while (clicks < maxClicks) {
-
-            int current = getShowVenuesCount();
-            if (current == 0) return 0;
-
-            List<WebElement> buttons = driver.findElements(optionButtons);
-            boolean clickedSomething = false;
-
-            for (WebElement btn : buttons) {
-                if (clicks >= maxClicks) break;
-
-                try {
-                    if (!btn.isDisplayed() || !btn.isEnabled()) continue;
-
-                    String label = btn.getText().trim();
-                    if (label.isEmpty()) continue;
-
-                    // avoid re-clicking selected city chip
-                    if (!lastSelectedCity.isEmpty() && label.contains(lastSelectedCity)) continue;
+        String city = selectCityWithFallback(requestedCity, fallbackCity);
 
-                    try {
-                        btn.click();
-                    } catch (Exception e) {
-                        ((JavascriptExecutor) driver).executeScript("arguments[0].click();", btn);
-                    }
-
-                    waitShortForUpdate();
-                    clicks++;
-                    clickedSomething = true;
+        // Chips listed once, counts cached per filter set, best chip per round applied (see FilterSearch)
+        return new FilterSearch(this, city).minimize(List.of(city), maxClicks);
+    }
 
-                    int updated = getShowVenuesCount();
-                    if (updated == 0) return 0;
+    /* ============================
+       Map gestures (MapFrameRateTest)
+       ============================ */
 
-                } catch (Exception ignored) {
-                }
-            }
+    public boolean isMapSurfacePresent() {
+        return !driver.findElements(mapSurface).isEmpty();
+    }
 
-            if (!clickedSomething) break;
+    // Press, move by (dx, dy) in `steps` moves `stepPauseMs` apart, release: slow steps = pan, few fast ones = drag/fling
+    public void dragMap(int dx, int dy, int steps, long stepPauseMs) {
+        WebElement map = wait.until(ExpectedConditions.presenceOfElementLocated(mapSurface));
+        int n = Math.max(1, steps);
+        Actions actions = new Actions(driver).moveToElement(map).clickAndHold();
+        for (int i = 0; i < n; i++) {
+            // Spread the rounding remainder so the total offset is exact
+            int x = dx * (i + 1) / n - dx * i / n;
+            int y = dy * (i + 1) / n - dy * i / n;
+            actions.moveByOffset(x, y).pause(Duration.ofMillis(stepPauseMs));
         }
+        actions.release().perform();
+    }
 
-        return getShowVenuesCount();
+    // Mouse wheel over the map centre; positive notches zoom in
+    public void zoomMap(int notches, long notchPauseMs) {
+        WebElement map = wait.until(ExpectedConditions.presenceOfElementLocated(mapSurface));
+        Actions actions = new Actions(driver);
+        WheelInput.ScrollOrigin origin = WheelInput.ScrollOrigin.fromElement(map);
+        for (int i = 0; i < Math.abs(notches); i++) {
+            actions.scrollFromOrigin(origin, 0, notches > 0 ? -120 : 120).pause(Duration.ofMillis(notchPauseMs));
+        }
+        actions.perform();
     }
 
     /* ============================
@@ -376,24 +488,63 @@ public class PrivileeMapPage {
     public void selectFilterChip(String label) {
         openFiltersPanel();
         WebElement el = wait.until(ExpectedConditions.presenceOfElementLocated(chipByText(label)));
+        String ctaBefore = getShowVenuesButtonText();
+        beforeInteraction();
         try {
             wait.until(ExpectedConditions.elementToBeClickable(el));
             el.click();
         } catch (Exception e) {
             ((JavascriptExecutor) driver).executeScript("arguments[0].click();", el);
         }
-        waitShortForUpdate();
+        waitForUpdate(ctaBefore);
+    }
+
+    // openFiltersPanel() toggles: only click it when `label` isn't a visible option yet; false if it still isn't
+    public boolean showFilterChip(String label) {
+        if (listFilterChipLabels().contains(label)) return true;
+        openFiltersPanel();
+        return listFilterChipLabels().contains(label);
+    }
+
+    // Labels of every visible, enabled filter option (not Clear filters / the Show CTA), one script call
+    public List<String> listFilterChipLabels() {
+        Object labels = ((JavascriptExecutor) driver).executeScript(CHIP_LABELS_SCRIPT);
+        List<String> out = new ArrayList<>();
+        if (labels instanceof List) {
+            for (Object l : (List<?>) labels) out.add(String.valueOf(l));
+        }
+        return out;
+    }
+
+    // Click the option whose text is exactly `label` (re-resolved each time: the panel re-renders)
+    public boolean toggleFilterChip(String label) {
+        String ctaBefore = getShowVenuesButtonText();
+        beforeInteraction();
+        Object clicked = ((JavascriptExecutor) driver).executeScript(CHIP_CLICK_SCRIPT, label);
+        if (!Boolean.TRUE.equals(clicked)) return false;
+        waitForUpdate(ctaBefore);
+        return true;
+    }
+
+    // toggleFilterChip() timed from inside the page: click -> count and markers settled (FilterLatencyProfileTest)
+    public FilterResponse toggleFilterChipTimed(String label) {
+        beforeInteraction();
+        return new FilterResponseCollector(driver, PageStateSnapshot.MARKERS_CSS).toggle(label);
     }
 
     /* ============================
        IMPORTANT: tests call this → must be public
        ============================ */
 
-    // Called directly by some tests (it was private earlier)
+    // Called directly by some tests (it was private earlier).
+    // Returns as soon as the DOM is quiet and no XHR/fetch is in flight (bounded), see SpaSettleWait.
     public void waitShortForUpdate() {
-        try {
-            Thread.sleep(1500);
-        } catch (InterruptedException ignored) { }
+        settleWait.await();
+    }
+
+    // After a chip / CTA click: also wait for the "Show N venues" text to move away from ctaBefore
+    private void waitForUpdate(String ctaBefore) {
+        settleWait.await(ctaBefore);
     }
 
     private String safeText(WebElement el) {
@@ -0,0 +1,55 @@
+package recorder;
+
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.json.JsonType;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads only the DevTools event fields a flight recording prints, as a flat "path" -> scalar map
+ * (e.g. "request.url", "args.0.value"). Everything else - headers, timings, initiator stacks,
+ * object previews - is skipped without being turned into maps and lists.
+ */
+final class EventFields {
+
+    // Objects / arrays worth descending into, and the scalars kept from them
+    private static final Set<String> CONTAINERS = Set.of("request", "response", "entry", "exceptionDetails", "exception", "args");
+    private static final Set<String> LEAVES = Set.of("type", "value", "description", "method", "url", "status",
+            "level", "source", "text", "errorText", "blockedReason", "requestId");
+
+    private EventFields() {
+    }
+
+    static Map<String, Object> read(JsonInput in) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        if (in.peek() == JsonType.START_MAP) object(in, "", out);
+        else in.skipValue();
+        return out;
+    }
+
+    private static void object(JsonInput in, String prefix, Map<String, Object> out) {
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            JsonType type = in.peek();
+            if (CONTAINERS.contains(name) && type == JsonType.START_MAP) {
+                object(in, prefix + name + ".", out);
+            } else if (CONTAINERS.contains(name) && type == JsonType.START_COLLECTION) {
+                in.beginArray();
+                for (int i = 0; in.hasNext(); i++) {
+                    if (in.peek() == JsonType.START_MAP) object(in, prefix + name + "." + i + ".", out);
+                    else in.skipValue();
+                }
+                in.endArray();
+            } else if (LEAVES.contains(name) && (type == JsonType.STRING || type == JsonType.NUMBER || type == JsonType.BOOLEAN)) {
+                out.put(prefix + name, type == JsonType.STRING ? in.nextString()
+                        : type == JsonType.NUMBER ? in.nextNumber() : in.nextBoolean());
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+    }
+}
@@ -0,0 +1,314 @@
+package recorder;
+
+import driver.Cdp;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+import support.Env;
+import support.JsonLines;
+import support.Log;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Per-test ring buffer of the last WebDriver commands, console messages and network events.
+ *
+ * Recording is a few array stores per event under one lock (commands come from the test thread,
+ * DevTools events from the websocket thread): details are kept as the raw objects (command args,
+ * the handful of DevTools fields EventFields picks out) and only turned into text if the test
+ * fails and the buffer is dumped. Passing tests just drop the buffer.
+ *
+ * Dumps go to artifacts/selenium-reports/flight-recorder/<test>_<timestamp>.zip
+ * (events.jsonl, meta.json, screenshot.png) and are written by a background thread.
+ *
+ * Knobs: FLIGHT_RECORDER (default true), FLIGHT_RECORDER_EVENTS (ring size, default 4096),
+ * FLIGHT_RECORDER_WINDOW_SECONDS (how far back a dump goes, default 60).
+ */
+public final class FlightRecorder {
+
+    public static final Path DUMP_DIR = Path.of("artifacts", "selenium-reports", "flight-recorder");
+
+    public enum Kind { COMMAND, COMMAND_ERROR, CONSOLE, NETWORK }
+
+    private static final Json JSON = new Json();
+    private static final int DETAIL_MAX_CHARS = 500;
+    private static final int MAX_CONSOLE_ARGS = 16;
+
+    // One writer for the whole JVM: dumps are rare, and the test thread must never wait on one
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "flight-recorder-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final int mask;
+    private final long[] times;         // System.currentTimeMillis()
+    private final long[] durations;     // ns, commands only
+    private final Kind[] kinds;
+    private final String[] names;
+    private final Object[] details;
+    private final long windowMs;
+    private final long startedAt = System.currentTimeMillis();
+    // Guards the arrays, next and recording: a slot is only ever seen complete
+    private final Object lock = new Object();
+    private long next;
+    private boolean recording = true;
+
+    private FlightRecorder(int capacity, long windowMs) {
+        int size = Integer.highestOneBit(Math.max(64, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.times = new long[size];
+        this.durations = new long[size];
+        this.kinds = new Kind[size];
+        this.names = new String[size];
+        this.details = new Object[size];
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * @return a recorder, or null when FLIGHT_RECORDER=false. Console / network events need DevTools;
+     * without it only commands are recorded.
+     */
+    public static FlightRecorder start(WebDriver driver) {
+        if (!Env.flag("FLIGHT_RECORDER", true)) return null;
+        FlightRecorder recorder = new FlightRecorder(
+                Env.intValue("FLIGHT_RECORDER_EVENTS", 4096),
+                Env.intValue("FLIGHT_RECORDER_WINDOW_SECONDS", 60) * 1000L);
+        try {
+            if (Cdp.hasDevTools(driver)) recorder.listen(Cdp.devTools(driver));
+        } catch (Exception e) {
+            Log.info("⚠️ Flight recorder without console/network events: " + e.getMessage());
+        }
+        return recorder;
+    }
+
+    private void listen(DevTools devTools) {
+        devTools.addListener(event("Runtime.consoleAPICalled"), e -> record(Kind.CONSOLE, "console", e, 0));
+        devTools.addListener(event("Runtime.exceptionThrown"), e -> record(Kind.CONSOLE, "exception", e, 0));
+        devTools.addListener(event("Log.entryAdded"), e -> record(Kind.CONSOLE, "log", e, 0));
+        devTools.addListener(event("Network.requestWillBeSent"), e -> record(Kind.NETWORK, "request", e, 0));
+        devTools.addListener(event("Network.responseReceived"), e -> record(Kind.NETWORK, "response", e, 0));
+        devTools.addListener(event("Network.loadingFailed"), e -> record(Kind.NETWORK, "failed", e, 0));
+        Cdp.send(devTools, "Runtime.enable");
+        Cdp.send(devTools, "Log.enable");
+        Cdp.send(devTools, "Network.enable");
+    }
+
+    // Not Cdp.event(): that builds the whole event as maps, and most of it is never printed
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, EventFields::read);
+    }
+
+    /* ============================
+       Recording (hot path)
+       ============================ */
+
+    public void record(Kind kind, String name, Object detail, long durationNanos) {
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            if (!recording) return;
+            int i = (int) (next++ & mask);
+            times[i] = now;
+            durations[i] = durationNanos;
+            kinds[i] = kind;
+            names[i] = name;
+            details[i] = detail;
+        }
+    }
+
+    // Test passed: nothing to write, let the references go
+    public void discard() {
+        synchronized (lock) {
+            recording = false;
+            Arrays.fill(details, null);
+        }
+    }
+
+    /* ============================
+       Dump (failure only)
+       ============================ */
+
+    /**
+     * Snapshots the buffer on the calling thread (cheap), then formats, compresses and writes on the
+     * writer thread. The screenshot bytes must already be taken: the session is reset right after.
+     */
+    public void dumpAsync(String testName, Throwable failure, byte[] screenshotPng) {
+        List<Object[]> events = snapshot();
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss_SSS").format(new Date());
+        Path target = DUMP_DIR.resolve(testName.replaceAll("[^a-zA-Z0-9._-]", "_") + "_" + timestamp
+                + "_t" + Thread.currentThread().getId() + ".zip");
+
+        Map<String, Object> meta = new LinkedHashMap<>();
+        meta.put("test", testName);
+        meta.put("startedAt", startedAt);
+        meta.put("failedAt", System.currentTimeMillis());
+        meta.put("failure", failure == null ? null : String.valueOf(failure));
+        meta.put("events", events.size());
+        meta.put("windowMs", windowMs);
+
+        submit(() -> write(target, meta, events, screenshotPng));
+    }
+
+    // Screenshot on its own (same file the suite always produced), written off the test thread
+    public static void saveScreenshotAsync(Path target, byte[] png) {
+        submit(() -> {
+            try {
+                Files.createDirectories(target.getParent());
+                Files.write(target, png, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+                Log.info("📸 Screenshot saved: " + target);
+            } catch (IOException e) {
+                Log.info("⚠️ Could not save screenshot " + target + ": " + e.getMessage());
+            }
+        });
+    }
+
+    private static void submit(Runnable task) {
+        try {
+            WRITER.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Writer already drained at suite end: write inline rather than lose the dump
+            task.run();
+        }
+    }
+
+    // Stops recording; oldest first, limited to the window before the newest event
+    private List<Object[]> snapshot() {
+        synchronized (lock) {
+            recording = false;
+            long end = next;
+            long start = Math.max(0, end - (mask + 1));
+            List<Object[]> events = new ArrayList<>((int) (end - start));
+            long newest = end == 0 ? 0 : times[(int) ((end - 1) & mask)];
+            for (long seq = start; seq < end; seq++) {
+                int i = (int) (seq & mask);
+                if (kinds[i] == null || times[i] < newest - windowMs) continue;
+                events.add(new Object[]{times[i], durations[i], kinds[i], names[i], details[i]});
+            }
+            return events;
+        }
+    }
+
+    private static void write(Path target, Map<String, Object> meta, List<Object[]> events, byte[] png) {
+        try {
+            Files.createDirectories(target.getParent());
+            try (OutputStream file = Files.newOutputStream(target);
+                 ZipOutputStream zip = new ZipOutputStream(file, StandardCharsets.UTF_8)) {
+                zip.putNextEntry(new ZipEntry("meta.json"));
+                zip.write(JSON.toJson(meta).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+
+                zip.putNextEntry(new ZipEntry("events.jsonl"));
+                long first = events.isEmpty() ? 0 : (long) events.get(0)[0];
+                for (Object[] e : events) {
+                    Map<String, Object> line = new LinkedHashMap<>();
+                    line.put("t", e[0]);
+                    line.put("offsetMs", (long) e[0] - first);
+                    line.put("kind", String.valueOf(e[2]));
+                    line.put("name", e[3]);
+                    if ((long) e[1] > 0) line.put("durationMs", Math.round((long) e[1] / 10_000.0) / 100.0);
+                    line.put("detail", describe((Kind) e[2], e[4]));
+                    zip.write(JsonLines.line(line).getBytes(StandardCharsets.UTF_8));
+                    zip.write('\n');
+                }
+                zip.closeEntry();
+
+                if (png != null) {
+                    // PNG is already compressed: store it as is
+                    ZipEntry shot = new ZipEntry("screenshot.png");
+                    shot.setMethod(ZipEntry.STORED);
+                    shot.setSize(png.length);
+                    CRC32 crc = new CRC32();
+                    crc.update(png);
+                    shot.setCrc(crc.getValue());
+                    zip.putNextEntry(shot);
+                    zip.write(png);
+                    zip.closeEntry();
+                }
+            }
+            Log.info("🧯 Flight recording saved: " + target);
+        } catch (IOException | RuntimeException e) {
+            Log.info("⚠️ Could not write flight recording " + target + ": " + e.getMessage());
+        }
+    }
+
+    /* ============================
+       Formatting (writer thread)
+       ============================ */
+
+    private static String describe(Kind kind, Object detail) {
+        if (detail == null) return "";
+        String text;
+        if ((kind == Kind.CONSOLE || kind == Kind.NETWORK) && detail instanceof Map) {
+            text = kind == Kind.CONSOLE ? console((Map<?, ?>) detail) : network((Map<?, ?>) detail);
+        } else if (detail instanceof Object[]) {
+            List<String> parts = new ArrayList<>();
+            for (Object arg : (Object[]) detail) parts.add(arg instanceof CharSequence[] ? "***" : String.valueOf(arg));
+            text = String.join(", ", parts);
+        } else {
+            text = String.valueOf(detail);
+        }
+        text = text.replaceAll("\\s+", " ").trim();
+        return text.length() > DETAIL_MAX_CHARS ? text.substring(0, DETAIL_MAX_CHARS) + "..." : text;
+    }
+
+    // e is the flat EventFields map
+    private static String console(Map<?, ?> e) {
+        if (e.containsKey("exceptionDetails.exception.description") || e.containsKey("exceptionDetails.text")) {
+            Object description = e.get("exceptionDetails.exception.description");
+            return "uncaught: " + (description != null ? description : e.get("exceptionDetails.text"));
+        }
+        if (e.containsKey("entry.level")) {
+            return e.get("entry.level") + " " + e.get("entry.source") + ": " + e.get("entry.text")
+                    + (e.get("entry.url") != null ? " (" + e.get("entry.url") + ")" : "");
+        }
+        StringBuilder sb = new StringBuilder(String.valueOf(e.get("type"))).append(':');
+        for (int i = 0; i < MAX_CONSOLE_ARGS; i++) {
+            String arg = "args." + i + ".";
+            Object v = e.containsKey(arg + "value") ? e.get(arg + "value") : e.get(arg + "description");
+            if (v == null && !e.containsKey(arg + "type")) break;
+            sb.append(' ').append(v);
+        }
+        return sb.toString();
+    }
+
+    private static String network(Map<?, ?> e) {
+        if (e.containsKey("request.url")) return e.get("request.method") + " " + e.get("request.url");
+        if (e.containsKey("response.url")) return e.get("response.status") + " " + e.get("response.url");
+        return e.get("errorText") + (e.get("blockedReason") != null ? " (" + e.get("blockedReason") + ")" : "")
+                + " requestId=" + e.get("requestId");
+    }
+
+    /**
+     * Let queued dumps finish before the JVM exits (writer is a daemon thread).
+     */
+    public static void awaitPendingWrites(long timeoutSeconds) {
+        WRITER.shutdown();
+        try {
+            if (!WRITER.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                Log.info("⚠️ Flight recordings still being written after " + timeoutSeconds + "s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
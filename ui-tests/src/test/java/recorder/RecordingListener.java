@@ -0,0 +1,43 @@
+package recorder;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+
+/**
+ * Feeds every call through an EventFiringDecorator-wrapped driver into a FlightRecorder.
+ * Only references are stored; nothing is formatted unless the recording is dumped.
+ */
+public class RecordingListener implements WebDriverListener {
+
+    private final FlightRecorder recorder;
+    private final ThreadLocal<ArrayDeque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public RecordingListener(FlightRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        starts.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(FlightRecorder.Kind.COMMAND, method, args);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        // Keep the error next to the args: the cause is usually the interesting part of a dump
+        finish(FlightRecorder.Kind.COMMAND_ERROR, method, new Object[]{args == null ? null : args.clone(), e.getCause()});
+    }
+
+    private void finish(FlightRecorder.Kind kind, Method method, Object[] args) {
+        Long start = starts.get().poll();
+        long elapsed = start == null ? 0 : System.nanoTime() - start;
+        recorder.record(kind, method.getDeclaringClass().getSimpleName() + "." + method.getName(), args, elapsed);
+    }
+}
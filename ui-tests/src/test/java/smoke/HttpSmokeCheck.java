@@ -0,0 +1,284 @@
+package smoke;
+
+import fixtures.FixtureServer;
+import metrics.MetricsReportWriter;
+import pom.PrivileeMapPage;
+import support.Env;
+import support.Log;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Availability check without a browser: fetch BASE_URL, then every script it references, all at once.
+ *
+ *   page     200 after redirects, HTML
+ *   scripts  at least one; each 200, non-empty, served as JavaScript, and matching its integrity="sha..."
+ *            attribute when it has one. The SHA-256 of every bundle goes into the report so deploys are traceable.
+ *   markers  every SMOKE_MARKERS text appears in the HTML or one of the bundles. The defaults are strings
+ *            the map renders (the filter panel heading and the empty-result apology), taken from the page,
+ *            not yet checked against the bundles; a lazily loaded chunk or a CMS payload may hold them. So a
+ *            missing marker is a warning in the report and the log, never a failure
+ *
+ * Requests carry a browser User-Agent and Accept headers, since a WAF or CDN may refuse bare HTTP clients.
+ * A 403 on the page is still reported as blocked (SmokeReport.isBlocked()) rather than as a broken deploy:
+ * the browser may well get through, so it doesn't stop the browser tests.
+ *
+ * gate() runs this once per JVM before the first browser test (BaseTest); when it fails, browser tests are
+ * skipped instead of each spending a Chrome launch on a broken deploy. HTTP_SMOKE=false turns the gate off.
+ *
+ *   SMOKE_TIMEOUT_MS   per request (default 10000)
+ *   SMOKE_MARKERS      comma-separated, case-sensitive
+ *   SMOKE_USER_AGENT   User-Agent header (default a desktop Chrome)
+ */
+public final class HttpSmokeCheck {
+
+    public static final Path REPORT_DIR = Path.of("artifacts", "selenium-reports", "smoke");
+
+    // <script src=...> and <link rel="modulepreload|preload" as="script" href=...>, attribute order free
+    private static final Pattern TAG = Pattern.compile("<(script|link)\\b([^>]*)>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ATTR = Pattern.compile("([a-zA-Z-]+)\\s*=\\s*(\"([^\"]*)\"|'([^']*)'|([^\\s>]+))");
+
+    private static final String DEFAULT_MARKERS = "Filter your search,no venues matching your search";
+    private static final String DEFAULT_USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 "
+            + "(KHTML, like Gecko) Chrome/126.0.0.0 Safari/537.36";
+    private static final String HTML_ACCEPT = "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8";
+
+    private static SmokeReport gate;
+
+    private final String baseUrl;
+    private final List<String> markers;
+    private final Duration timeout;
+    private final String userAgent;
+    private final HttpClient client;
+
+    public HttpSmokeCheck(String baseUrl, List<String> markers, Duration timeout, String userAgent) {
+        this.baseUrl = baseUrl;
+        this.markers = markers;
+        this.timeout = timeout;
+        this.userAgent = userAgent;
+        this.client = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    public static HttpSmokeCheck fromEnv() {
+        List<String> markers = new ArrayList<>();
+        for (String m : Env.string("SMOKE_MARKERS", DEFAULT_MARKERS).split(",")) {
+            if (!m.isBlank()) markers.add(m.trim());
+        }
+        return new HttpSmokeCheck(PrivileeMapPage.BASE_URL, markers,
+                Duration.ofMillis(Env.intValue("SMOKE_TIMEOUT_MS", 10000)), Env.string("SMOKE_USER_AGENT", DEFAULT_USER_AGENT));
+    }
+
+    public static boolean enabled() {
+        return Env.flag("HTTP_SMOKE", true);
+    }
+
+    /**
+     * The suite's one smoke run (null when HTTP_SMOKE=false). The fixture server is started first,
+     * so the gate sees the same BASE_URL the browser would.
+     */
+    public static synchronized SmokeReport gate() {
+        if (!enabled()) return null;
+        if (gate == null) {
+            FixtureServer.startIfEnabled();
+            gate = fromEnv().run();
+            MetricsReportWriter.write(REPORT_DIR, "http-smoke", gate.asMap());
+            if (gate.isBlocked()) Log.info("⚠️ HTTP smoke blocked, browser tests run anyway: " + gate.summary());
+            else if (!gate.passed()) Log.info("❌ HTTP smoke: " + gate.summary());
+            else Log.info((gate.getWarnings().isEmpty() ? "✅ HTTP smoke: " : "⚠️ HTTP smoke: ") + gate.summary());
+        }
+        return gate;
+    }
+
+    public SmokeReport run() {
+        long start = System.currentTimeMillis();
+        List<SmokeReport.Resource> resources = new ArrayList<>();
+        List<String> problems = new ArrayList<>();
+
+        Fetched page = fetch(baseUrl, HTML_ACCEPT).join();
+        resources.add(page.resource("page", pageProblem(page)));
+        if (page.status != 200) {
+            return new SmokeReport(baseUrl, resources, problems, List.of(), System.currentTimeMillis() - start);
+        }
+
+        String html = new String(page.body, StandardCharsets.UTF_8);
+        Map<URI, String> scripts = scripts(page.uri, html);
+        if (scripts.isEmpty()) problems.add("page references no script bundles");
+
+        // All bundles at once; the slowest one bounds the tier
+        Map<URI, CompletableFuture<Fetched>> inFlight = new LinkedHashMap<>();
+        scripts.keySet().forEach(uri -> inFlight.put(uri, fetch(uri.toString(), "*/*")));
+
+        List<String> bodies = new ArrayList<>();
+        bodies.add(html);
+        inFlight.forEach((uri, future) -> {
+            Fetched bundle = future.join();
+            resources.add(bundle.resource("script", scriptProblem(bundle, scripts.get(uri))));
+            if (bundle.body != null) bodies.add(new String(bundle.body, StandardCharsets.UTF_8));
+        });
+
+        List<String> warnings = new ArrayList<>();
+        for (String marker : markers) {
+            if (bodies.stream().noneMatch(b -> b.contains(marker))) {
+                warnings.add("marker '" + marker + "' not found in the page or its " + scripts.size() + " bundle(s)");
+            }
+        }
+        return new SmokeReport(baseUrl, resources, problems, warnings, System.currentTimeMillis() - start);
+    }
+
+    /* ============================
+       Fetching
+       ============================ */
+
+    private static final class Fetched {
+        final String url;
+        final URI uri;
+        final int status;
+        final String contentType;
+        final byte[] body;
+        final long elapsedMs;
+        final String error;
+
+        Fetched(String url, URI uri, int status, String contentType, byte[] body, long elapsedMs, String error) {
+            this.url = url;
+            this.uri = uri;
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+            this.elapsedMs = elapsedMs;
+            this.error = error;
+        }
+
+        SmokeReport.Resource resource(String kind, String problem) {
+            return new SmokeReport.Resource(url, kind, status, elapsedMs,
+                    body == null ? 0 : body.length, body == null ? null : hex(digest("SHA-256", body)), problem);
+        }
+    }
+
+    private CompletableFuture<Fetched> fetch(String url, String accept) {
+        long start = System.currentTimeMillis();
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(url)).timeout(timeout)
+                    .header("User-Agent", userAgent)
+                    .header("Accept", accept)
+                    .header("Accept-Language", "en-US,en;q=0.9")
+                    .GET().build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(new Fetched(url, null, -1, "", null, 0, "bad URL: " + e.getMessage()));
+        }
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(r -> new Fetched(url, r.uri(), r.statusCode(), r.headers().firstValue("content-type").orElse(""),
+                        r.body(), System.currentTimeMillis() - start, null))
+                .exceptionally(e -> {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    return new Fetched(url, null, -1, "", null, System.currentTimeMillis() - start,
+                            cause.getClass().getSimpleName() + (cause.getMessage() == null ? "" : ": " + cause.getMessage()));
+                });
+    }
+
+    private static String pageProblem(Fetched page) {
+        if (page.error != null) return page.error;
+        if (page.status == 403) return "HTTP 403, blocked (WAF/CDN?)";
+        if (page.status != 200) return "HTTP " + page.status;
+        if (!page.contentType.toLowerCase(Locale.ROOT).contains("html")) return "content-type " + page.contentType + ", expected HTML";
+        return null;
+    }
+
+    private static String scriptProblem(Fetched bundle, String integrity) {
+        if (bundle.error != null) return bundle.error;
+        if (bundle.status != 200) return "HTTP " + bundle.status;
+        if (bundle.body.length == 0) return "empty body";
+        String type = bundle.contentType.toLowerCase(Locale.ROOT);
+        if (!type.contains("javascript") && !type.contains("ecmascript")) return "content-type " + bundle.contentType + ", expected JavaScript";
+        if (integrity != null && !integrityMatches(integrity, bundle.body)) return "does not match integrity " + integrity;
+        return null;
+    }
+
+    /* ============================
+       HTML
+       ============================ */
+
+    // Script URL -> its integrity attribute (null when absent), page order, duplicates dropped
+    static Map<URI, String> scripts(URI page, String html) {
+        Map<URI, String> scripts = new LinkedHashMap<>();
+        Matcher tag = TAG.matcher(html);
+        while (tag.find()) {
+            Map<String, String> attrs = new LinkedHashMap<>();
+            Matcher attr = ATTR.matcher(tag.group(2));
+            while (attr.find()) {
+                String value = attr.group(3) != null ? attr.group(3) : attr.group(4) != null ? attr.group(4) : attr.group(5);
+                attrs.put(attr.group(1).toLowerCase(Locale.ROOT), value);
+            }
+            String ref;
+            if (tag.group(1).equalsIgnoreCase("script")) {
+                ref = attrs.get("src");
+            } else {
+                String rel = attrs.getOrDefault("rel", "").toLowerCase(Locale.ROOT);
+                boolean script = rel.contains("modulepreload")
+                        || (rel.contains("preload") && "script".equalsIgnoreCase(attrs.get("as")));
+                ref = script ? attrs.get("href") : null;
+            }
+            if (ref == null || ref.isBlank() || ref.startsWith("data:")) continue;
+            try {
+                scripts.putIfAbsent(page.resolve(ref.trim().replace("&amp;", "&")), attrs.get("integrity"));
+            } catch (IllegalArgumentException ignored) {
+                // Unparseable src: the browser would not load it either
+            }
+        }
+        return scripts;
+    }
+
+    // Subresource Integrity: any one of the space-separated "sha256-/sha384-/sha512-<base64>" values may match
+    static boolean integrityMatches(String integrity, byte[] body) {
+        boolean known = false;
+        for (String token : integrity.trim().split("\\s+")) {
+            int dash = token.indexOf('-');
+            if (dash < 0) continue;
+            String algorithm = switch (token.substring(0, dash).toLowerCase(Locale.ROOT)) {
+                case "sha256" -> "SHA-256";
+                case "sha384" -> "SHA-384";
+                case "sha512" -> "SHA-512";
+                default -> null;
+            };
+            if (algorithm == null) continue;
+            known = true;
+            String expected = token.substring(dash + 1).replaceAll("\\?.*$", "");
+            if (Base64.getEncoder().encodeToString(digest(algorithm, body)).equals(expected)) return true;
+        }
+        // Only unknown algorithms: the browser ignores the attribute, so do we
+        return !known;
+    }
+
+    private static byte[] digest(String algorithm, byte[] body) {
+        try {
+            return MessageDigest.getInstance(algorithm).digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        return HexFormat.of().formatHex(bytes);
+    }
+}
@@ -0,0 +1,118 @@
+package smoke;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of one HttpSmokeCheck run: one entry per fetched resource plus the page-wide problems
+ * (no bundles). Passed means no problem anywhere. Blocked means the page itself answered 403, which says
+ * more about a WAF or CDN refusing the client than about the deploy. Missing markers are warnings: the
+ * text may live in a lazily loaded chunk or be reworded, so it never fails the tier on its own.
+ */
+public final class SmokeReport {
+
+    // One fetched resource
+    public static final class Resource {
+        final String url;
+        final String kind;        // page | script
+        final int status;         // -1 when the request itself failed
+        final long elapsedMs;
+        final long bytes;
+        final String sha256;
+        final String problem;     // null when fine
+
+        Resource(String url, String kind, int status, long elapsedMs, long bytes, String sha256, String problem) {
+            this.url = url;
+            this.kind = kind;
+            this.status = status;
+            this.elapsedMs = elapsedMs;
+            this.bytes = bytes;
+            this.sha256 = sha256;
+            this.problem = problem;
+        }
+
+        Map<String, Object> asMap() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("url", url);
+            m.put("kind", kind);
+            m.put("status", status);
+            m.put("elapsedMs", elapsedMs);
+            m.put("bytes", bytes);
+            m.put("sha256", sha256);
+            if (problem != null) m.put("problem", problem);
+            return m;
+        }
+    }
+
+    private final String baseUrl;
+    private final List<Resource> resources;
+    private final List<String> problems;
+    private final List<String> warnings;
+    private final long elapsedMs;
+
+    SmokeReport(String baseUrl, List<Resource> resources, List<String> pageProblems, List<String> warnings, long elapsedMs) {
+        this.baseUrl = baseUrl;
+        this.resources = resources;
+        this.warnings = warnings;
+        this.elapsedMs = elapsedMs;
+        this.problems = new ArrayList<>();
+        for (Resource r : resources) {
+            if (r.problem != null) problems.add(r.url + ": " + r.problem);
+        }
+        problems.addAll(pageProblems);
+    }
+
+    public boolean passed() {
+        return problems.isEmpty();
+    }
+
+    public boolean isBlocked() {
+        return resources.stream().anyMatch(r -> r.kind.equals("page") && r.status == 403);
+    }
+
+    public List<String> getProblems() {
+        return problems;
+    }
+
+    public List<String> getWarnings() {
+        return warnings;
+    }
+
+    public int getResourceCount() {
+        return resources.size();
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public Map<String, Object> asMap() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("baseUrl", baseUrl);
+        m.put("passed", passed());
+        m.put("blocked", isBlocked());
+        m.put("elapsedMs", elapsedMs);
+        m.put("problems", problems);
+        m.put("warnings", warnings);
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (Resource r : resources) list.add(r.asMap());
+        m.put("resources", list);
+        return m;
+    }
+
+    // One line for logs, skip reasons and assertion messages
+    public String summary() {
+        String head = baseUrl + ": " + resources.size() + " resources in " + elapsedMs + " ms";
+        if (isBlocked()) return head + ", page blocked with HTTP 403";
+        String warned = warnings.isEmpty() ? "" : ", " + warnings.size() + " warning(s): " + warnings;
+        return passed() ? head + (warned.isEmpty() ? ", all fine" : warned)
+                : head + ", " + problems.size() + " problem(s): " + problems + warned;
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+}
@@ -0,0 +1,213 @@
+package support;
+
+import metrics.MetricsReportWriter;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Orders the suite by how long each test took in earlier runs (support.TestDurations), longest first,
+ * so the slow tests start immediately and the short ones fill in around them at the end of a parallel run.
+ * With SHARD_COUNT > 1 the suite is also split into that many shards of about equal total duration, and
+ * only shard SHARD_INDEX runs in this JVM. Both use the greedy longest-first rule: every test goes to
+ * whichever worker or shard has the least work so far.
+ * Registered through META-INF/services, next to ParallelSuiteListener.
+ *
+ *   TEST_SCHEDULER       duration | off     (default duration; off keeps the testng.xml order)
+ *   SHARD_COUNT          shards in total     (default 1)
+ *   SHARD_INDEX          1..SHARD_COUNT      (default 1)
+ *   TEST_DURATIONS_FILE  default test-durations/durations.json
+ *
+ * The unit is the test method, or the whole class with PARALLEL_MODE=classes. Every shard must read
+ * the same durations file, otherwise the shards can disagree about where a test belongs; sharded runs
+ * therefore write their timings to a per-shard file and leave the shared one as it was.
+ * Durations of the tests that ran are written back when the suite finishes.
+ */
+public class DurationScheduler implements IMethodInterceptor, ITestListener, ISuiteListener {
+
+    // A test method, or a class with all its methods, scheduled as one piece
+    static final class Unit {
+        final String key;
+        final List<IMethodInstance> methods = new ArrayList<>();
+        long estimateMs;
+
+        Unit(String key) {
+            this.key = key;
+        }
+    }
+
+    static final Comparator<Unit> LONGEST_FIRST =
+            Comparator.comparingLong((Unit u) -> u.estimateMs).reversed().thenComparing(u -> u.key);
+
+    private final TestDurations durations = TestDurations.load(shardCount() == 1);
+    private final Map<String, Long> thisRun = new ConcurrentHashMap<>();
+    private final Map<String, Object> plan = new LinkedHashMap<>();
+    private long suiteStart;
+
+    public static boolean enabled() {
+        return !Env.string("TEST_SCHEDULER", "duration").equalsIgnoreCase("off");
+    }
+
+    public static int shardCount() {
+        return Math.max(1, Env.intValue("SHARD_COUNT", 1));
+    }
+
+    public static int shardIndex() {
+        int index = Env.intValue("SHARD_INDEX", 1);
+        if (index < 1 || index > shardCount()) {
+            throw new IllegalArgumentException("SHARD_INDEX must be between 1 and " + shardCount() + ", was " + index);
+        }
+        return index;
+    }
+
+    /* ============================
+       Ordering and sharding
+       ============================ */
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!enabled() && shardCount() == 1) return methods;
+
+        boolean byClass = ParallelSuiteListener.mode().equals("classes");
+        Map<String, Unit> units = new LinkedHashMap<>();
+        for (IMethodInstance m : methods) {
+            String className = m.getMethod().getRealClass().getName();
+            String key = byClass ? className : TestDurations.key(className, m.getMethod().getMethodName());
+            Unit unit = units.computeIfAbsent(key, Unit::new);
+            unit.methods.add(m);
+            unit.estimateMs += durations.estimate(TestDurations.key(className, m.getMethod().getMethodName()));
+        }
+
+        List<Unit> original = new ArrayList<>(units.values());
+        List<Unit> ordered = new ArrayList<>(original);
+        ordered.sort(LONGEST_FIRST);
+
+        int shards = shardCount();
+        List<Unit> mine = shards == 1 ? ordered : shard(ordered, shards, shardIndex());
+        // TEST_SCHEDULER=off with shards: split by duration, but keep the testng.xml order inside the shard
+        if (!enabled()) mine.sort(Comparator.comparingInt(original::indexOf));
+
+        List<IMethodInstance> result = new ArrayList<>();
+        long work = 0;
+        for (Unit unit : mine) {
+            result.addAll(unit.methods);
+            work += unit.estimateMs;
+        }
+
+        int workers = ParallelSuiteListener.threadCount();
+        long predicted = makespan(mine, workers);
+        synchronized (plan) {
+            plan.put("units", mine.size());
+            plan.put("shard", shardIndex() + "/" + shards);
+            plan.put("workers", workers);
+            plan.put("estimatedWorkMs", work);
+            plan.put("predictedWallMs", predicted);
+            plan.put("knownDurations", !durations.isEmpty());
+        }
+        Log.info("🗓️ " + (durations.isEmpty() ? "No test durations yet, equal estimates; " : "")
+                + mine.size() + (byClass ? " classes" : " methods")
+                + (shards > 1 ? " in shard " + shardIndex() + "/" + shards + " (of " + ordered.size() + ")" : "")
+                + ", ~" + work / 1000 + " s of work, ~" + predicted / 1000 + " s predicted on " + workers + " worker(s)");
+        return result;
+    }
+
+    // Longest first, each unit to the shard with the least work so far; ties go to the lower shard
+    static List<Unit> shard(List<Unit> ordered, int shards, int index) {
+        long[] load = new long[shards];
+        List<Unit> mine = new ArrayList<>();
+        for (Unit unit : ordered) {
+            int target = 0;
+            for (int s = 1; s < shards; s++) {
+                if (load[s] < load[target]) target = s;
+            }
+            // A test with no estimate still counts, so new tests spread out instead of piling onto one shard
+            load[target] += Math.max(1, unit.estimateMs);
+            if (target == index - 1) mine.add(unit);
+        }
+        return mine;
+    }
+
+    // Wall time if each unit, in order, starts on whichever worker frees up first
+    static long makespan(List<Unit> ordered, int workers) {
+        long[] busy = new long[Math.max(1, workers)];
+        for (Unit unit : ordered) {
+            int next = 0;
+            for (int w = 1; w < busy.length; w++) {
+                if (busy[w] < busy[next]) next = w;
+            }
+            busy[next] += unit.estimateMs;
+        }
+        long max = 0;
+        for (long b : busy) max = Math.max(max, b);
+        return max;
+    }
+
+    /* ============================
+       Recording
+       ============================ */
+
+    @Override
+    public void onStart(ISuite suite) {
+        suiteStart = System.currentTimeMillis();
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        record(result);
+    }
+
+    // Skipped tests did not do their work, so they would only drag the estimate down
+    private void record(ITestResult result) {
+        String key = TestDurations.key(result.getMethod().getRealClass().getName(), result.getMethod().getMethodName());
+        thisRun.merge(key, Math.max(0, result.getEndMillis() - result.getStartMillis()), Long::sum);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (thisRun.isEmpty()) return;
+        thisRun.forEach(durations::record);
+        Path saved = shardCount() > 1 ? durations.saveShard(shardIndex()) : durations.save();
+
+        long wall = System.currentTimeMillis() - suiteStart;
+        long work = thisRun.values().stream().mapToLong(Long::longValue).sum();
+        int workers = ParallelSuiteListener.threadCount();
+        long ideal = work / workers;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        synchronized (plan) {
+            report.put("plan", new LinkedHashMap<>(plan));
+        }
+        report.put("workMs", work);
+        report.put("wallMs", wall);
+        report.put("idealWallMs", ideal);
+        report.put("efficiency", wall == 0 ? 1.0 : Math.round(1000.0 * ideal / wall) / 1000.0);
+        report.put("durations", new TreeMap<>(thisRun));
+        MetricsReportWriter.write("test-schedule", report);
+
+        Log.info("🗓️ Suite took " + wall / 1000 + " s for " + work / 1000 + " s of work on " + workers
+                + " worker(s) (ideal " + ideal / 1000 + " s); durations saved to " + saved);
+    }
+}
@@ -0,0 +1,73 @@
+package support;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The greedy longest-first split, on made-up estimates: every shard computes the same assignment on its
+ * own, so together they must cover each unit exactly once.
+ */
+public class DurationSchedulerTest {
+
+    @Test
+    public void shardsShouldTakeTheLongestUnitsByLeastLoad() {
+        List<DurationScheduler.Unit> ordered = ordered(4, 8, 6, 5, 7);
+
+        // 8 -> 1, 7 -> 2, 6 -> 2 (7 < 8), 5 -> 1 (8 < 13), 4 -> 1 (13 = 13, lower shard)
+        Assert.assertEquals(keys(DurationScheduler.shard(ordered, 2, 1)), List.of("t8", "t5", "t4"));
+        Assert.assertEquals(keys(DurationScheduler.shard(ordered, 2, 2)), List.of("t7", "t6"));
+    }
+
+    @Test
+    public void shardsShouldCoverEveryUnitOnce() {
+        List<DurationScheduler.Unit> ordered = ordered(90, 5, 5, 40, 0, 0, 0, 12, 33, 7, 1);
+        for (int shards = 1; shards <= 5; shards++) {
+            List<String> all = new ArrayList<>();
+            for (int index = 1; index <= shards; index++) all.addAll(keys(DurationScheduler.shard(ordered, shards, index)));
+            Assert.assertEquals(all.size(), ordered.size(), shards + " shards");
+            Assert.assertEquals(new HashSet<>(all), Set.copyOf(keys(ordered)), shards + " shards");
+        }
+    }
+
+    @Test
+    public void unitsWithoutEstimateShouldSpreadOut() {
+        List<DurationScheduler.Unit> ordered = ordered(0, 0, 0);
+        for (int index = 1; index <= 3; index++) {
+            Assert.assertEquals(DurationScheduler.shard(ordered, 3, index).size(), 1, "shard " + index);
+        }
+    }
+
+    @Test
+    public void makespanShouldBeTheBusiestWorker() {
+        List<DurationScheduler.Unit> ordered = ordered(4, 8, 6, 5, 7);
+        Assert.assertEquals(DurationScheduler.makespan(ordered, 1), 30);
+        Assert.assertEquals(DurationScheduler.makespan(ordered, 2), 17);
+        Assert.assertEquals(DurationScheduler.makespan(ordered, 5), 8);
+        Assert.assertEquals(DurationScheduler.makespan(ordered, 0), 30);
+    }
+
+    // Units named "t<estimate>" (with a suffix when repeated), sorted the way intercept() sorts them
+    private static List<DurationScheduler.Unit> ordered(long... estimates) {
+        List<DurationScheduler.Unit> units = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (long estimate : estimates) {
+            String key = "t" + estimate;
+            while (!seen.add(key)) key += "'";
+            DurationScheduler.Unit unit = new DurationScheduler.Unit(key);
+            unit.estimateMs = estimate;
+            units.add(unit);
+        }
+        units.sort(DurationScheduler.LONGEST_FIRST);
+        return units;
+    }
+
+    private static List<String> keys(List<DurationScheduler.Unit> units) {
+        return units.stream().map(u -> u.key).collect(Collectors.toList());
+    }
+}
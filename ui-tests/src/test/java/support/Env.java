@@ -0,0 +1,45 @@
+package support;
+
+/**
+ * Reads tuning knobs the same way TEST_CITY is read:
+ * environment variable first, then a -D system property with the same name, then the default.
+ */
+public final class Env {
+
+    private Env() {
+    }
+
+    public static String string(String name, String defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.trim().isEmpty()) value = System.getProperty(name);
+        return (value == null || value.trim().isEmpty()) ? defaultValue : value.trim();
+    }
+
+    public static int intValue(String name, int defaultValue) {
+        String value = string(name, null);
+        if (value == null) return defaultValue;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            Log.info("⚠️ Ignoring non-numeric " + name + "=" + value + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static double doubleValue(String name, double defaultValue) {
+        String value = string(name, null);
+        if (value == null) return defaultValue;
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            Log.info("⚠️ Ignoring non-numeric " + name + "=" + value + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static boolean flag(String name, boolean defaultValue) {
+        String value = string(name, null);
+        if (value == null) return defaultValue;
+        return value.equalsIgnoreCase("true") || value.equals("1") || value.equalsIgnoreCase("yes");
+    }
+}
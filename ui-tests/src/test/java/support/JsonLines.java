@@ -0,0 +1,20 @@
+package support;
+
+import org.openqa.selenium.json.Json;
+
+/**
+ * One JSON value per line, for the *.jsonl artifacts: Json.toJson pretty-prints over several lines.
+ */
+public final class JsonLines {
+
+    private static final Json JSON = new Json();
+
+    private JsonLines() {
+    }
+
+    public static String line(Object value) {
+        StringBuilder sb = new StringBuilder();
+        JSON.newOutput(sb).setPrettyPrint(false).write(value);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,33 @@
+package support;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Console logging that stays readable when tests run in parallel.
+ * Every line carries the time and the test currently running on this thread,
+ * and is written with a single println so lines from different workers never interleave.
+ */
+public final class Log {
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+    private static final ThreadLocal<String> CURRENT_TEST = new ThreadLocal<>();
+
+    private Log() {
+    }
+
+    // Set by BaseTest around every test method
+    public static void setCurrentTest(String testName) {
+        if (testName == null) {
+            CURRENT_TEST.remove();
+        } else {
+            CURRENT_TEST.set(testName);
+        }
+    }
+
+    public static void info(String message) {
+        String test = CURRENT_TEST.get();
+        String context = test != null ? test : Thread.currentThread().getName();
+        System.out.println(LocalTime.now().format(TIME) + " [" + context + "] " + message);
+    }
+}
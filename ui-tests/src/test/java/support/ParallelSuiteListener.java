@@ -0,0 +1,49 @@
+package support;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.List;
+
+/**
+ * Switches the suite to parallel execution without editing testng.xml.
+ * Registered through META-INF/services so it applies to both `mvn test` and testng.xml runs.
+ *
+ *   PARALLEL_MODE  none | methods | classes   (default none)
+ *   THREAD_COUNT   worker threads             (default: number of CPU cores)
+ */
+public class ParallelSuiteListener implements IAlterSuiteListener {
+
+    public static String mode() {
+        String mode = Env.string("PARALLEL_MODE", "none").toLowerCase();
+        if (mode.equals("methods") || mode.equals("classes")) return mode;
+        return "none";
+    }
+
+    public static int threadCount() {
+        if (mode().equals("none")) return 1;
+        return Math.max(1, Env.intValue("THREAD_COUNT", Runtime.getRuntime().availableProcessors()));
+    }
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        String mode = mode();
+        if (mode.equals("none")) return;
+
+        XmlSuite.ParallelMode parallel = mode.equals("methods")
+                ? XmlSuite.ParallelMode.METHODS
+                : XmlSuite.ParallelMode.CLASSES;
+        int threads = threadCount();
+
+        for (XmlSuite suite : suites) {
+            suite.setParallel(parallel);
+            suite.setThreadCount(threads);
+            for (XmlTest test : suite.getTests()) {
+                test.setParallel(parallel);
+                test.setThreadCount(threads);
+            }
+        }
+        Log.info("ℹ️ Parallel mode: " + mode + " x " + threads + " threads");
+    }
+}
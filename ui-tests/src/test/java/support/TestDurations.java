@@ -0,0 +1,171 @@
+package support;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.json.TypeToken;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * How long each test took in its last few runs, keyed by "class#method".
+ * Kept in TEST_DURATIONS_FILE (default test-durations/durations.json) as
+ * {"tests.PageLoadTest#pageShouldLoad": [8120, 7954, ...]}, newest last.
+ * The estimate is the median of the kept runs, so one slow run does not reshuffle the schedule.
+ *
+ * Sharded runs must all plan from the same history, so they leave the file alone and write what they
+ * measured to a sibling durations.shard-<i>.json instead; the next unsharded load folds those in.
+ */
+public final class TestDurations {
+
+    private static final Json JSON = new Json();
+    private static final Type TYPE = new TypeToken<Map<String, List<Number>>>() {}.getType();
+    private static final int KEEP = 5;
+
+    private final Path file;
+    private final Map<String, List<Long>> history = new TreeMap<>();
+    private final Map<String, Long> latest = new TreeMap<>();
+    private final List<Path> folded = new ArrayList<>();
+
+    private TestDurations(Path file) {
+        this.file = file;
+    }
+
+    public static TestDurations load(boolean foldShards) {
+        return load(Path.of(Env.string("TEST_DURATIONS_FILE", "test-durations/durations.json")), foldShards);
+    }
+
+    // A missing or unreadable file is an empty history: every test gets the same estimate
+    public static TestDurations load(Path file, boolean foldShards) {
+        TestDurations durations = new TestDurations(file);
+        read(file).forEach(durations.history::put);
+        if (foldShards) {
+            for (Path shard : durations.shardFiles()) {
+                read(shard).forEach((key, runs) -> runs.forEach(ms -> durations.record(key, ms)));
+                durations.folded.add(shard);
+            }
+        }
+        return durations;
+    }
+
+    private static Map<String, List<Long>> read(Path file) {
+        Map<String, List<Long>> result = new TreeMap<>();
+        if (!Files.isRegularFile(file)) return result;
+        try {
+            Map<String, List<Number>> raw = JSON.toType(Files.readString(file, StandardCharsets.UTF_8), TYPE);
+            if (raw != null) {
+                raw.forEach((key, runs) -> {
+                    List<Long> ms = new ArrayList<>();
+                    for (Number n : runs) ms.add(n.longValue());
+                    result.put(key, ms);
+                });
+            }
+        } catch (IOException | JsonException | ClassCastException e) {
+            Log.info("⚠️ Ignoring unreadable " + file + ": " + e.getMessage());
+        }
+        return result;
+    }
+
+    public static String key(String className, String methodName) {
+        return className + "#" + methodName;
+    }
+
+    public boolean isEmpty() {
+        return history.isEmpty();
+    }
+
+    public boolean knows(String key) {
+        return history.containsKey(key);
+    }
+
+    // Median of the kept runs; tests never seen before get the median of all known tests
+    public long estimate(String key) {
+        List<Long> runs = history.get(key);
+        if (runs != null && !runs.isEmpty()) return median(runs);
+        List<Long> all = new ArrayList<>();
+        for (List<Long> r : history.values()) {
+            if (!r.isEmpty()) all.add(median(r));
+        }
+        return all.isEmpty() ? 1 : median(all);
+    }
+
+    public synchronized void record(String key, long ms) {
+        List<Long> runs = history.computeIfAbsent(key, k -> new ArrayList<>());
+        runs.add(ms);
+        while (runs.size() > KEEP) runs.remove(0);
+        latest.put(key, ms);
+    }
+
+    // The whole history back to the file; shard files folded in at load time are then removed
+    public synchronized Path save() {
+        if (!write(file, history)) return null;
+        for (Path shard : folded) {
+            try {
+                Files.deleteIfExists(shard);
+            } catch (IOException e) {
+                Log.info("⚠️ Could not remove " + shard + ": " + e.getMessage());
+            }
+        }
+        return file;
+    }
+
+    // Only the tests recorded in this run, next to the main file
+    public synchronized Path saveShard(int index) {
+        Map<String, List<Long>> mine = new TreeMap<>();
+        latest.forEach((key, ms) -> mine.put(key, List.of(ms)));
+        Path target = sibling("shard-" + index);
+        return write(target, mine) ? target : null;
+    }
+
+    private List<Path> shardFiles() {
+        List<Path> shards = new ArrayList<>();
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir == null || !Files.isDirectory(dir)) return shards;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, stem() + ".shard-*.json")) {
+            stream.forEach(shards::add);
+        } catch (IOException e) {
+            Log.info("⚠️ Could not list shard durations in " + dir + ": " + e.getMessage());
+        }
+        shards.sort(null);
+        return shards;
+    }
+
+    private Path sibling(String suffix) {
+        return file.resolveSibling(stem() + "." + suffix + ".json");
+    }
+
+    private String stem() {
+        return file.getFileName().toString().replaceAll("\\.json$", "");
+    }
+
+    // Written to a temp file and moved, so a killed run never leaves half a file behind
+    private static boolean write(Path target, Map<String, List<Long>> data) {
+        try {
+            Path dir = target.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "durations", ".tmp");
+            Files.writeString(tmp, JSON.toJson(data), StandardCharsets.UTF_8);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            Log.info("⚠️ Could not write test durations " + target + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        sorted.sort(null);
+        int mid = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(mid) : (sorted.get(mid - 1) + sorted.get(mid)) / 2;
+    }
+}
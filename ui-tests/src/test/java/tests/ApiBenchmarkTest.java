@@ -0,0 +1,73 @@
+package tests;
+
+import api.ApiBenchmark;
+import api.GoRestStub;
+import api.PostmanCollection;
+import api.PostmanVariables;
+import metrics.MetricsReportWriter;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+import support.Env;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Latency / throughput of the collection's endpoints, opt-in with API_BENCHMARK=true.
+ * Runs against the bundled GoREST stub unless BENCH_BASE_URL points somewhere else.
+ *
+ *   BENCH_STUB_LATENCY_MS   fixed server delay of the stub (default 0)
+ *   BENCH_MAX_ERROR_RATE    fails the test above this share of errors (default 0.01)
+ */
+public class ApiBenchmarkTest {
+
+    @Test
+    public void collectionEndpointsUnderLoad() throws IOException {
+        if (!Env.flag("API_BENCHMARK", false)) {
+            throw new SkipException("API benchmark is opt-in: set API_BENCHMARK=true");
+        }
+
+        PostmanCollection collection = PostmanCollection.load(
+                Path.of(Env.string("API_COLLECTION", "../collections/gorest_public_v2.postman_collection.json")));
+        PostmanVariables variables = PostmanVariables.fromEnv(
+                Path.of(Env.string("API_ENVIRONMENT", "../collections/gorest_env.json")));
+
+        String remote = Env.string("BENCH_BASE_URL", null);
+        try (GoRestStub stub = remote != null ? null
+                : GoRestStub.builder().latencyMs(Env.intValue("BENCH_STUB_LATENCY_MS", 0)).build()) {
+            if (stub != null) {
+                variables.set("baseUrl", stub.start());
+                // The environment's userId exists on gorest.co.in, not in the generated dataset
+                variables.set("userId", "1");
+            } else {
+                variables.set("baseUrl", remote.replaceAll("/+$", ""));
+            }
+
+            ApiBenchmark benchmark = ApiBenchmark.fromEnv();
+            List<ApiBenchmark.Target> targets = ApiBenchmark.targets(collection, variables);
+            List<Map<String, Object>> scenarios = new ArrayList<>();
+            for (ApiBenchmark.Scenario scenario : ApiBenchmark.scenarios()) {
+                scenarios.add(benchmark.run(targets, scenario));
+            }
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("test", "ApiBenchmarkTest.collectionEndpointsUnderLoad");
+            report.put("target", stub != null ? "stub" : remote);
+            report.put("timestamp", System.currentTimeMillis());
+            report.put("scenarios", scenarios);
+            MetricsReportWriter.write(Path.of("artifacts", "api"), "api-benchmark", report);
+
+            double maxErrorRate = Env.doubleValue("BENCH_MAX_ERROR_RATE", 0.01);
+            for (Map<String, Object> s : scenarios) {
+                if (s.containsKey("skipped")) continue;
+                Assert.assertTrue((double) s.get("errorRate") <= maxErrorRate,
+                        s.get("scenario") + " error rate " + s.get("errorRate") + " above " + maxErrorRate + ": " + s.get("errors"));
+            }
+        }
+    }
+}
@@ -1,76 +1,290 @@
 package tests;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import driver.DriverPool;
+import driver.PooledDriver;
+import fixtures.FixtureServer;
+import metrics.CommandMetrics;
+import metrics.CommandTimingListener;
+import metrics.MetricsReportWriter;
+import network.NetworkMonitor;
+import network.NetworkPolicy;
+import network.RequestRecord;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.ITestResult;
+import org.testng.SkipException;
+import org.testng.Reporter;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
+import pom.PageStateSnapshot;
+import pom.PrivileeMapPage;
+import recorder.FlightRecorder;
+import recorder.RecordingListener;
+import smoke.HttpSmokeCheck;
+import smoke.SmokeReport;
+import support.Env;
+import support.Log;
+import venues.VenueFeed;
 
-import java.io.File;
-import java.nio.file.Files;
+import java.lang.reflect.Method;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.text.SimpleDateFormat;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
+/**
+ * Driver, wait and page object are kept per thread so the suite can run
+ * with PARALLEL_MODE=methods|classes (see support.ParallelSuiteListener).
+ */
 public class BaseTest {
 
-    protected WebDriver driver;
-    protected WebDriverWait wait;
+    private final ThreadLocal<PooledDriver> session = new ThreadLocal<>();
+    private final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private final ThreadLocal<WebDriverWait> wait = new ThreadLocal<>();
+    private final ThreadLocal<PrivileeMapPage> page = new ThreadLocal<>();
+    private final ThreadLocal<NetworkMonitor> network = new ThreadLocal<>();
+    private final ThreadLocal<CommandMetrics> commandMetrics = new ThreadLocal<>();
+    private final ThreadLocal<VenueFeed> venueFeed = new ThreadLocal<>();
+    private final ThreadLocal<FlightRecorder> recorder = new ThreadLocal<>();
+
+    protected WebDriver getDriver() {
+        return driver.get();
+    }
+
+    protected WebDriverWait getWait() {
+        return wait.get();
+    }
+
+    // One page object per worker thread (it tracks the selected city); null in @NonMutating tests
+    protected PrivileeMapPage page() {
+        return page.get();
+    }
+
+    /**
+     * The map right after open(), as one snapshot. @NonMutating tests get the suite-wide shared load
+     * (SharedPage); every other test opens the page in its own session.
+     */
+    protected PageStateSnapshot loadedPage() {
+        PrivileeMapPage own = page.get();
+        if (own == null) return SharedPage.get();
+        own.open();
+        return own.snapshot();
+    }
+
+    // Null unless the class has a @NetworkPolicy or NETWORK_CAPTURE=true
+    protected NetworkMonitor network() {
+        return network.get();
+    }
+
+    /**
+     * Start browsers before the first test instead of inside it.
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void warmUpDriverPool() {
+        // No browsers for a deploy the HTTP smoke tier already found broken
+        SmokeReport smoke = HttpSmokeCheck.gate();
+        if (smoke != null && !smoke.passed() && !smoke.isBlocked()) return;
+        DriverPool.getInstance().warmUp();
+    }
+
+    // FIXTURE_MODE=record|replay serves the map from a local recording instead of staging
+    @BeforeSuite(alwaysRun = true)
+    public void startFixtureServer() {
+        FixtureServer.startIfEnabled();
+    }
 
     @BeforeMethod(alwaysRun = true)
-    public void setup() {
-        WebDriverManager.chromedriver().setup();
+    public void setup(Method method) {
+        Log.setCurrentTest(getClass().getSimpleName() + "." + method.getName());
+
+        SmokeReport smoke = HttpSmokeCheck.gate();
+        if (smoke != null && !smoke.passed() && !smoke.isBlocked()) {
+            throw new SkipException("HTTP smoke tier failed, browser not started: " + smoke.summary());
+        }
 
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--headless=new");
-        options.addArguments("--window-size=1920,1080");
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
+        // Read-only tests share one page load and need no session of their own
+        if (sharesPage(method)) return;
+
+        PooledDriver leased = DriverPool.getInstance().lease();
+        // Recorded before anything else can throw, so teardown always hands the session back
+        session.set(leased);
+        WebDriver testDriver = leased.getDriver();
+
+        // COMMAND_METRICS=false and FLIGHT_RECORDER=false skip the decorator entirely
+        List<WebDriverListener> listeners = new ArrayList<>();
+        if (Env.flag("COMMAND_METRICS", true)) {
+            CommandMetrics metrics = new CommandMetrics();
+            commandMetrics.set(metrics);
+            listeners.add(new CommandTimingListener(metrics));
+        }
+        FlightRecorder flightRecorder = FlightRecorder.start(leased.getDriver());
+        if (flightRecorder != null) {
+            recorder.set(flightRecorder);
+            listeners.add(new RecordingListener(flightRecorder));
+        }
+        if (!listeners.isEmpty()) {
+            testDriver = new EventFiringDecorator<>(listeners.toArray(new WebDriverListener[0])).decorate(testDriver);
+        }
+
+        WebDriverWait leasedWait = new WebDriverWait(testDriver, Duration.ofSeconds(20));
+        PrivileeMapPage leasedPage = new PrivileeMapPage(testDriver, leasedWait);
+        CommandMetrics.registerLocators(leasedPage);
+
+        driver.set(testDriver);
+        wait.set(leasedWait);
+        page.set(leasedPage);
+
+        try {
+            network.set(NetworkMonitor.start(leased.getDriver(),
+                    nonMutating(method) ? SharedPage.policy() : getClass().getAnnotation(NetworkPolicy.class),
+                    Env.flag("NETWORK_CAPTURE", false),
+                    Env.flag("NETWORK_BLOCKING", true)));
+        } catch (Exception e) {
+            Log.info("⚠️ Could not apply network policy: " + e.getMessage());
+        }
 
-        driver = new ChromeDriver(options);
-        wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        // VENUE_API=false: counts fall back to the "Show N venues" CTA text
+        try {
+            VenueFeed feed = VenueFeed.start(leased.getDriver());
+            venueFeed.set(feed);
+            leasedPage.attachVenueFeed(feed);
+        } catch (Exception e) {
+            Log.info("⚠️ Could not capture venue API responses: " + e.getMessage());
+        }
+    }
+
+    private boolean sharesPage(Method method) {
+        return Env.flag("SHARED_PAGE", true) && nonMutating(method);
+    }
+
+    private boolean nonMutating(Method method) {
+        return getClass().isAnnotationPresent(NonMutating.class) || method.isAnnotationPresent(NonMutating.class);
     }
 
     /**
-     * Capture screenshot automatically on test failure.
-     * Saved under: artifacts/selenium-reports/screenshots/
+     * On failure: screenshot plus the flight recording (last commands, console and network events).
+     * Only the screenshot bytes are taken here; compressing and writing happen on a background thread.
+     * Saved under: artifacts/selenium-reports/screenshots/ and artifacts/selenium-reports/flight-recorder/
      */
     @AfterMethod(alwaysRun = true)
     public void teardown(ITestResult result) {
+        WebDriver current = driver.get();
+        FlightRecorder flightRecorder = recorder.get();
         try {
-            if (result.getStatus() == ITestResult.FAILURE && driver != null) {
+            if (result.getStatus() == ITestResult.FAILURE && current != null) {
 
                 Path dir = Path.of("artifacts", "selenium-reports", "screenshots");
-                Files.createDirectories(dir);
 
                 String testName =
                         result.getTestClass().getName() + "." + result.getMethod().getMethodName();
-                testName = testName.replaceAll("[^a-zA-Z0-9._-]", "_");
+                String safeName = testName.replaceAll("[^a-zA-Z0-9._-]", "_");
 
+                // Millis + thread id keep parallel failures of the same method from overwriting each other
                 String timestamp =
-                        new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+                        new SimpleDateFormat("yyyyMMdd_HHmmss_SSS").format(new Date());
 
                 Path target =
-                        dir.resolve(testName + "_" + timestamp + ".png");
-
-                File src =
-                        ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
+                        dir.resolve(safeName + "_" + timestamp + "_t" + Thread.currentThread().getId() + ".png");
 
-                Files.copy(src.toPath(), target, StandardCopyOption.REPLACE_EXISTING);
+                byte[] png = null;
+                try {
+                    png = ((TakesScreenshot) current).getScreenshotAs(OutputType.BYTES);
+                    FlightRecorder.saveScreenshotAsync(target, png);
+                } catch (Exception e) {
+                    Log.info("⚠️ Could not capture screenshot: " + e.getMessage());
+                }
 
-                System.out.println("📸 Screenshot saved: " + target);
+                if (flightRecorder != null) flightRecorder.dumpAsync(testName, result.getThrowable(), png);
+            } else if (flightRecorder != null) {
+                flightRecorder.discard();
             }
         } catch (Exception e) {
-            System.out.println("⚠️ Could not capture screenshot: " + e.getMessage());
+            Log.info("⚠️ Could not capture failure diagnostics: " + e.getMessage());
         } finally {
-            if (driver != null) {
-                driver.quit();
-            }
+            finishNetworkCapture(result);
+            finishCommandMetrics(result);
+            VenueFeed feed = venueFeed.get();
+            if (feed != null) feed.stop();
+
+            // Back to the pool: reset to about:blank, or evicted if stuck / worn out
+            DriverPool.getInstance().release(session.get());
+            session.remove();
+            driver.remove();
+            wait.remove();
+            page.remove();
+            network.remove();
+            commandMetrics.remove();
+            venueFeed.remove();
+            recorder.remove();
+            Log.setCurrentTest(null);
+        }
+    }
+
+    /**
+     * Stop interception and, when capturing, write the per-request record
+     * to artifacts/selenium-reports/network/ and a summary into the TestNG report.
+     */
+    private void finishNetworkCapture(ITestResult result) {
+        NetworkMonitor monitor = network.get();
+        if (monitor == null) return;
+        try {
+            monitor.stop();
+            if (!monitor.isCapturing()) return;
+
+            String testName = result.getTestClass().getName() + "." + result.getMethod().getMethodName();
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("test", testName);
+            report.put("summary", monitor.summary(10));
+            report.put("requests", monitor.getRecords().stream().map(RequestRecord::asMap).collect(Collectors.toList()));
+            MetricsReportWriter.write(Path.of("artifacts", "selenium-reports", "network"), testName, report);
+
+            String summary = monitor.summaryText(5);
+            Reporter.setCurrentTestResult(result);
+            Reporter.log(summary);
+            Log.info("🌐 " + summary);
+        } catch (Exception e) {
+            Log.info("⚠️ Could not write network capture: " + e.getMessage());
         }
     }
+
+    // Per-test command latency histograms, also folded into the suite totals
+    private void finishCommandMetrics(ITestResult result) {
+        CommandMetrics metrics = commandMetrics.get();
+        if (metrics == null || metrics.isEmpty()) return;
+        metrics.writeJson(result.getTestClass().getName() + "." + result.getMethod().getMethodName());
+        metrics.mergeInto(CommandMetrics.suite());
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void exportSuiteCommandMetrics() {
+        CommandMetrics suite = CommandMetrics.suite();
+        if (suite.isEmpty()) return;
+        suite.writeJson("suite");
+        suite.writePrometheus("suite");
+    }
+
+    // One hook, so the order is fixed: failure dumps are written in the background and must finish
+    // before the JVM can exit, then the browsers go
+    @AfterSuite(alwaysRun = true)
+    public void shutdownDriverPool() {
+        try {
+            FlightRecorder.awaitPendingWrites(30);
+        } finally {
+            DriverPool.getInstance().shutdown();
+        }
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void stopFixtureServer() {
+        FixtureServer.stopIfRunning();
+    }
 }
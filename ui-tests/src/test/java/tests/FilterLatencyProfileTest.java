@@ -0,0 +1,144 @@
+package tests;
+
+import metrics.FilterLatencyProfile;
+import metrics.FilterResponse;
+import network.NetworkPolicy;
+import network.ThirdParty;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+import pom.PrivileeMapPage;
+import support.Env;
+import support.Log;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Click-to-count latency of every filter option for one city, opt-in with FILTER_PROFILE=true.
+ *
+ * With the city selected, each other option is selected and deselected FILTER_PROFILE_REPEATS times
+ * (default 5), timed in the page by FilterResponseCollector. The FILTER_PROFILE_COMBINATIONS (default 3)
+ * slowest options are then paired: one stays selected while the other is timed. The ranking goes to
+ * filter-latency_<timestamp>.json / .md; the test fails when a median is over FILTER_MAX_P50_MS
+ * (default 5000) or a click never settled.
+ *
+ *   FILTER_PROFILE_EXCLUDE   comma-separated labels to leave alone (other cities, for instance)
+ */
+@NetworkPolicy(block = ThirdParty.NOISE)
+public class FilterLatencyProfileTest extends BaseTest {
+
+    private static final String CITY = System.getenv().getOrDefault("TEST_CITY", "Abu Dhabi");
+
+    @Test
+    public void everyFilterShouldRespondInTime() {
+        if (!Env.flag("FILTER_PROFILE", false)) {
+            throw new SkipException("Filter latency profile is opt-in: set FILTER_PROFILE=true");
+        }
+        int repeats = Math.max(1, Env.intValue("FILTER_PROFILE_REPEATS", 5));
+        int comboTop = Math.max(0, Env.intValue("FILTER_PROFILE_COMBINATIONS", 3));
+
+        PrivileeMapPage page = page();
+        String city = selectCity(page);
+        List<String> filters = filters(page, city);
+        Assert.assertFalse(filters.isEmpty(), "No filter options visible for " + city + "; nothing to profile.");
+        Log.info("ℹ️ Profiling " + filters.size() + " filters for " + city + ", " + repeats + " clicks each");
+
+        FilterLatencyProfile profile = new FilterLatencyProfile(city);
+        List<String> missing = new ArrayList<>();
+
+        for (String filter : filters) {
+            for (int i = 0; i < repeats; i++) {
+                FilterResponse selected = page.toggleFilterChipTimed(filter);
+                if (!selected.isClicked()) {
+                    // The panel re-rendered without it (labels can carry live counts)
+                    missing.add(filter);
+                    break;
+                }
+                profile.recordSelect(filter, false, selected);
+                FilterResponse deselected = page.toggleFilterChipTimed(filter);
+                if (!deselected.isClicked()) {
+                    resetTo(page, city);
+                    continue;
+                }
+                profile.recordDeselect(filter, deselected);
+            }
+        }
+
+        List<String> slowest = profile.slowestFilters(comboTop);
+        for (int a = 0; a < slowest.size(); a++) {
+            for (int b = a + 1; b < slowest.size(); b++) {
+                String first = slowest.get(a);
+                String second = slowest.get(b);
+                String combination = first + " + " + second;
+                for (int i = 0; i < repeats; i++) {
+                    if (!page.toggleFilterChip(first)) {
+                        resetTo(page, city);
+                        break;
+                    }
+                    FilterResponse selected = page.toggleFilterChipTimed(second);
+                    if (!selected.isClicked()) {
+                        missing.add(combination);
+                        resetTo(page, city);
+                        break;
+                    }
+                    profile.recordSelect(combination, true, selected);
+                    FilterResponse deselected = page.toggleFilterChipTimed(second);
+                    if (deselected.isClicked()) profile.recordDeselect(combination, deselected);
+                    if (!deselected.isClicked() || !page.toggleFilterChip(first)) resetTo(page, city);
+                }
+            }
+        }
+
+        double maxP50Ms = Env.doubleValue("FILTER_MAX_P50_MS", 5000);
+        List<String> violations = profile.violations(maxP50Ms);
+
+        Map<String, Object> extra = new LinkedHashMap<>();
+        extra.put("test", "FilterLatencyProfileTest.everyFilterShouldRespondInTime");
+        extra.put("url", PrivileeMapPage.BASE_URL);
+        extra.put("timestamp", System.currentTimeMillis());
+        extra.put("repeats", repeats);
+        extra.put("maxP50Ms", maxP50Ms);
+        extra.put("missing", missing);
+        extra.put("violations", violations);
+        profile.write("filter-latency", extra);
+
+        List<Map<String, Object>> ranked = profile.ranked();
+        for (Map<String, Object> row : ranked.subList(0, Math.min(5, ranked.size()))) {
+            Log.info("🐢 #" + row.get("rank") + " " + row.get("filter") + ": p50 " + row.get("p50Ms")
+                    + " ms, p90 " + row.get("p90Ms") + " ms");
+        }
+        Assert.assertTrue(violations.isEmpty(), "Slow filters for " + city + ": " + violations);
+    }
+
+    private static String selectCity(PrivileeMapPage page) {
+        page.open();
+        return page.selectCityWithFallback(CITY, "Abu Dhabi");
+    }
+
+    // Visible options except the city itself and FILTER_PROFILE_EXCLUDE
+    private static List<String> filters(PrivileeMapPage page, String city) {
+        List<String> labels = page.listFilterChipLabels();
+        if (!labels.contains(city)) {
+            // openFiltersPanel() toggles; the city selection may have left the panel closed
+            page.openFiltersPanel();
+            labels = page.listFilterChipLabels();
+        }
+        List<String> exclude = new ArrayList<>(List.of(city));
+        for (String e : Env.string("FILTER_PROFILE_EXCLUDE", "").split(",")) {
+            if (!e.isBlank()) exclude.add(e.trim());
+        }
+        labels.removeAll(exclude);
+        return labels;
+    }
+
+    // Back to just the city selected, panel open
+    private static void resetTo(PrivileeMapPage page, String city) {
+        Log.info("⚠️ Filter state unknown, reloading with only " + city + " selected");
+        page.open();
+        page.selectCityWithFallback(city, city);
+        if (!page.listFilterChipLabels().contains(city)) page.openFiltersPanel();
+    }
+}
@@ -1,14 +1,17 @@
 package tests;
 
+import network.NetworkPolicy;
+import network.ThirdParty;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import pom.PrivileeMapPage;
 
+@NetworkPolicy(block = ThirdParty.NOISE)
 public class FilterNormalFlowTest extends BaseTest {
 
     @Test
     public void applyFilterShouldAffectResultsOrShowState() {
-        PrivileeMapPage page = new PrivileeMapPage(driver);
+        PrivileeMapPage page = page();
         page.open();
 
         Assert.assertTrue(page.isFilterPanelVisible(),
@@ -2,16 +2,16 @@ package tests;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
-import pom.PrivileeMapPage;
+import pom.PageStateSnapshot;
 
+@NonMutating
 public class FilterPanelTest extends BaseTest {
 
     @Test
     public void verifyFiltersSectionVisible() {
-        PrivileeMapPage page = new PrivileeMapPage(driver, wait);
-        page.open();
+        PageStateSnapshot state = loadedPage();
 
-        Assert.assertTrue(page.isFiltersVisible(),
-                "Filters panel is not visible ");
+        Assert.assertTrue(state.isFilterPanelVisible(),
+                "Filters panel is not visible: " + state);
     }
 }
@@ -2,16 +2,17 @@ package tests;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
-import pom.PrivileeMapPage;
+import pom.PageStateSnapshot;
 
+@NonMutating
 public class FilterSelectionTest extends BaseTest {
 
     @Test
     public void verifyLocationFilterVisible() {
-        PrivileeMapPage page = new PrivileeMapPage(driver, wait);
-        page.open();
+        PageStateSnapshot state = loadedPage();
 
-        Assert.assertTrue(page.isLocationVisible(),
-                "Location filter section is not visible");
+        // isLocationVisible() is the page-ready signal, same as isLoaded()
+        Assert.assertTrue(state.isLoaded(),
+                "Location filter section is not visible: " + state);
     }
 }
@@ -0,0 +1,36 @@
+package tests;
+
+import api.CollectionRun;
+import api.CollectionRunner;
+import api.HtmlReportWriter;
+import api.JUnitXmlWriter;
+import api.PostmanCollection;
+import api.PostmanVariables;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import support.Env;
+import support.Log;
+
+import java.nio.file.Path;
+
+/**
+ * The GoREST Postman collection, run inside the Maven build (no browser, no newman).
+ * API_COLLECTION / API_ENVIRONMENT point at other files; paths are relative to ui-tests/.
+ */
+public class GoRestApiTest {
+
+    @Test
+    public void goRestCollectionShouldPass() {
+        PostmanCollection collection = PostmanCollection.load(
+                Path.of(Env.string("API_COLLECTION", "../collections/gorest_public_v2.postman_collection.json")));
+        PostmanVariables variables = PostmanVariables.fromEnv(
+                Path.of(Env.string("API_ENVIRONMENT", "../collections/gorest_env.json")));
+
+        CollectionRun run = CollectionRunner.fromEnv().run(collection, variables);
+        JUnitXmlWriter.write(run, JUnitXmlWriter.DEFAULT_FILE);
+        HtmlReportWriter.write(run, HtmlReportWriter.DEFAULT_FILE);
+
+        Log.info("ℹ️ " + run.getResults().size() + " requests in " + run.getWallMs() + " ms");
+        Assert.assertTrue(run.failures().isEmpty(), "API checks failed: " + run.failures());
+    }
+}
@@ -0,0 +1,61 @@
+package tests;
+
+import api.GoRestStub;
+import crawler.CrawlReport;
+import crawler.GoRestCrawler;
+import metrics.MetricsReportWriter;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import support.Env;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Crawls every page of users, posts and todos and checks they are consistent with each other.
+ * Runs against a generated GoREST stub dataset unless CRAWL_BASE_URL points at a real API.
+ *
+ *   CRAWL_STUB_USERS / CRAWL_STUB_POSTS / CRAWL_STUB_TODOS   dataset size (default 2000 / 20000 / 20000;
+ *                                                             millions work, memory stays flat)
+ */
+public class GoRestCrawlTest {
+
+    private static final Path REPORT_DIR = Path.of("artifacts", "api");
+
+    @Test
+    public void everyPageShouldBeConsistent() throws IOException, InterruptedException {
+        String remote = Env.string("CRAWL_BASE_URL", null);
+        try (GoRestStub stub = remote != null ? null : GoRestStub.builder()
+                .users(Env.intValue("CRAWL_STUB_USERS", 2000))
+                .posts(Env.intValue("CRAWL_STUB_POSTS", 20000))
+                .todos(Env.intValue("CRAWL_STUB_TODOS", 20000))
+                .build()) {
+            String baseUrl = stub != null ? stub.start() : remote;
+
+            CrawlReport report = GoRestCrawler.fromEnv(baseUrl).build().crawl();
+            MetricsReportWriter.write(REPORT_DIR, "gorest-crawl", report.asMap());
+
+            Assert.assertTrue(report.isConsistent(), report.summary());
+            if (stub != null) {
+                Assert.assertEquals(report.getRecords("posts"), stub.getPosts(), "Not every post was crawled");
+            }
+        }
+    }
+
+    // The checks themselves: a dataset with known orphans and duplicates must be reported as such
+    @Test
+    public void injectedInconsistenciesShouldBeFound() throws IOException, InterruptedException {
+        try (GoRestStub stub = GoRestStub.builder().users(300).posts(5000).todos(3000)
+                .orphanEvery(997).duplicateEvery(1009).build()) {
+            CrawlReport report = GoRestCrawler.fromEnv(stub.start()).userSample(300).build().crawl();
+            MetricsReportWriter.write(REPORT_DIR, "gorest-crawl-faults", report.asMap());
+
+            Assert.assertTrue(report.getCount(GoRestCrawler.Rule.ORPHAN_POST) > 0, "Orphan posts not found: " + report.summary());
+            Assert.assertTrue(report.getCount(GoRestCrawler.Rule.ORPHAN_TODO) > 0, "Orphan todos not found: " + report.summary());
+            Assert.assertTrue(report.getCount(GoRestCrawler.Rule.DUPLICATE_ID) > 0, "Duplicates not found: " + report.summary());
+            Assert.assertTrue(report.getCount(GoRestCrawler.Rule.NESTED_MISMATCH) > 0, "Nested mismatch not found: " + report.summary());
+            Assert.assertTrue(report.getCount(GoRestCrawler.Rule.COUNT_MISMATCH) > 0, "Count drift not found: " + report.summary());
+            Assert.assertEquals(report.getCount(GoRestCrawler.Rule.FETCH_ERROR), 0L, report.summary());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package tests;
+
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+import smoke.HttpSmokeCheck;
+import smoke.SmokeReport;
+
+/**
+ * The pre-browser tier: BASE_URL and its script bundles over plain HTTP, in milliseconds.
+ * Reads the same run that gates the browser tests (HttpSmokeCheck.gate()), so a broken deploy
+ * shows up here as one failure while the browser tests are skipped. A page refused with 403 is a skip:
+ * the plain HTTP client was blocked, which says nothing about the deploy.
+ */
+public class HttpSmokeTest {
+
+    @Test
+    public void mapPageAndBundlesShouldServe() {
+        // HTTP_SMOKE=false only turns the gate off; this test still checks
+        SmokeReport report = HttpSmokeCheck.enabled() ? HttpSmokeCheck.gate() : HttpSmokeCheck.fromEnv().run();
+        if (report.isBlocked()) throw new SkipException("HTTP client blocked: " + report.summary());
+        Assert.assertTrue(report.passed(), report.summary());
+    }
+}
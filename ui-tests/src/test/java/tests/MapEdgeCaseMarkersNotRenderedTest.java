@@ -1,23 +1,27 @@
 package tests;
 
+import network.NetworkPolicy;
+import network.ThirdParty;
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import pom.PageStateSnapshot;
 import pom.PrivileeMapPage;
 
+@NetworkPolicy(block = ThirdParty.NOISE)
 public class MapEdgeCaseMarkersNotRenderedTest extends BaseTest {
 
     @Test
     public void mapShouldNotBeEmptySilently() {
-        PrivileeMapPage page = new PrivileeMapPage(driver);
+        PrivileeMapPage page = page();
         page.open();
 
         page.waitShortForUpdate();
 
-        int cards = page.getVenueCardCount();
-        int markers = page.getMarkerLikeCount();
+        // One round-trip for every signal below
+        PageStateSnapshot state = page.snapshot();
 
-        boolean hasData = (cards > 0) || (markers > 0);
-        boolean hasFeedback = page.isNoResultsVisible() || page.isErrorVisible() || page.isClearFiltersVisible();
+        boolean hasData = state.hasVenueData();
+        boolean hasFeedback = state.isNoResultsVisible() || state.isErrorVisible() || state.isClearFiltersVisible();
 
         Assert.assertTrue(hasData || hasFeedback,
                 "Edge case: map looks empty (no markers/cards) and no feedback shown (no results/error).");
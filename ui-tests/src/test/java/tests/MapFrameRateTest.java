@@ -0,0 +1,158 @@
+package tests;
+
+import metrics.FrameTimingCollector;
+import metrics.FrameTimingMetrics;
+import metrics.MetricThresholds;
+import metrics.MetricsReportWriter;
+import network.NetworkPolicy;
+import network.ThirdParty;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+import pom.PrivileeMapPage;
+import support.Env;
+import support.Log;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Rendering smoothness of the map layer, opt-in with FPS_BENCHMARK=true. For every city in FPS_CITIES
+ * (comma-separated, default TEST_CITY) the city filter is applied, then each gesture runs FPS_REPEATS
+ * times (default 3) while FrameTimingCollector samples frames. A city the panel doesn't offer is skipped,
+ * not replaced by another; with none left the test is skipped:
+ *
+ *   pan    slow drag, 30 small moves one frame apart, and back
+ *   drag   fling, 4 large moves without pauses, and back
+ *   zoom   3 wheel notches in, 3 out
+ *
+ * Sampling continues FPS_TAIL_MS (default 500) after the last input so the easing animation counts.
+ * The frames of all repeats are pooled per city and gesture and checked against
+ * MetricThresholds.frameRateDefaults().
+ */
+@NetworkPolicy(block = ThirdParty.NOISE)
+public class MapFrameRateTest extends BaseTest {
+
+    private static final String CITY = System.getenv().getOrDefault("TEST_CITY", "Abu Dhabi");
+
+    private static final Map<String, Consumer<PrivileeMapPage>> GESTURES = new LinkedHashMap<>();
+
+    static {
+        GESTURES.put("pan", p -> {
+            p.dragMap(300, 120, 30, 16);
+            p.dragMap(-300, -120, 30, 16);
+        });
+        GESTURES.put("drag", p -> {
+            p.dragMap(-450, -250, 4, 0);
+            p.dragMap(450, 250, 4, 0);
+        });
+        GESTURES.put("zoom", p -> {
+            p.zoomMap(3, 200);
+            p.zoomMap(-3, 200);
+        });
+    }
+
+    @Test
+    public void mapGesturesShouldRenderSmoothly() {
+        if (!Env.flag("FPS_BENCHMARK", false)) {
+            throw new SkipException("Frame-rate benchmark is opt-in: set FPS_BENCHMARK=true");
+        }
+        int repeats = Math.max(1, Env.intValue("FPS_REPEATS", 3));
+        long tailMs = Env.intValue("FPS_TAIL_MS", 500);
+        MetricThresholds thresholds = MetricThresholds.frameRateDefaults();
+
+        PrivileeMapPage page = page();
+        FrameTimingCollector collector = new FrameTimingCollector(getDriver());
+        List<String> violations = new ArrayList<>();
+        Map<String, Object> cities = new LinkedHashMap<>();
+
+        for (String city : cities()) {
+            Map<String, Object> cityReport = new LinkedHashMap<>();
+            cities.put(city, cityReport);
+            try {
+                page.open();
+                if (!page.showFilterChip(city)) {
+                    // Measured on another city the numbers would be reported under the wrong name
+                    cityReport.put("skipped", "'" + city + "' is not in the filter panel");
+                    Log.info("⚠️ " + city + " skipped: not in the filter panel");
+                    continue;
+                }
+                page.selectFilterChip(city);
+                cityReport.put("selected", city);
+                page.clickShowVenues();
+                page.waitShortForUpdate();
+            } catch (RuntimeException e) {
+                cityReport.put("error", e.getMessage());
+                violations.add(city + ": could not apply the city filter (" + e.getMessage() + ")");
+                continue;
+            }
+            if (!page.isMapSurfacePresent()) {
+                violations.add(city + ": no map surface to gesture on");
+                continue;
+            }
+            cityReport.put("markers", page.getMarkerLikeCount());
+
+            Map<String, Object> gestures = new LinkedHashMap<>();
+            GESTURES.forEach((gesture, perform) -> {
+                List<FrameTimingMetrics> runs = new ArrayList<>();
+                for (int i = 0; i < repeats; i++) {
+                    collector.start();
+                    perform.accept(page);
+                    pause(tailMs);
+                    runs.add(collector.stop());
+                }
+                FrameTimingMetrics pooled = FrameTimingMetrics.pool(runs, FrameTimingCollector.jankFrameMs());
+                Log.info("ℹ️ " + city + " / " + gesture + ": " + pooled);
+
+                Map<String, Object> g = new LinkedHashMap<>(pooled.asMap());
+                List<Map<String, Double>> perRun = new ArrayList<>();
+                for (FrameTimingMetrics run : runs) perRun.add(run.asMap());
+                g.put("runs", perRun);
+                gestures.put(gesture, g);
+
+                if (pooled.getFrameCount() == 0) {
+                    violations.add(city + "/" + gesture + ": no frames sampled");
+                }
+                for (String v : thresholds.violations(pooled.asMap())) violations.add(city + "/" + gesture + ": " + v);
+            });
+            cityReport.put("gestures", gestures);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("test", "MapFrameRateTest.mapGesturesShouldRenderSmoothly");
+        report.put("url", PrivileeMapPage.BASE_URL);
+        report.put("timestamp", System.currentTimeMillis());
+        report.put("repeats", repeats);
+        report.put("tailMs", tailMs);
+        report.put("jankFrameMs", FrameTimingCollector.jankFrameMs());
+        report.put("thresholds", thresholds.asMap());
+        report.put("cities", cities);
+        report.put("violations", violations);
+        MetricsReportWriter.write("map-frame-rate", report);
+
+        if (cities.values().stream().allMatch(c -> ((Map<?, ?>) c).containsKey("skipped"))) {
+            throw new SkipException("None of " + cities.keySet() + " is in the filter panel (FPS_CITIES / TEST_CITY)");
+        }
+
+        Assert.assertTrue(violations.isEmpty(), "Map rendering over budget: " + violations);
+    }
+
+    private static List<String> cities() {
+        List<String> cities = new ArrayList<>();
+        for (String c : Env.string("FPS_CITIES", CITY).split(",")) {
+            if (!c.isBlank()) cities.add(c.trim());
+        }
+        return cities;
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -2,13 +2,13 @@ package tests;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
-import pom.PrivileeMapPage;
+import pom.PageStateSnapshot;
 
+@NonMutating
 public class MapLocatorTest extends BaseTest {
     @Test
     public void verifyMapClickable() {
-        PrivileeMapPage page = new PrivileeMapPage(driver, wait);
-        page.open();
-        Assert.assertTrue(page.isLoaded(), "Map not responsive");
+        PageStateSnapshot state = loadedPage();
+        Assert.assertTrue(state.isLoaded(), "Map not responsive: " + state);
     }
 }
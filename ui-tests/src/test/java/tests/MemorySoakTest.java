@@ -0,0 +1,90 @@
+package tests;
+
+import driver.Cdp;
+import metrics.MemoryCollector;
+import metrics.MemorySoakReport;
+import metrics.MetricsReportWriter;
+import network.NetworkPolicy;
+import network.ThirdParty;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+import pom.PrivileeMapPage;
+import support.Env;
+import support.Log;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Leak check, opt-in with SOAK=true: one page, SOAK_CYCLES (default 30) times select a city,
+ * Show venues, Clear filters, and after every cycle a DevTools memory sample (see MemoryCollector).
+ * Fails when heap, DOM nodes, listeners or documents keep growing per cycle beyond the budgets
+ * in MemorySoakReport; the first SOAK_WARMUP_CYCLES (default 3) are not part of the trend.
+ *
+ *   SOAK_FORCE_GC   collect garbage before each sample (default true)
+ */
+@NetworkPolicy(block = ThirdParty.NOISE)
+public class MemorySoakTest extends BaseTest {
+
+    private static final String CITY = System.getenv().getOrDefault("TEST_CITY", "Abu Dhabi");
+
+    @Test
+    public void filterCyclesShouldNotLeak() {
+        if (!Env.flag("SOAK", false)) {
+            throw new SkipException("Memory soak is opt-in: set SOAK=true");
+        }
+        int cycles = Env.intValue("SOAK_CYCLES", 30);
+        int warmup = Env.intValue("SOAK_WARMUP_CYCLES", 3);
+        if (cycles - warmup < 5) {
+            throw new SkipException("SOAK_CYCLES=" + cycles + " leaves fewer than 5 cycles after "
+                    + warmup + " warm-up cycles to fit a trend on");
+        }
+        if (!Cdp.isAvailable(getDriver())) {
+            throw new SkipException("Memory soak needs Chrome DevTools");
+        }
+
+        PrivileeMapPage page = page();
+        page.open();
+        Assert.assertTrue(page.isFilterPanelVisible(), "Filter panel is not visible; cannot run filter cycles.");
+
+        MemoryCollector collector = new MemoryCollector(getDriver(), Env.flag("SOAK_FORCE_GC", true));
+        MemorySoakReport soak = new MemorySoakReport(warmup);
+        String city;
+        try {
+            soak.record(collector.sample());
+            // The first cycle settles which chip exists; the rest repeat it
+            city = page.selectCityWithFallback(CITY, "Abu Dhabi");
+            finishCycle(page, city);
+            soak.record(collector.sample());
+
+            for (int cycle = 2; cycle <= cycles; cycle++) {
+                page.selectFilterChip(city);
+                finishCycle(page, city);
+                soak.record(collector.sample());
+                if (cycle % 10 == 0) Log.info("ℹ️ Memory soak: " + cycle + "/" + cycles + " cycles");
+            }
+        } finally {
+            collector.stop();
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("test", "MemorySoakTest.filterCyclesShouldNotLeak");
+        report.put("city", city);
+        report.put("cycles", cycles);
+        report.put("forceGc", Env.flag("SOAK_FORCE_GC", true));
+        report.putAll(soak.asMap());
+        MetricsReportWriter.write("memory-soak", report);
+
+        Log.info("ℹ️ Memory soak: " + soak.summary());
+        Assert.assertTrue(soak.violations().isEmpty(), "Memory keeps growing across filter cycles: " + soak.violations());
+    }
+
+    // Show venues, then back to no selection; deselecting the chip when there is no Clear filters button
+    private static void finishCycle(PrivileeMapPage page, String city) {
+        page.clickShowVenues();
+        if (!page.clearFilters() && !page.toggleFilterChip(city)) {
+            throw new IllegalStateException("Could not clear the '" + city + "' filter after Show venues");
+        }
+    }
+}
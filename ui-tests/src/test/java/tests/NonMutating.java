@@ -0,0 +1,20 @@
+package tests;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The test only reads the freshly opened map and never clicks, types or navigates.
+ * Such tests read BaseTest.loadedPage(), which is one page load shared by the whole suite,
+ * and get no browser session of their own. Unmarked tests keep a fresh session and page per test.
+ * SHARED_PAGE=false gives marked tests their own load again. Either way the load runs under
+ * SharedPage's network policy; a @NetworkPolicy on a marked class has no effect.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Inherited
+public @interface NonMutating {
+}
@@ -1,14 +1,19 @@
 package tests;
 
+import network.NetworkPolicy;
+import network.ThirdParty;
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import pom.PageStateSnapshot;
 import pom.PrivileeMapPage;
+import support.Log;
 
+@NetworkPolicy(block = ThirdParty.NOISE)
 public class OverFilteringNoVenuesTest extends BaseTest {
 
     @Test
     public void overFilteringShouldBeHandledGracefully() {
-        PrivileeMapPage page = new PrivileeMapPage(driver);
+        PrivileeMapPage page = page();
         page.open();
 
         // Requested city is configurable, but we fall back safely if it doesn't exist
@@ -16,15 +21,16 @@ public class OverFilteringNoVenuesTest extends BaseTest {
 
         int finalCount = page.applyFiltersToMinimizeVenues(requestedCity, "Abu Dhabi", 12);
 
+        String ctaText = page.getShowVenuesButtonText();
+
         // Helpful (shows up in CI logs)
-        System.out.println("ℹ️ Requested city: " + requestedCity);
-        System.out.println("ℹ️ Actual selected city: " + page.getLastSelectedCity());
-        System.out.println("ℹ️ Final CTA: " + page.getShowVenuesButtonText());
+        Log.info("ℹ️ Requested city: " + requestedCity);
+        Log.info("ℹ️ Actual selected city: " + page.getLastSelectedCity());
+        Log.info("ℹ️ Final CTA: " + ctaText);
 
         Assert.assertTrue(finalCount >= 0,
                 "Could not read 'Show N venues' CTA. The filter footer CTA may not have loaded.");
 
-        String ctaText = page.getShowVenuesButtonText();
         Assert.assertTrue(
                 ctaText.toLowerCase().contains("show") &&
                         ctaText.toLowerCase().contains("venues"),
@@ -34,22 +40,25 @@ public class OverFilteringNoVenuesTest extends BaseTest {
         // Apply filters to update results
         page.clickShowVenues();
 
+        // One round-trip for every signal below
+        PageStateSnapshot state = page.snapshot();
+        Log.info("ℹ️ Page state: " + state);
+
         if (finalCount == 0) {
             // ✅ True edge case: zero venues
             Assert.assertTrue(
-                    page.isZeroVenuesStateVisible() || page.isNoResultsVisible(),
+                    state.isZeroVenuesStateVisible() || state.isNoResultsVisible(),
                     "Expected a clear empty-state message after applying filters resulting in zero venues."
             );
         } else {
             // ✅ CI-safe validation for dynamic staging data:
             // After applying filters, we must see either data OR a clear state message.
-            boolean hasAnyData =
-                    page.getVenueCardCount() > 0 || page.getMarkerLikeCount() > 0;
+            boolean hasAnyData = state.hasVenueData();
 
             boolean hasStateMessage =
-                    page.isLoadingVisible() ||
-                            page.isNoResultsVisible() ||
-                            page.isErrorVisible();
+                    state.isLoadingVisible() ||
+                            state.isNoResultsVisible() ||
+                            state.isErrorVisible();
 
             Assert.assertTrue(
                     hasAnyData || hasStateMessage,
@@ -2,13 +2,13 @@ package tests;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
-import pom.PrivileeMapPage;
+import pom.PageStateSnapshot;
 
+@NonMutating
 public class PageLoadTest extends BaseTest {
     @Test
     public void verifyPageLoads() {
-        PrivileeMapPage page = new PrivileeMapPage(driver, wait);
-        page.open();
-        Assert.assertTrue(page.isLoaded(), "Privilee map page did not load successfully");
+        PageStateSnapshot state = loadedPage();
+        Assert.assertTrue(state.isLoaded(), "Privilee map page did not load successfully: " + state);
     }
 }
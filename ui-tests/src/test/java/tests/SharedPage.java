@@ -0,0 +1,85 @@
+package tests;
+
+import driver.DriverPool;
+import driver.PooledDriver;
+import network.NetworkMonitor;
+import network.NetworkPolicy;
+import network.ThirdParty;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import pom.PageStateSnapshot;
+import pom.PrivileeMapPage;
+import recorder.FlightRecorder;
+import support.Env;
+import support.Log;
+
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * The one map load every @NonMutating test reads. The first test to ask leases a session, opens the page,
+ * takes a PageStateSnapshot and gives the session straight back, so the fixture never holds a pool slot
+ * that a mutating test is waiting for. Later tests, on any thread, get the same immutable snapshot.
+ * If the load fails, the failure is kept and every sharing test fails with it; the load is not retried.
+ */
+final class SharedPage {
+
+    @NetworkPolicy(block = ThirdParty.NOISE)
+    private static final class Policy {
+    }
+
+    // Also what a marked test gets on its own load (SHARED_PAGE=false), so both modes load the same page
+    static NetworkPolicy policy() {
+        return Policy.class.getAnnotation(NetworkPolicy.class);
+    }
+
+    private static PageStateSnapshot snapshot;
+    private static RuntimeException failure;
+
+    private SharedPage() {
+    }
+
+    static synchronized PageStateSnapshot get() {
+        if (snapshot != null) return snapshot;
+        if (failure != null) throw new IllegalStateException("Shared map load failed earlier: " + failure.getMessage(), failure);
+
+        long start = System.currentTimeMillis();
+        PooledDriver session = DriverPool.getInstance().lease();
+        WebDriver driver = session.getDriver();
+        NetworkMonitor monitor = null;
+        try {
+            try {
+                monitor = NetworkMonitor.start(driver, policy(),
+                        false, Env.flag("NETWORK_BLOCKING", true));
+            } catch (Exception e) {
+                Log.info("⚠️ Could not apply network policy: " + e.getMessage());
+            }
+            PrivileeMapPage page = new PrivileeMapPage(driver, new WebDriverWait(driver, Duration.ofSeconds(20)));
+            page.open();
+            snapshot = page.snapshot();
+            Log.info("📄 Shared map page loaded in " + (System.currentTimeMillis() - start) + " ms: " + snapshot);
+            return snapshot;
+        } catch (RuntimeException e) {
+            failure = e;
+            screenshot(driver);
+            throw e;
+        } finally {
+            if (monitor != null) monitor.stop();
+            DriverPool.getInstance().release(session);
+        }
+    }
+
+    private static void screenshot(WebDriver driver) {
+        try {
+            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss_SSS").format(new Date());
+            Path target = Path.of("artifacts", "selenium-reports", "screenshots", "shared-page_" + timestamp + ".png");
+            FlightRecorder.saveScreenshotAsync(target, ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES));
+        } catch (Exception e) {
+            Log.info("⚠️ Could not capture screenshot: " + e.getMessage());
+        }
+    }
+}
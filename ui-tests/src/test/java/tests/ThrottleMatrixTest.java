@@ -0,0 +1,168 @@
+package tests;
+
+import driver.Cdp;
+import driver.Emulation;
+import driver.Viewport;
+import fixtures.FixtureServer;
+import metrics.BaselineStore;
+import metrics.FilterResponse;
+import metrics.PageLoadMetrics;
+import metrics.PageLoadMetricsCollector;
+import metrics.RegressionGate;
+import metrics.ThrottleMatrixReport;
+import network.NetworkPolicy;
+import network.NetworkProfile;
+import network.ThirdParty;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+import pom.PrivileeMapPage;
+import support.Env;
+import support.Log;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The /map load and the first filter click under emulated user conditions, opt-in with THROTTLE_MATRIX=true.
+ * Every combination of
+ *
+ *   THROTTLE_NETWORKS    NetworkProfile ids (default "cable,4g,3g"; also none, slow-3g)
+ *   THROTTLE_CPU         CPU slowdown factors (default "1,4")
+ *   THROTTLE_VIEWPORTS   Viewport ids (default "desktop,mobile"; also tablet)
+ *
+ * takes THROTTLE_SAMPLES cold-cache samples (default 3) of the PerformanceTest page-load metrics plus
+ * firstFilterResponseMs (click on the test city until the count and markers settled). The medians go
+ * into one grid (ThrottleMatrixReport). A cell whose panel doesn't offer TEST_CITY is skipped rather than
+ * measured on another city. Each cell also has its own baseline history per fixture mode, latency and
+ * bandwidth (so staging samples never enter a replay baseline), extended only by cells without regressions; regressions fail the test only with FIXTURE_MODE=replay, where run-to-run differences are
+ * the app's and not staging's.
+ */
+// Analytics and ads vary from load to load; fonts and tiles are part of what a user downloads
+@NetworkPolicy(block = {ThirdParty.ANALYTICS, ThirdParty.ADS})
+public class ThrottleMatrixTest extends BaseTest {
+
+    private static final String CITY = System.getenv().getOrDefault("TEST_CITY", "Abu Dhabi");
+
+    @Test
+    public void loadAndFirstFilterUnderThrottling() {
+        if (!Env.flag("THROTTLE_MATRIX", false)) {
+            throw new SkipException("Throttling matrix is opt-in: set THROTTLE_MATRIX=true");
+        }
+        if (!Cdp.isAvailable(getDriver())) {
+            throw new SkipException("Throttling needs Chrome DevTools");
+        }
+        List<NetworkProfile> networks = new ArrayList<>();
+        for (String id : list("THROTTLE_NETWORKS", "cable,4g,3g")) networks.add(NetworkProfile.of(id));
+        List<Double> cpus = new ArrayList<>();
+        for (String f : list("THROTTLE_CPU", "1,4")) cpus.add(Double.parseDouble(f));
+        List<Viewport> viewports = new ArrayList<>();
+        for (String id : list("THROTTLE_VIEWPORTS", "desktop,mobile")) viewports.add(Viewport.of(id));
+        int count = Math.max(1, Env.intValue("THROTTLE_SAMPLES", 3));
+
+        boolean comparable = FixtureServer.mode() == FixtureServer.Mode.REPLAY;
+        // Staging and replay runs (and replays at other latency / bandwidth) keep separate histories
+        String fixture = FixtureServer.mode().name().toLowerCase() + "/" + Env.intValue("FIXTURE_LATENCY_MS", 0) + "ms/"
+                + Env.intValue("FIXTURE_BANDWIDTH_KBPS", 0) + "kbps";
+        BaselineStore store = BaselineStore.fromEnv();
+        RegressionGate gate = RegressionGate.fromEnv();
+        ThrottleMatrixReport matrix = new ThrottleMatrixReport();
+        List<String> regressions = new ArrayList<>();
+
+        PrivileeMapPage page = page();
+        try {
+            for (Viewport viewport : viewports) {
+                for (NetworkProfile network : networks) {
+                    for (double cpu : cpus) {
+                        String cell = ThrottleMatrixReport.cellId(network.getId(), cpu, viewport.getId());
+                        Emulation.apply(getDriver(), network, cpu, viewport);
+                        Map<String, List<Double>> samples = new LinkedHashMap<>();
+                        boolean cityShown = true;
+                        for (int i = 0; i < count && cityShown; i++) {
+                            Map<String, Double> values = sample(page);
+                            if (values == null) cityShown = false;
+                            else values.forEach((metric, value) ->
+                                    samples.computeIfAbsent(metric, k -> new ArrayList<>()).add(value));
+                        }
+                        if (!cityShown) {
+                            String reason = "'" + CITY + "' is not in the filter panel";
+                            matrix.addSkipped(network.getId(), cpu, viewport.getId(), reason);
+                            Log.info("⚠️ " + cell + " skipped: " + reason);
+                            continue;
+                        }
+
+                        String test = "ThrottleMatrixTest[" + cell + "@" + fixture + "]";
+                        Map<String, List<BaselineStore.RunSamples>> history =
+                                store.history(test, CITY, Env.intValue("PERF_BASELINE_RUNS", 20));
+                        List<RegressionGate.Verdict> verdicts = gate.evaluate(samples, history);
+                        List<String> cellRegressions = RegressionGate.regressions(verdicts);
+                        if (cellRegressions.isEmpty()) store.append(test, CITY, samples);
+                        matrix.add(network.getId(), cpu, viewport.getId(), samples, verdicts);
+                        for (String r : cellRegressions) regressions.add(cell + ": " + r);
+                        Log.info("ℹ️ " + cell + ": " + matrix.getCells().get(matrix.getCells().size() - 1).get("metrics"));
+                    }
+                }
+            }
+        } finally {
+            Emulation.reset(getDriver());
+        }
+
+        Map<String, Object> extra = new LinkedHashMap<>();
+        extra.put("test", "ThrottleMatrixTest.loadAndFirstFilterUnderThrottling");
+        extra.put("url", PrivileeMapPage.BASE_URL);
+        extra.put("city", CITY);
+        extra.put("timestamp", System.currentTimeMillis());
+        extra.put("fixtureMode", FixtureServer.mode().name().toLowerCase());
+        extra.put("fixtureLatencyMs", Env.intValue("FIXTURE_LATENCY_MS", 0));
+        extra.put("fixtureBandwidthKbps", Env.intValue("FIXTURE_BANDWIDTH_KBPS", 0));
+        extra.put("samplesPerCell", count);
+        List<String> profiles = new ArrayList<>();
+        for (NetworkProfile n : networks) profiles.add(n.toString());
+        extra.put("networkProfiles", profiles);
+        extra.put("regressions", regressions);
+        matrix.write("throttle-matrix", extra);
+
+        if (!matrix.hasMeasuredCells()) {
+            throw new SkipException("'" + CITY + "' is not in the filter panel in any cell (TEST_CITY)");
+        }
+
+        if (!comparable) {
+            if (!regressions.isEmpty()) Log.info("⚠️ Not gating on regressions outside FIXTURE_MODE=replay: " + regressions);
+            return;
+        }
+        Assert.assertTrue(regressions.isEmpty(), "Slower than baseline " + store.getFile() + ": " + regressions);
+    }
+
+    // One cold load plus the first filter click; null when the panel doesn't offer CITY
+    private Map<String, Double> sample(PrivileeMapPage page) {
+        Cdp.execute(getDriver(), "Network.clearBrowserCache");
+        Map<String, Double> values = new LinkedHashMap<>();
+        PageLoadMetricsCollector collector = new PageLoadMetricsCollector(getDriver());
+        try {
+            collector.install();
+            long start = System.currentTimeMillis();
+            page.open();
+            long mapUsableMs = System.currentTimeMillis() - start;
+            page.waitShortForUpdate();
+            PageLoadMetrics metrics = collector.collect(mapUsableMs);
+            values.putAll(metrics.asMap());
+        } finally {
+            collector.uninstall();
+        }
+
+        if (!page.showFilterChip(CITY)) return null;
+        FilterResponse response = page.toggleFilterChipTimed(CITY);
+        values.put(ThrottleMatrixReport.FIRST_FILTER_RESPONSE_MS, response.isResponded() ? response.getResponseMs() : -1);
+        return values;
+    }
+
+    private static List<String> list(String name, String defaultValue) {
+        List<String> out = new ArrayList<>();
+        for (String s : Env.string(name, defaultValue).split(",")) {
+            if (!s.isBlank()) out.add(s.trim());
+        }
+        return out;
+    }
+}
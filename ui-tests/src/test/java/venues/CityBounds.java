@@ -0,0 +1,96 @@
+package venues;
+
+import support.Env;
+import support.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lat/lng boxes a city's venues must fall into. Emirates with exclaves (Dubai's Hatta,
+ * Sharjah's east coast) get more than one box.
+ *
+ * VENUE_CITY_BOUNDS="minLat,minLng,maxLat,maxLng[;...]" replaces the box of the city under test.
+ */
+public final class CityBounds {
+
+    private static final Map<String, CityBounds> KNOWN = new LinkedHashMap<>();
+
+    static {
+        // Generous on purpose: the check is "not in another emirate / not at 0,0", not a survey
+        add("abu dhabi", 22.60, 51.50, 24.95, 56.05);
+        add("dubai", 24.60, 54.85, 25.40, 55.65, 24.70, 56.00, 24.90, 56.25);
+        add("sharjah", 24.95, 55.35, 25.45, 56.00, 24.95, 56.20, 25.40, 56.40);
+        add("ajman", 25.33, 55.40, 25.48, 55.65);
+        add("umm al quwain", 25.40, 55.50, 25.65, 55.95);
+        add("ras al khaimah", 25.30, 55.70, 26.10, 56.20);
+        add("fujairah", 25.05, 56.00, 25.70, 56.40);
+    }
+
+    private final String city;
+    private final List<double[]> boxes;
+
+    private CityBounds(String city, List<double[]> boxes) {
+        this.city = city;
+        this.boxes = Collections.unmodifiableList(boxes);
+    }
+
+    /**
+     * @return the city's boxes (VENUE_CITY_BOUNDS first), or null when the city is unknown
+     */
+    public static CityBounds forCity(String city) {
+        String override = Env.string("VENUE_CITY_BOUNDS", null);
+        if (override != null) {
+            try {
+                return parse(city, override);
+            } catch (RuntimeException e) {
+                Log.info("⚠️ Ignoring VENUE_CITY_BOUNDS=" + override + ": " + e.getMessage());
+            }
+        }
+        return city == null ? null : KNOWN.get(city.trim().toLowerCase(Locale.ROOT));
+    }
+
+    static CityBounds parse(String city, String spec) {
+        List<double[]> boxes = new ArrayList<>();
+        for (String box : spec.split(";")) {
+            String[] parts = box.trim().split(",");
+            if (parts.length != 4) throw new IllegalArgumentException("expected minLat,minLng,maxLat,maxLng");
+            double[] b = new double[4];
+            for (int i = 0; i < 4; i++) b[i] = Double.parseDouble(parts[i].trim());
+            boxes.add(b);
+        }
+        return new CityBounds(city, boxes);
+    }
+
+    private static void add(String city, double... corners) {
+        List<double[]> boxes = new ArrayList<>();
+        for (int i = 0; i < corners.length; i += 4) {
+            boxes.add(new double[]{corners[i], corners[i + 1], corners[i + 2], corners[i + 3]});
+        }
+        KNOWN.put(city, new CityBounds(city, boxes));
+    }
+
+    public boolean contains(double lat, double lng) {
+        for (double[] b : boxes) {
+            if (lat >= b[0] && lat <= b[2] && lng >= b[1] && lng <= b[3]) return true;
+        }
+        return false;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(city).append(' ');
+        for (double[] b : boxes) {
+            sb.append(String.format(Locale.ROOT, "[%.2f,%.2f..%.2f,%.2f]", b[0], b[1], b[2], b[3]));
+        }
+        return sb.toString();
+    }
+}
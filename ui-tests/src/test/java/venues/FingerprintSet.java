@@ -0,0 +1,69 @@
+package venues;
+
+/**
+ * Concurrent set of 64-bit fingerprints, open addressing in plain long[] per stripe:
+ * 8 bytes per entry instead of a String plus a HashMap node, and workers only contend
+ * when they hit the same stripe.
+ *
+ * At 64 bits two different keys collide with probability ~n²/2^65 - negligible for any catalogue.
+ */
+final class FingerprintSet {
+
+    private static final int STRIPES = 64;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    FingerprintSet() {
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe();
+    }
+
+    // false if already present
+    boolean add(long fingerprint) {
+        long key = fingerprint == 0 ? 1 : fingerprint;   // 0 marks an empty slot
+        return stripes[(int) (key >>> 58)].add(key);
+    }
+
+    // FNV-1a over the UTF-16 chars, then a final avalanche so stripes and slots both get good bits
+    static long fingerprint(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Stripe {
+        private long[] slots = new long[64];
+        private int size;
+
+        synchronized boolean add(long key) {
+            if (size * 2 >= slots.length) grow();
+            if (!insert(slots, key)) return false;
+            size++;
+            return true;
+        }
+
+        private void grow() {
+            long[] bigger = new long[slots.length * 2];
+            for (long k : slots) {
+                if (k != 0) insert(bigger, k);
+            }
+            slots = bigger;
+        }
+
+        private static boolean insert(long[] table, long key) {
+            int mask = table.length - 1;
+            for (int i = (int) key & mask; ; i = (i + 1) & mask) {
+                if (table[i] == key) return false;
+                if (table[i] == 0) {
+                    table[i] = key;
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package venues;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One venue as returned by the map's venue API. Coordinates are NaN when the payload had none.
+ */
+public final class Venue {
+
+    private final String id;
+    private final String name;
+    private final String city;
+    private final double latitude;
+    private final double longitude;
+    private final List<String> tags;
+
+    public Venue(String id, String name, String city, double latitude, double longitude, List<String> tags) {
+        this.id = id;
+        this.name = name;
+        this.city = city;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.tags = tags == null ? Collections.emptyList() : Collections.unmodifiableList(tags);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public boolean hasCoordinates() {
+        return !Double.isNaN(latitude) && !Double.isNaN(longitude);
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public Map<String, Object> asMap() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", id);
+        m.put("name", name);
+        m.put("city", city);
+        if (hasCoordinates()) {
+            m.put("lat", latitude);
+            m.put("lng", longitude);
+        }
+        m.put("tags", tags);
+        return m;
+    }
+
+    @Override
+    public String toString() {
+        return "Venue{id=" + id + ", name=" + name + ", city=" + city
+                + (hasCoordinates() ? ", " + latitude + "," + longitude : "") + ", tags=" + tags + "}";
+    }
+}
@@ -0,0 +1,226 @@
+package venues;
+
+import driver.Cdp;
+import network.NetworkMonitor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import support.Env;
+import support.Log;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Captures the map's venue API responses through DevTools and parses them off the event thread.
+ *
+ * Which responses count: JSON bodies whose URL matches VENUE_API_URLS (comma-separated
+ * DevTools-style wildcards, default "*venue*") and that are shaped like a venue list
+ * (VenueJsonParser.Result.isVenueList): category lists, single-venue details and count endpoints
+ * under the same URL pattern are ignored.
+ *
+ * Page objects take a mark() before an interaction and ask for the newest list response after it,
+ * once no matching request is in flight any more, so a count is never read from a response that
+ * predates the click or was superseded by a later one.
+ *
+ * Bodies are buffered: DevTools hands out a finished body only whole, through Network.getResponseBody
+ * (streaming it would mean intercepting every matching request with Fetch, which NetworkMonitor may
+ * already own). That is one string the size of the payload per response, on the parser thread; the
+ * pull parser then avoids building a document tree and a list of maps on top of it.
+ */
+public class VenueFeed {
+
+    // After the SPA settled, how long a response DevTools hasn't reported yet may still arrive
+    private static final long EVENT_GRACE_MS = 250;
+    // Responses kept for since(): enough for a paged or tiled catalogue, bounded for long sessions
+    private static final int RECENT_RESPONSES = 64;
+
+    private final DevTools devTools;
+    private final List<Pattern> urlPatterns;
+    private final ExecutorService parser;
+
+    private final Map<String, String> matchedUrls = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Object lock = new Object();
+    private volatile VenueResponse latest;
+    private final Deque<VenueResponse> recent = new ArrayDeque<>();
+    private volatile boolean active = true;
+
+    private VenueFeed(DevTools devTools, List<Pattern> urlPatterns) {
+        this.devTools = devTools;
+        this.urlPatterns = urlPatterns;
+        this.parser = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "venue-feed");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * @return a running feed, or null when VENUE_API=false or the browser has no DevTools
+     */
+    public static VenueFeed start(WebDriver driver) {
+        if (!Env.flag("VENUE_API", true) || !Cdp.hasDevTools(driver)) return null;
+
+        List<Pattern> patterns = new ArrayList<>();
+        for (String glob : Env.string("VENUE_API_URLS", "*venue*").split(",")) {
+            if (!glob.isBlank()) patterns.add(NetworkMonitor.wildcard(glob.trim()));
+        }
+
+        VenueFeed feed = new VenueFeed(Cdp.devTools(driver), patterns);
+        feed.enable();
+        return feed;
+    }
+
+    private void enable() {
+        devTools.addListener(Cdp.event("Network.responseReceived"), this::onResponse);
+        devTools.addListener(Cdp.event("Network.loadingFinished"), this::onFinished);
+        devTools.addListener(Cdp.event("Network.loadingFailed"), e -> forget((String) e.get("requestId")));
+        Cdp.send(devTools, "Network.enable");
+    }
+
+    // Network.disable and the listeners are left to the pool reset: NetworkMonitor may share the domain
+    public void stop() {
+        if (!active) return;
+        active = false;
+        parser.shutdownNow();
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+    }
+
+    /* ============================
+       Reading
+       ============================ */
+
+    // Sequence number of the newest response so far; pass to awaitSince() after an interaction
+    public long mark() {
+        return sequence.get();
+    }
+
+    public Optional<VenueResponse> latest() {
+        return Optional.ofNullable(latest);
+    }
+
+    /**
+     * Newest response after mark, once no matching request is in flight (or at the timeout).
+     * Empty when the interaction triggered no venue request (e.g. the page filtered client-side).
+     */
+    public Optional<VenueResponse> awaitSince(long mark, long timeoutMs) {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeoutMs;
+        synchronized (lock) {
+            while (active) {
+                VenueResponse current = latest;
+                boolean fresh = current != null && current.getSequence() > mark;
+                long now = System.currentTimeMillis();
+                if (fresh && (inFlight.get() == 0 || now >= deadline)) return Optional.of(current);
+
+                if (now >= deadline) break;
+                if (inFlight.get() == 0 && now - start >= EVENT_GRACE_MS) break;
+                try {
+                    lock.wait(Math.min(50, deadline - now));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Every list response after mark, oldest first (only the last RECENT_RESPONSES are kept); does not wait
+    public List<VenueResponse> since(long mark) {
+        List<VenueResponse> out = new ArrayList<>();
+        synchronized (lock) {
+            for (VenueResponse r : recent) {
+                if (r.getSequence() > mark) out.add(r);
+            }
+        }
+        return out;
+    }
+
+    /* ============================
+       Event handlers
+       ============================ */
+
+    private void onResponse(Map<String, Object> event) {
+        Map<?, ?> response = (Map<?, ?>) event.get("response");
+        if (!active || response == null) return;
+        String url = String.valueOf(response.get("url"));
+        String mime = String.valueOf(response.get("mimeType"));
+        if (!mime.contains("json") || urlPatterns.stream().noneMatch(p -> p.matcher(url).matches())) return;
+        if (matchedUrls.put((String) event.get("requestId"), url) == null) inFlight.incrementAndGet();
+    }
+
+    private void onFinished(Map<String, Object> event) {
+        String requestId = (String) event.get("requestId");
+        String url = matchedUrls.get(requestId);
+        if (url == null || !active) return;
+        try {
+            // getResponseBody goes over the same socket: never block the event thread on it
+            parser.execute(() -> {
+                try {
+                    read(requestId, url);
+                } finally {
+                    forget(requestId);
+                }
+            });
+        } catch (Exception e) {
+            forget(requestId);
+        }
+    }
+
+    private void forget(String requestId) {
+        if (requestId != null && matchedUrls.remove(requestId) != null) inFlight.decrementAndGet();
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+    }
+
+    private void read(String requestId, String url) {
+        try {
+            Map<String, Object> body = Cdp.send(devTools, "Network.getResponseBody", Map.of("requestId", requestId));
+            String text = String.valueOf(body.getOrDefault("body", ""));
+
+            // Base64 bodies are decoded while parsing, not into a second full-size string
+            Reader reader = Boolean.TRUE.equals(body.get("base64Encoded"))
+                    ? new InputStreamReader(Base64.getDecoder().wrap(
+                    new ByteArrayInputStream(text.getBytes(StandardCharsets.ISO_8859_1))), StandardCharsets.UTF_8)
+                    : new StringReader(text);
+
+            long started = System.nanoTime();
+            List<Venue> venues = new ArrayList<>();
+            VenueJsonParser.Result result = VenueJsonParser.read(reader, venues::add);
+            long micros = (System.nanoTime() - started) / 1_000;
+
+            if (!result.isVenueList()) return;
+
+            synchronized (lock) {
+                latest = new VenueResponse(sequence.incrementAndGet(), url, result.getTotal(), venues, micros);
+                recent.addLast(latest);
+                if (recent.size() > RECENT_RESPONSES) recent.removeFirst();
+                lock.notifyAll();
+            }
+        } catch (Exception e) {
+            // Body evicted (navigation) or not JSON after all
+            if (active) Log.info("⚠️ Could not read venue API response " + url + ": " + e.getMessage());
+        }
+    }
+}
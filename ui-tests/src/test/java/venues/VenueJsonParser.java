@@ -0,0 +1,317 @@
+package venues;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.json.JsonType;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Pull-parses a venue API payload without building a document tree: venues are handed to the
+ * sink as soon as their object closes, so beyond the reader's own input only one venue is held at a time
+ * (VenueFeed's input is the buffered response body; VENUE_DATASET files and URLs are streamed).
+ *
+ * The exact schema is not pinned down on purpose (the staging API changes). A venue is an element of
+ * a venue list (the root array, or an array under venues / data / results / items / hits ...) or the root
+ * object, with a name/title and either an id or coordinates. Arrays inside a venue (images, gallery,
+ * opening hours ...) never produce venues of their own. Coordinates are read from lat/lng fields, nested
+ * location/geo objects or GeoJSON [lng, lat] pairs; nested "properties"-style objects fill in fields the
+ * venue doesn't set itself.
+ * The total is the shallowest total-style number (not a bare "count", usually a page size) in the root
+ * object or one level below it (meta / pagination), outside of any array.
+ */
+public final class VenueJsonParser {
+
+    private static final Json JSON = new Json();
+
+    private static final Set<String> ID_KEYS = Set.of("id", "_id", "uuid", "venueid", "venue_id", "slug");
+    private static final Set<String> NAME_KEYS = Set.of("name", "title", "venuename", "venue_name", "displayname");
+    private static final Set<String> CITY_KEYS = Set.of("city", "emirate", "cityname", "city_name");
+    private static final Set<String> LAT_KEYS = Set.of("lat", "latitude");
+    private static final Set<String> LNG_KEYS = Set.of("lng", "lon", "long", "longitude");
+    private static final Set<String> TAG_KEYS = Set.of("tags", "tag", "categories", "category", "types",
+            "amenities", "activities", "facilities");
+    private static final Set<String> TOTAL_KEYS = Set.of("total", "totalcount", "total_count",
+            "totalresults", "total_results", "totalitems", "total_items", "nbhits", "venuecount", "venue_count",
+            "venuescount", "venues_count");
+    private static final Set<String> LIST_KEYS = Set.of("venues", "data", "results", "items", "hits", "records",
+            "docs", "rows", "content", "list", "nodes");
+    // Totals deeper than {"meta": {"total": n}} belong to something else
+    private static final int MAX_TOTAL_DEPTH = 2;
+
+    // Where the parser is: above any venue list, directly in one, or inside a venue
+    private enum Scope { OUTSIDE, LIST, ITEM }
+
+    /**
+     * What a payload contained besides the venues themselves. A venue list response has a list with
+     * located venues (the map can't show the others), or an empty list with a total or under a venue key.
+     */
+    public static final class Result {
+        private final long total;
+        private final boolean list;
+        private final boolean venueKeyedList;
+        private final int venues;
+        private final int located;
+
+        private Result(long total, boolean list, boolean venueKeyedList, int venues, int located) {
+            this.total = total;
+            this.list = list;
+            this.venueKeyedList = venueKeyedList;
+            this.venues = venues;
+            this.located = located;
+        }
+
+        // -1 if the payload reported none
+        public long getTotal() {
+            return total;
+        }
+
+        public int getVenues() {
+            return venues;
+        }
+
+        public boolean isVenueList() {
+            if (!list) return false;
+            return venues == 0 ? total >= 0 || venueKeyedList : located > 0;
+        }
+    }
+
+    private final Consumer<Venue> sink;
+    private long total = -1;
+    private int totalDepth = Integer.MAX_VALUE;
+    private boolean list;
+    private boolean venueKeyedList;
+    private int venues;
+    private int located;
+
+    private VenueJsonParser(Consumer<Venue> sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * @return the total the payload reported, -1 if none
+     */
+    public static long parse(Reader reader, Consumer<Venue> sink) {
+        return read(reader, sink).getTotal();
+    }
+
+    public static Result read(Reader reader, Consumer<Venue> sink) {
+        VenueJsonParser parser = new VenueJsonParser(sink);
+        try (JsonInput in = JSON.newInput(reader)) {
+            if (in.peek() != JsonType.END) parser.value(in, "", 0, false, null, Scope.OUTSIDE);
+        }
+        return new Result(parser.total, parser.list, parser.venueKeyedList, parser.venues, parser.located);
+    }
+
+    public static List<Venue> parseAll(Reader reader) {
+        List<Venue> venues = new ArrayList<>();
+        parse(reader, venues::add);
+        return venues;
+    }
+
+    /* ============================
+       Recursive descent
+       ============================ */
+
+    private void value(JsonInput in, String key, int depth, boolean inArray, Draft owner, Scope scope) {
+        switch (in.peek()) {
+            case START_MAP:
+                object(in, key, depth, inArray, owner, scope);
+                break;
+            case START_COLLECTION:
+                array(in, key, depth, owner, scope);
+                break;
+            case STRING:
+                scalar(key, in.nextString(), owner);
+                break;
+            case NUMBER:
+                Number n = in.nextNumber();
+                if (scope == Scope.OUTSIDE && !inArray && TOTAL_KEYS.contains(key)
+                        && depth <= MAX_TOTAL_DEPTH && depth < totalDepth) {
+                    total = n.longValue();
+                    totalDepth = depth;
+                }
+                scalar(key, n, owner);
+                break;
+            default:
+                in.skipValue();
+        }
+    }
+
+    private void object(JsonInput in, String key, int depth, boolean inArray, Draft owner, Scope scope) {
+        Draft draft = new Draft();
+        Scope inner = scope == Scope.LIST ? Scope.ITEM : scope;
+        in.beginObject();
+        while (in.hasNext()) {
+            String field = in.nextName().toLowerCase(Locale.ROOT);
+            value(in, field, depth + 1, inArray, draft, inner);
+        }
+        in.endObject();
+
+        // A field of another object: feeds the owner, never a venue of its own
+        if (owner != null) {
+            if (CITY_KEYS.contains(key)) {
+                if (owner.city == null) owner.city = draft.name();
+            } else if (TAG_KEYS.contains(key)) {
+                if (draft.name() != null) owner.tags.add(draft.name());
+            } else {
+                owner.inherit(draft);
+            }
+            return;
+        }
+        // Only list elements and a root object are venues; objects in other arrays are just containers
+        if ((scope == Scope.LIST || depth == 0) && draft.isVenue()) {
+            venues++;
+            if (!Double.isNaN(draft.lat()) && !Double.isNaN(draft.lng())) located++;
+            sink.accept(draft.toVenue());
+        }
+    }
+
+    private void array(JsonInput in, String key, int depth, Draft owner, Scope scope) {
+        in.beginArray();
+        if (owner != null && "coordinates".equals(key) && in.peek() == JsonType.NUMBER) {
+            // GeoJSON order: [lng, lat]
+            double lng = in.nextNumber().doubleValue();
+            double lat = in.hasNext() && in.peek() == JsonType.NUMBER ? in.nextNumber().doubleValue() : Double.NaN;
+            owner.geo(lat, lng);
+            while (in.hasNext()) in.skipValue();
+            in.endArray();
+            return;
+        }
+        boolean isList = scope != Scope.ITEM && (depth == 0 || LIST_KEYS.contains(key) || key.contains("venue"));
+        if (isList) {
+            list = true;
+            if (key.contains("venue")) venueKeyedList = true;
+        }
+        Scope elements = isList ? Scope.LIST : Scope.OUTSIDE;
+        while (in.hasNext()) {
+            JsonType type = in.peek();
+            if (owner != null && TAG_KEYS.contains(key) && type == JsonType.STRING) {
+                owner.tags.add(in.nextString());
+            } else if (owner != null && TAG_KEYS.contains(key) && type == JsonType.START_MAP) {
+                // [{ "name": "Pool" }, ...]: a tag, not a venue
+                Draft tag = new Draft();
+                in.beginObject();
+                while (in.hasNext()) value(in, in.nextName().toLowerCase(Locale.ROOT), depth + 1, true, tag, Scope.ITEM);
+                in.endObject();
+                if (tag.name() != null) owner.tags.add(tag.name());
+            } else if (scope == Scope.ITEM) {
+                // images, gallery, opening hours ... of a venue: not venues, not tags
+                in.skipValue();
+            } else {
+                value(in, key, depth + 1, true, null, elements);
+            }
+        }
+        in.endArray();
+    }
+
+    private static void scalar(String key, Object v, Draft d) {
+        if (d == null) return;
+        if (ID_KEYS.contains(key)) {
+            if (d.id == null || "slug".equals(d.idKey)) {
+                d.id = String.valueOf(v instanceof Number && isWhole((Number) v) ? ((Number) v).longValue() : v);
+                d.idKey = key;
+            }
+        } else if (NAME_KEYS.contains(key)) {
+            if (d.name == null || !"name".equals(d.nameKey)) {
+                d.name = String.valueOf(v);
+                d.nameKey = key;
+            }
+        } else if (CITY_KEYS.contains(key)) {
+            if (d.city == null) d.city = String.valueOf(v);
+        } else if (LAT_KEYS.contains(key)) {
+            d.lat = number(v);
+        } else if (LNG_KEYS.contains(key)) {
+            d.lng = number(v);
+        } else if (TAG_KEYS.contains(key) && v instanceof String) {
+            d.tags.add((String) v);
+        }
+    }
+
+    private static boolean isWhole(Number n) {
+        return n.doubleValue() == Math.rint(n.doubleValue());
+    }
+
+    private static double number(Object v) {
+        if (v instanceof Number) return ((Number) v).doubleValue();
+        try {
+            return Double.parseDouble(String.valueOf(v).trim());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /* ============================
+       One object while it is being read
+       ============================ */
+
+    private static final class Draft {
+        String id;
+        String idKey;
+        String name;
+        String nameKey;
+        String city;
+        double lat = Double.NaN;
+        double lng = Double.NaN;
+        final List<String> tags = new ArrayList<>();
+
+        // Values from nested objects (properties, location ...), used only where the object has none
+        Draft inherited;
+
+        void geo(double latitude, double longitude) {
+            if (Double.isNaN(lat)) lat = latitude;
+            if (Double.isNaN(lng)) lng = longitude;
+        }
+
+        void inherit(Draft child) {
+            if (inherited == null) inherited = new Draft();
+            Draft target = inherited;
+            if (target.id == null) target.id = child.id();
+            if (target.name == null) target.name = child.name();
+            if (target.city == null) target.city = child.city();
+            if (Double.isNaN(target.lat)) target.lat = child.lat();
+            if (Double.isNaN(target.lng)) target.lng = child.lng();
+            target.tags.addAll(child.tags());
+        }
+
+        String id() {
+            return id != null ? id : inherited == null ? null : inherited.id;
+        }
+
+        String name() {
+            return name != null ? name : inherited == null ? null : inherited.name;
+        }
+
+        String city() {
+            return city != null ? city : inherited == null ? null : inherited.city;
+        }
+
+        double lat() {
+            return !Double.isNaN(lat) || inherited == null ? lat : inherited.lat;
+        }
+
+        double lng() {
+            return !Double.isNaN(lng) || inherited == null ? lng : inherited.lng;
+        }
+
+        List<String> tags() {
+            if (inherited == null || inherited.tags.isEmpty()) return tags;
+            List<String> all = new ArrayList<>(tags);
+            all.addAll(inherited.tags);
+            return all;
+        }
+
+        boolean isVenue() {
+            return name() != null && (id() != null || (!Double.isNaN(lat()) && !Double.isNaN(lng())));
+        }
+
+        Venue toVenue() {
+            return new Venue(id(), name(), city(), lat(), lng(), tags());
+        }
+    }
+}
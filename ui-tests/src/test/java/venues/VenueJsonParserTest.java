@@ -0,0 +1,86 @@
+package venues;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The streaming venue parser on small payloads in the shapes its doc comment promises to handle.
+ */
+public class VenueJsonParserTest {
+
+    @Test
+    public void wrappedListShouldYieldVenuesAndTheMetaTotal() {
+        List<Venue> venues = new ArrayList<>();
+        VenueJsonParser.Result result = VenueJsonParser.read(new StringReader("""
+                {"meta": {"pagination": {"total": 999}, "total": 120, "count": 20},
+                 "data": [
+                   {"id": 1, "name": "Beach Club", "city": "Dubai", "lat": 25.1, "lng": 55.2, "tags": ["Pool"],
+                    "images": [{"id": 9, "name": "hero.jpg"}]},
+                   {"uuid": "b-2", "title": "Spa", "location": {"latitude": "24.4", "longitude": "54.4"},
+                    "city": {"name": "Abu Dhabi"}, "categories": [{"name": "Wellness"}]}
+                 ]}
+                """), venues::add);
+
+        Assert.assertEquals(result.getTotal(), 120L);
+        Assert.assertEquals(result.getVenues(), 2);
+        Assert.assertTrue(result.isVenueList());
+
+        Venue club = venues.get(0);
+        Assert.assertEquals(club.getId(), "1");
+        Assert.assertEquals(club.getName(), "Beach Club");
+        Assert.assertEquals(club.getCity(), "Dubai");
+        Assert.assertEquals(club.getTags(), List.of("Pool"));
+
+        Venue spa = venues.get(1);
+        Assert.assertEquals(spa.getId(), "b-2");
+        Assert.assertEquals(spa.getCity(), "Abu Dhabi");
+        Assert.assertEquals(spa.getLatitude(), 24.4, 1e-9);
+        Assert.assertEquals(spa.getLongitude(), 54.4, 1e-9);
+        Assert.assertEquals(spa.getTags(), List.of("Wellness"));
+    }
+
+    @Test
+    public void geoJsonCoordinatesShouldBeLngLat() {
+        List<Venue> venues = VenueJsonParser.parseAll(new StringReader("""
+                [{"id": 3.0, "name": "Marina", "geometry": {"type": "Point", "coordinates": [55.3, 25.2]}}]
+                """));
+
+        Assert.assertEquals(venues.size(), 1);
+        Assert.assertEquals(venues.get(0).getId(), "3");
+        Assert.assertEquals(venues.get(0).getLatitude(), 25.2, 1e-9);
+        Assert.assertEquals(venues.get(0).getLongitude(), 55.3, 1e-9);
+    }
+
+    @Test
+    public void emptyListsShouldCountOnlyWithATotalOrVenueKey() {
+        VenueJsonParser.Result venueKeyed = VenueJsonParser.read(new StringReader("{\"count\": 20, \"venues\": []}"), v -> { });
+        Assert.assertEquals(venueKeyed.getTotal(), -1L, "a bare count is a page size, not a total");
+        Assert.assertTrue(venueKeyed.isVenueList());
+
+        Assert.assertTrue(VenueJsonParser.read(new StringReader("{\"total\": 0, \"data\": []}"), v -> { }).isVenueList());
+        Assert.assertFalse(VenueJsonParser.read(new StringReader("{\"data\": []}"), v -> { }).isVenueList());
+    }
+
+    @Test
+    public void otherPayloadsShouldNotLookLikeVenueLists() {
+        VenueJsonParser.Result banners = VenueJsonParser.read(new StringReader("""
+                {"banners": [{"id": 1, "name": "Promo"}], "error": null}
+                """), v -> { });
+        Assert.assertEquals(banners.getVenues(), 0);
+        Assert.assertFalse(banners.isVenueList());
+
+        // Named elements without coordinates: a list, but nothing the map could show
+        Assert.assertFalse(VenueJsonParser.read(new StringReader("[{\"id\": 1, \"name\": \"Offer\"}]"), v -> { }).isVenueList());
+
+        List<Venue> single = new ArrayList<>();
+        VenueJsonParser.Result root = VenueJsonParser.read(new StringReader("""
+                {"id": 5, "name": "Solo", "latitude": "25.0", "longitude": "55.0"}
+                """), single::add);
+        Assert.assertEquals(single.size(), 1);
+        Assert.assertFalse(root.isVenueList());
+    }
+}
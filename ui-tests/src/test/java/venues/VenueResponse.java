@@ -0,0 +1,62 @@
+package venues;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One parsed venue API response. total is the count the API reported (-1 if it reported none).
+ */
+public final class VenueResponse {
+
+    private final long sequence;
+    private final String url;
+    private final long receivedAtMillis;
+    private final long total;
+    private final List<Venue> venues;
+    private final long parseMicros;
+
+    VenueResponse(long sequence, String url, long total, List<Venue> venues, long parseMicros) {
+        this.sequence = sequence;
+        this.url = url;
+        this.receivedAtMillis = System.currentTimeMillis();
+        this.total = total;
+        this.venues = Collections.unmodifiableList(venues);
+        this.parseMicros = parseMicros;
+    }
+
+    // Increases with every response the feed accepts
+    public long getSequence() {
+        return sequence;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public long getReceivedAtMillis() {
+        return receivedAtMillis;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public List<Venue> getVenues() {
+        return venues;
+    }
+
+    public long getParseMicros() {
+        return parseMicros;
+    }
+
+    // Reported total if there is one, otherwise the number of venues in the payload
+    public int getCount() {
+        return total >= 0 ? (int) Math.min(total, Integer.MAX_VALUE) : venues.size();
+    }
+
+    @Override
+    public String toString() {
+        return "VenueResponse{#" + sequence + " count=" + getCount() + " venues=" + venues.size()
+                + " parse=" + parseMicros + "µs " + url + "}";
+    }
+}
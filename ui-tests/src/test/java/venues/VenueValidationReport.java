@@ -0,0 +1,106 @@
+package venues;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of one VenueValidator run: every violation is counted, the first few per rule are kept
+ * as examples, and the complete list is in the JSON-lines file (if one was configured).
+ * Warning rules are counted separately and don't make the report invalid.
+ */
+public final class VenueValidationReport {
+
+    private final String city;
+    private final long checked;
+    private final long elapsedMs;
+    private final int threads;
+    private final Map<VenueValidator.Rule, Long> counts;
+    private final Map<VenueValidator.Rule, List<String>> examples;
+    private final Path violationFile;
+
+    VenueValidationReport(String city, long checked, long elapsedMs, int threads,
+                          Map<VenueValidator.Rule, Long> counts,
+                          Map<VenueValidator.Rule, List<String>> examples, Path violationFile) {
+        this.city = city;
+        this.checked = checked;
+        this.elapsedMs = elapsedMs;
+        this.threads = threads;
+        this.counts = counts;
+        this.examples = examples;
+        this.violationFile = violationFile;
+    }
+
+    public long getChecked() {
+        return checked;
+    }
+
+    public long getViolationCount() {
+        return sum(false);
+    }
+
+    public long getWarningCount() {
+        return sum(true);
+    }
+
+    public long getCount(VenueValidator.Rule rule) {
+        return counts.getOrDefault(rule, 0L);
+    }
+
+    public boolean isValid() {
+        return getViolationCount() == 0;
+    }
+
+    public Path getViolationFile() {
+        return violationFile;
+    }
+
+    public Map<String, Object> asMap() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("city", city);
+        m.put("checked", checked);
+        m.put("violations", getViolationCount());
+        m.put("warnings", getWarningCount());
+        m.put("elapsedMs", elapsedMs);
+        m.put("threads", threads);
+        Map<String, Object> byRule = new LinkedHashMap<>();
+        counts.forEach((rule, n) -> {
+            if (n == 0) return;
+            Map<String, Object> r = new LinkedHashMap<>();
+            r.put("count", n);
+            r.put("examples", examples.get(rule));
+            byRule.put(rule.name(), r);
+        });
+        m.put("byRule", byRule);
+        if (violationFile != null) m.put("violationFile", violationFile.toString());
+        return m;
+    }
+
+    // One line for logs and assertion messages
+    public String summary() {
+        StringBuilder sb = new StringBuilder()
+                .append(checked).append(" venues in ").append(city).append(", ")
+                .append(getViolationCount()).append(" violations, ")
+                .append(getWarningCount()).append(" warnings");
+        counts.forEach((rule, n) -> {
+            if (n == 0) return;
+            sb.append("; ").append(rule).append('=').append(n).append(' ').append(examples.get(rule));
+        });
+        if (violationFile != null && !isValid()) sb.append(" (all in ").append(violationFile).append(')');
+        return sb.toString();
+    }
+
+    private long sum(boolean warnings) {
+        long n = 0;
+        for (Map.Entry<VenueValidator.Rule, Long> e : counts.entrySet()) {
+            if (e.getKey().isWarning() == warnings) n += e.getValue();
+        }
+        return n;
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+}
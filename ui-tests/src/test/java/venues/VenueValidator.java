@@ -0,0 +1,356 @@
+package venues;
+
+import support.JsonLines;
+import support.Log;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Checks every venue of a city, in parallel, and reports every violation.
+ *
+ * Venues flow from the producer (a list, or VenueJsonParser straight off a Reader) in batches through a
+ * bounded queue into one worker per core, so the venues themselves are never all in memory:
+ * - rule checks keep no per-venue state
+ * - duplicate detection is the one structure that grows with the catalogue: a 64-bit fingerprint per
+ *   id (and per name, if enabled), about 8-16 bytes per venue instead of the strings
+ * - violations are counted, the first few per rule kept as examples, the rest streamed to disk
+ *
+ * Warnings (Rule.isWarning) are counted and reported like violations but don't make a report invalid.
+ */
+public final class VenueValidator {
+
+    public enum Rule {
+        BLANK_NAME,
+        MISSING_ID,
+        MISSING_COORDINATES,
+        OUT_OF_BOUNDS,
+        WRONG_CITY,
+        // The vocabulary is usually what the filter panel shows, which needn't be every tag the API uses
+        UNKNOWN_TAG(true),
+        DUPLICATE_ID,
+        DUPLICATE_NAME,
+        UNREADABLE_DATA;
+
+        private final boolean warning;
+
+        Rule() {
+            this(false);
+        }
+
+        Rule(boolean warning) {
+            this.warning = warning;
+        }
+
+        public boolean isWarning() {
+            return warning;
+        }
+    }
+
+    // Venues are handed over in batches: one queue operation per 256 venues, not per venue
+    private static final int BATCH_SIZE = 256;
+    private static final int BATCHES_PER_WORKER = 4;
+    private static final int EXAMPLES_PER_RULE = 10;
+    private static final List<Venue> END = Collections.emptyList();
+    private static final Pattern NON_ALNUM = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final String city;
+    private final CityBounds bounds;
+    private final Set<String> validTags;
+    private final boolean duplicateNames;
+    private final int threads;
+    private final Path violationFile;
+
+    private VenueValidator(Builder b) {
+        this.city = b.city;
+        this.bounds = b.bounds;
+        this.validTags = Collections.unmodifiableSet(new HashSet<>(b.validTags));
+        this.duplicateNames = b.duplicateNames;
+        this.threads = b.threads;
+        this.violationFile = b.violationFile;
+    }
+
+    public static Builder forCity(String city) {
+        return new Builder(city);
+    }
+
+    public VenueValidationReport validate(Iterable<Venue> venues) {
+        return run(sink -> venues.forEach(sink));
+    }
+
+    // Parses and validates concurrently; the payload is never held in memory as a whole
+    public VenueValidationReport validate(Reader json) {
+        return run(sink -> VenueJsonParser.parse(json, sink));
+    }
+
+    /* ============================
+       Run
+       ============================ */
+
+    private VenueValidationReport run(Consumer<Consumer<Venue>> producer) {
+        Run run = new Run();
+        long started = System.currentTimeMillis();
+
+        BlockingQueue<List<Venue>> queue = new ArrayBlockingQueue<>(threads * BATCHES_PER_WORKER);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    for (List<Venue> batch = take(queue); batch != END; batch = take(queue)) {
+                        for (Venue v : batch) {
+                            try {
+                                run.check(v);
+                            } catch (RuntimeException e) {
+                                // A worker must never die: the producer would block on a full queue
+                                run.violation(Rule.UNREADABLE_DATA, v, String.valueOf(e));
+                            }
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "venue-validator-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        List<List<Venue>> pending = new ArrayList<>(1);
+        pending.add(new ArrayList<>(BATCH_SIZE));
+        try {
+            producer.accept(v -> {
+                List<Venue> batch = pending.get(0);
+                batch.add(v);
+                if (batch.size() == BATCH_SIZE) {
+                    put(queue, batch);
+                    pending.set(0, new ArrayList<>(BATCH_SIZE));
+                }
+            });
+        } catch (RuntimeException e) {
+            // Keep what was read so far; a half-readable dataset is itself a violation
+            run.violation(Rule.UNREADABLE_DATA, null, String.valueOf(e.getMessage()));
+        } finally {
+            if (!pending.get(0).isEmpty()) put(queue, pending.get(0));
+            for (int i = 0; i < threads; i++) put(queue, END);
+        }
+
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        run.close();
+
+        VenueValidationReport report = run.report(System.currentTimeMillis() - started);
+        Log.info("🧾 Venue validation: " + report.summary());
+        return report;
+    }
+
+    private static List<Venue> take(BlockingQueue<List<Venue>> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return END;
+        }
+    }
+
+    private static void put(BlockingQueue<List<Venue>> queue, List<Venue> batch) {
+        try {
+            queue.put(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while validating venues", e);
+        }
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : NON_ALNUM.matcher(value.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /* ============================
+       State of one run (shared by the workers)
+       ============================ */
+
+    private final class Run {
+        final LongAdder checked = new LongAdder();
+        final Map<Rule, LongAdder> counts = new EnumMap<>(Rule.class);
+        final Map<Rule, ConcurrentLinkedQueue<String>> examples = new EnumMap<>(Rule.class);
+        final Map<Rule, AtomicInteger> exampleSlots = new EnumMap<>(Rule.class);
+        final FingerprintSet ids = new FingerprintSet();
+        final FingerprintSet names = new FingerprintSet();
+        final String expectedCity = normalize(city);
+        volatile BufferedWriter out;
+        Path written;
+
+        Run() {
+            // Filled once, read-only afterwards: safe to share between workers
+            for (Rule rule : Rule.values()) {
+                counts.put(rule, new LongAdder());
+                examples.put(rule, new ConcurrentLinkedQueue<>());
+                exampleSlots.put(rule, new AtomicInteger());
+            }
+            if (violationFile != null) {
+                try {
+                    Files.createDirectories(violationFile.toAbsolutePath().getParent());
+                    out = Files.newBufferedWriter(violationFile, StandardCharsets.UTF_8);
+                    written = violationFile;
+                } catch (IOException e) {
+                    Log.info("⚠️ Could not open " + violationFile + ": " + e.getMessage());
+                }
+            }
+        }
+
+        void check(Venue v) {
+            checked.increment();
+
+            String name = v.getName();
+            if (name == null || name.trim().isEmpty()) violation(Rule.BLANK_NAME, v, "");
+
+            if (!v.hasCoordinates()) {
+                violation(Rule.MISSING_COORDINATES, v, "");
+            } else if (bounds != null && !bounds.contains(v.getLatitude(), v.getLongitude())) {
+                violation(Rule.OUT_OF_BOUNDS, v, v.getLatitude() + "," + v.getLongitude());
+            }
+
+            if (v.getCity() != null && !expectedCity.isEmpty()) {
+                String actual = normalize(v.getCity());
+                if (!actual.isEmpty() && !actual.contains(expectedCity) && !expectedCity.contains(actual)) {
+                    violation(Rule.WRONG_CITY, v, v.getCity());
+                }
+            }
+
+            if (!validTags.isEmpty()) {
+                for (String tag : v.getTags()) {
+                    if (!validTags.contains(normalize(tag))) violation(Rule.UNKNOWN_TAG, v, tag);
+                }
+            }
+
+            if (v.getId() == null || v.getId().isBlank()) {
+                violation(Rule.MISSING_ID, v, "");
+            } else if (!ids.add(FingerprintSet.fingerprint(v.getId().trim()))) {
+                violation(Rule.DUPLICATE_ID, v, v.getId());
+            }
+
+            if (duplicateNames && name != null && !name.isBlank()
+                    && !names.add(FingerprintSet.fingerprint(normalize(name)))) {
+                violation(Rule.DUPLICATE_NAME, v, name);
+            }
+        }
+
+        void violation(Rule rule, Venue v, String detail) {
+            counts.get(rule).increment();
+            String text = (v == null ? "" : "id=" + v.getId() + " name=" + v.getName())
+                    + (detail.isEmpty() ? "" : (v == null ? "" : " ") + detail);
+            if (exampleSlots.get(rule).getAndIncrement() < EXAMPLES_PER_RULE) examples.get(rule).add(text);
+            if (out == null) return;
+
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("rule", rule.name());
+            if (v != null) line.put("venue", v.asMap());
+            line.put("detail", detail);
+            String json = JsonLines.line(line);
+            synchronized (this) {
+                try {
+                    out.write(json);
+                    out.newLine();
+                } catch (IOException e) {
+                    out = null;
+                }
+            }
+        }
+
+        synchronized void close() {
+            if (out == null) return;
+            try {
+                out.close();
+            } catch (IOException ignored) {
+            }
+        }
+
+        VenueValidationReport report(long elapsedMs) {
+            Map<Rule, Long> c = new EnumMap<>(Rule.class);
+            Map<Rule, List<String>> e = new EnumMap<>(Rule.class);
+            for (Rule rule : Rule.values()) {
+                c.put(rule, counts.get(rule).sum());
+                e.put(rule, new ArrayList<>(examples.get(rule)));
+            }
+            return new VenueValidationReport(city, checked.sum(), elapsedMs, threads, c, e, written);
+        }
+    }
+
+    /* ============================
+       Builder
+       ============================ */
+
+    public static final class Builder {
+        private final String city;
+        private CityBounds bounds;
+        private final Set<String> validTags = new HashSet<>();
+        private boolean duplicateNames;
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private Path violationFile;
+
+        private Builder(String city) {
+            this.city = city;
+            this.bounds = CityBounds.forCity(city);
+        }
+
+        // null skips the bounding-box rule
+        public Builder bounds(CityBounds bounds) {
+            this.bounds = bounds;
+            return this;
+        }
+
+        // Tag vocabulary (e.g. the filter chip labels); empty skips the tag rule, unknown tags are warnings
+        public Builder validTags(Collection<String> tags) {
+            for (String t : tags) {
+                String n = normalize(t);
+                if (!n.isEmpty()) validTags.add(n);
+            }
+            return this;
+        }
+
+        // Off by default: chains legitimately reuse a name
+        public Builder duplicateNames(boolean check) {
+            this.duplicateNames = check;
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            this.threads = Math.max(1, threads);
+            return this;
+        }
+
+        // Every violation as one JSON line
+        public Builder violationFile(Path file) {
+            this.violationFile = file;
+            return this;
+        }
+
+        public VenueValidator build() {
+            return new VenueValidator(this);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package waits;
+
+import driver.Cdp;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import support.Env;
+import support.Log;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Waits until the map SPA has settled after an interaction, instead of sleeping a fixed time.
+ *
+ * "Settled" means, inside the page:
+ *  - no DOM mutation for SETTLE_QUIET_MS (Google Maps tiles under .gm-style are ignored, they never stop moving)
+ *  - no XHR / fetch in flight
+ *  - if the caller passed the "Show N venues" text from before the click: the CTA text has changed,
+ *    or SETTLE_CTA_GRACE_MS has passed (some chips legitimately don't change the count)
+ *
+ * The XHR / fetch hooks must be in place before the interaction, or a request it starts is never
+ * seen: with CDP they are registered once per session for every new document, and prepare()
+ * installs them into the current one. Callers prepare() right before the click, then await().
+ *
+ * The whole wait is one executeAsyncScript round-trip, bounded by SETTLE_TIMEOUT_MS.
+ * SETTLE_MODE=fixed brings back the old 1.5 s sleep for comparison runs.
+ */
+public class SpaSettleWait {
+
+    // Idempotent; observes `document` because documentElement may not exist yet on a new document
+    private static final String TRACKER_SCRIPT = """
+            (function () {
+              var w = window;
+              if (w.__qaSettle) return;
+              var s = w.__qaSettle = { lastActivity: performance.now(), inflight: 0 };
+
+              new MutationObserver(function (records) {
+                for (var i = 0; i < records.length; i++) {
+                  var node = records[i].target;
+                  var el = node.nodeType === 1 ? node : node.parentElement;
+                  if (el && el.closest && el.closest('.gm-style')) continue;
+                  s.lastActivity = performance.now();
+                  return;
+                }
+              }).observe(document, { childList: true, subtree: true, attributes: true, characterData: true });
+
+              var track = function () {
+                s.inflight++;
+                var finished = false;
+                return function () {
+                  if (finished) return;
+                  finished = true;
+                  s.inflight = Math.max(0, s.inflight - 1);
+                  s.lastActivity = performance.now();
+                };
+              };
+
+              var send = XMLHttpRequest.prototype.send;
+              XMLHttpRequest.prototype.send = function () {
+                var end = track();
+                this.addEventListener('loadend', end);
+                try { return send.apply(this, arguments); } catch (e) { end(); throw e; }
+              };
+
+              if (w.fetch) {
+                var originalFetch = w.fetch;
+                w.fetch = function () {
+                  var end = track();
+                  try {
+                    return originalFetch.apply(this, arguments).then(
+                        function (r) { end(); return r; },
+                        function (e) { end(); throw e; });
+                  } catch (e) { end(); throw e; }
+                };
+              }
+            })();
+            """;
+
+    // The tracker again in case nobody prepared this document (late: requests already running are missed)
+    private static final String SETTLE_SCRIPT = TRACKER_SCRIPT + """
+            var done = arguments[arguments.length - 1];
+            var quietMs = arguments[0], timeoutMs = arguments[1], ctaBefore = arguments[2], ctaGraceMs = arguments[3];
+
+            var cta = function () {
+              var buttons = document.querySelectorAll('button');
+              for (var i = 0; i < buttons.length; i++) {
+                var t = (buttons[i].innerText || buttons[i].textContent || '').trim();
+                var l = t.toLowerCase();
+                if (l.indexOf('show') >= 0 && l.indexOf('venues') >= 0) return t;
+              }
+              return '';
+            };
+
+            var start = performance.now();
+            (function poll() {
+              var s = window.__qaSettle, now = performance.now(), elapsed = now - start;
+              var quiet = s.inflight === 0 && now - s.lastActivity >= quietMs;
+              var ctaReady = ctaBefore === null || cta() !== ctaBefore || elapsed >= ctaGraceMs;
+              if (quiet && ctaReady) return done({ settled: true, elapsedMs: elapsed });
+              if (elapsed >= timeoutMs) return done({ settled: false, elapsedMs: elapsed, inflight: s.inflight });
+              setTimeout(poll, 25);
+            })();
+            """;
+
+    // Sessions (unwrapped drivers) that already run the tracker on every new document; pooled sessions keep it
+    private static final Set<WebDriver> REGISTERED = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    // WebDriver's default script timeout is 30 s; stay below it
+    private static final int MAX_TIMEOUT_MS = 25_000;
+
+    private final WebDriver driver;
+    private final boolean fixedMode = Env.string("SETTLE_MODE", "dom").equalsIgnoreCase("fixed");
+    private final int quietMs = Env.intValue("SETTLE_QUIET_MS", 400);
+    private final int timeoutMs = Math.min(Env.intValue("SETTLE_TIMEOUT_MS", 5000), MAX_TIMEOUT_MS);
+    private final int ctaGraceMs = Env.intValue("SETTLE_CTA_GRACE_MS", 1000);
+
+    private long lastElapsedMs;
+
+    public SpaSettleWait(WebDriver driver) {
+        this.driver = driver;
+        if (!fixedMode) registerOnNewDocument();
+    }
+
+    // How long the last await() actually waited (useful for profiling filter clicks)
+    public long getLastElapsedMs() {
+        return lastElapsedMs;
+    }
+
+    /**
+     * Installs the tracker into the current document (no-op if it is already there).
+     * Call before the interaction whose effects await() should wait for.
+     */
+    public void prepare() {
+        if (fixedMode) return;
+        try {
+            ((JavascriptExecutor) driver).executeScript(TRACKER_SCRIPT);
+        } catch (WebDriverException e) {
+            // No document to script yet; await() installs it late
+        }
+    }
+
+    /**
+     * @param ctaBefore "Show N venues" text captured before the interaction, or null when the
+     *                  interaction is not expected to change the count (e.g. opening the panel)
+     * @return true if the page settled, false if the timeout was hit
+     */
+    public boolean await(String ctaBefore) {
+        long start = System.currentTimeMillis();
+        try {
+            if (fixedMode) {
+                sleep(1500);
+                return true;
+            }
+            Object result = ((JavascriptExecutor) driver).executeAsyncScript(
+                    SETTLE_SCRIPT, quietMs, timeoutMs, ctaBefore, ctaGraceMs);
+            return result instanceof Map && Boolean.TRUE.equals(((Map<?, ?>) result).get("settled"));
+        } catch (WebDriverException e) {
+            // Page navigated or reloaded mid-wait: the script context is gone, give the new page a moment
+            sleep(250);
+            return false;
+        } finally {
+            lastElapsedMs = System.currentTimeMillis() - start;
+        }
+    }
+
+    public boolean await() {
+        return await(null);
+    }
+
+    // Every later navigation of this session gets the tracker before the app's own scripts run
+    private void registerOnNewDocument() {
+        WebDriver raw = Cdp.unwrap(driver);
+        if (!Cdp.isAvailable(raw) || !REGISTERED.add(raw)) return;
+        try {
+            Cdp.execute(raw, "Page.enable");
+            Cdp.execute(raw, "Page.addScriptToEvaluateOnNewDocument", Map.of("source", TRACKER_SCRIPT));
+        } catch (WebDriverException e) {
+            REGISTERED.remove(raw);
+            Log.info("⚠️ Could not register the settle tracker for new documents: " + e.getMessage());
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}